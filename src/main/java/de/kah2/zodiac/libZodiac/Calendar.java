@@ -1,13 +1,16 @@
 package de.kah2.zodiac.libZodiac;
 
+import de.kah2.zodiac.libZodiac.planetary.EphemerisCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDate;
 import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.TreeSet;
+import java.util.SortedSet;
+import java.util.stream.Stream;
 
 /**
  * <p>This is the "main" class of libZodiac. It contains the main logic of managing calendar data like ranges, scope, etc.</p>
@@ -22,7 +25,7 @@ public class Calendar {
 
 	private final Logger log = LoggerFactory.getLogger(this.getClass());
 
-	private final LocationProvider locationProvider;
+	private LocationProvider locationProvider;
 
 	// This is the range the Calendar shall contain.
 	private DateRange rangeExpected;
@@ -75,6 +78,9 @@ public class Calendar {
 		this.rangeExpected = expectedRange;
 		this.scope = scope;
 		this.locationProvider = locationProvider;
+
+		// Only the generator of CYCLE-calendars updates day counters
+		this.days.setDayCountersMaintained( scope == Scope.CYCLE );
 	}
 
 	/**
@@ -85,9 +91,30 @@ public class Calendar {
 	 *            already calculated days.
 	 */
 	public void importDays(final List<? extends DayStorableDataSet> storedDays){
+		this.importDays(storedDays.iterator());
+	}
+
+	/**
+	 * Imports days one by one without holding all of them in memory, e.g. while reading them from a database cursor. Importing is
+	 * fastest if the calendar is empty and storedDays are sorted chronologically.
+	 *
+	 * @param storedDays
+	 *            provides the {@link DayStorableDataSet}-objects of already calculated days.
+	 */
+	public void importDays(final Iterator<? extends DayStorableDataSet> storedDays){
 		this.generator.importDays(storedDays);
 	}
 
+	/**
+	 * Imports days from a {@link Stream} - see {@link #importDays(Iterator)}. The stream is consumed sequentially.
+	 *
+	 * @param storedDays
+	 *            a {@link Stream} of {@link DayStorableDataSet}-objects of already calculated days.
+	 */
+	public void importDays(final Stream<? extends DayStorableDataSet> storedDays){
+		this.importDays(storedDays.iterator());
+	}
+
 	/**
 	 * <p>Initializes the calendar and calculates the (missing) data between and
 	 * around {@link Calendar#getRangeExpected()} regarding the chosen
@@ -103,6 +130,50 @@ public class Calendar {
 		this.generator.startGeneration();
 	}
 
+	/**
+	 * <p>Moves the calendar to another observer position and/or time zone without generating it from scratch. Only values depending
+	 * on what actually changed are calculated again - see {@link Day#relocate(Day, LocationProvider, LocationProvider)}.</p>
+	 * <p>If noon is shifted by the new time zone, lunar phases and day counters get updated. Since this might also shift lunar
+	 * extremes, {@link #startGeneration()} should be called afterwards when using {@link Scope#CYCLE}.</p>
+	 * <p>Afterwards {@link #getNewlyGenerated()} returns all relocated days, because they differ from stored ones.</p>
+	 * @param locationProvider the new {@link LocationProvider}
+	 * @throws ConcurrentModificationException If calculation isn't finished.
+	 * @throws IllegalStateException If a day can't be relocated. The calendar keeps all days and its {@link LocationProvider} then.
+	 */
+	public void relocate(final LocationProvider locationProvider) {
+
+		this.throwExceptionIfInProgress();
+
+		final LocationProvider sourceLocationProvider = this.locationProvider;
+		this.locationProvider = locationProvider;
+
+		try {
+			this.generator.relocate(sourceLocationProvider);
+		} catch (RuntimeException e) {
+			this.locationProvider = sourceLocationProvider;
+			throw e;
+		}
+	}
+
+	/**
+	 * Sets a {@link EphemerisCache} to share lunar longitude and visibility between calendars of the same time zone - see
+	 * {@link de.kah2.zodiac.libZodiac.storage.MappedEphemerisCache}.
+	 * @param ephemerisCache the {@link EphemerisCache} to use for generating days or null to calculate everything
+	 */
+	public void setEphemerisCache(final EphemerisCache ephemerisCache) {
+		this.generator.setEphemerisCache(ephemerisCache);
+	}
+
+	/**
+	 * Sets a {@link CalendarJournal}, which gets notified about every generated, replaced or removed day from now on. This allows
+	 * persisting only the changes instead of comparing {@link #getNewlyGenerated()} and {@link #removeOverhead(boolean)} with
+	 * storage.
+	 * @param journal the {@link CalendarJournal} to notify or null to stop notifications
+	 */
+	public void setJournal(final CalendarJournal journal) {
+		this.days.setJournal(journal);
+	}
+
 	/**
 	 * @param progressListener the {@link ProgressListener} to register
 	 */
@@ -182,13 +253,11 @@ public class Calendar {
 			return this.getRangeExpected();
 		}
 
-		final TreeSet<Day> days = this.days.allAsTreeSet();
-
-		final LocalDate start = findNextLunarExtreme(days, this.getRangeExpected().getStart(), false);
+		final LocalDate start = this.findNextLunarExtreme(this.getRangeExpected().getStart(), false);
 		final LocalDate end;
 
 		if (alsoCheckFuture) {
-			end = findNextLunarExtreme(days, this.getRangeExpected().getEnd(), true);
+			end = this.findNextLunarExtreme(this.getRangeExpected().getEnd(), true);
 		} else {
 			end = this.getRangeExpected().getEnd().plusDays(1);
 		}
@@ -196,12 +265,16 @@ public class Calendar {
 		return new DateRange(start, end);
 	}
 
-	private LocalDate findNextLunarExtreme(TreeSet<Day> days, LocalDate start, boolean isDirectionForward) {
+	/**
+	 * Walks from start to the next lunar extreme in one direction. Only the days in between are visited, so the effort doesn't depend
+	 * on calendar size.
+	 */
+	private LocalDate findNextLunarExtreme(LocalDate start, boolean isDirectionForward) {
 
 		// Get first
-		Day current = days.ceiling( new Day(start) );
+		Day current = this.days.get(start);
 
-		if ( current == null || !current.getDate().isEqual(start) ) {
+		if ( current == null ) {
 			// Requested days isn't contained - we're done
 			return start;
 		}
@@ -214,9 +287,9 @@ public class Calendar {
 			backup = current;
 
 			if (isDirectionForward) {
-				current = days.higher(current);
+				current = this.days.getNext(current);
 			} else {
-				current = days.lower(current);
+				current = this.days.getPrevious(current);
 			}
 
 		} while ( current != null
@@ -323,7 +396,8 @@ public class Calendar {
 				|| state == ProgressListener.State.GENERATING
 				|| state == ProgressListener.State.EXTENDING_PAST
 				|| state == ProgressListener.State.EXTENDING_FUTURE
-				|| state == ProgressListener.State.COUNTING ) {
+				|| state == ProgressListener.State.COUNTING
+				|| state == ProgressListener.State.RELOCATING ) {
 			throw new ConcurrentModificationException("Tried to fetch days during operation: State is " + state);
 		}
 	}
@@ -336,6 +410,17 @@ public class Calendar {
 		return this.generator.getNewlyGenerated();
 	}
 
+	/**
+	 * <p>Returns the dates of all days, whose data changed between the last two times generation or import finished: added and
+	 * removed days as well as days, which got another lunar phase or other day counters. Other days keep their interpretations, so
+	 * caches like {@link de.kah2.zodiac.libZodiac.interpretation.InterpretationCache} only need to invalidate these dates.</p>
+	 * <p>Removals by {@link #removeOverhead(boolean)} are published when the next generation finishes.</p>
+	 * @return an unmodifiable set of dates in chronological order
+	 */
+	public SortedSet<LocalDate> getChangedDates() {
+		return this.generator.getChangedDates();
+	}
+
 	/** @return  the {@link Scope} of this instance. */
 	public Scope getScope() {
 		return scope;
@@ -1,9 +1,22 @@
 package de.kah2.zodiac.libZodiac;
 
+import de.kah2.zodiac.libZodiac.planetary.LunarPhase;
+import de.kah2.zodiac.libZodiac.planetary.PlanetaryDayData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.time.LocalDate;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.NavigableSet;
+import java.util.SortedSet;
 import java.util.TreeSet;
 
 /**
@@ -11,22 +24,345 @@ import java.util.TreeSet;
  */
 class CalendarData {
 
+    private final Logger log = LoggerFactory.getLogger(this.getClass());
+
     // All days actually contained in the Calendar
     private final TreeSet<Day> data;
 
+    // Dates touched by insertions or removals since day counters were updated the last time
+    private final TreeSet<LocalDate> changedDates = new TreeSet<>();
+
+    // False if nobody calls updateDayCounters(), so changed dates aren't remembered
+    private boolean dayCountersMaintained = true;
+
+    // Dates of days added, removed or whose lunar phase or day counters changed since they were taken the last time
+    private TreeSet<LocalDate> modifiedDates = new TreeSet<>();
+
+    // Gets notified about insertions and removals - null if not set
+    private CalendarJournal journal = null;
+
+    // Imported days are already stored, so they aren't reported to the journal
+    private boolean isImporting = false;
+
+    /**
+     * If more days than this changed, {@link #updateDayCounters()} falls back to counting all days, which is cheaper than looking up
+     * the lunar extremes around each changed date.
+     */
+    private final static int MAX_CHANGED_DAYS_FOR_PARTIAL_COUNT = 1000;
+
+    /**
+     * Imported days are only merged, if there are at most this many times more days contained - otherwise they're inserted one by
+     * one.
+     */
+    private final static int MAX_CONTAINED_DAYS_PER_MERGED_DAY = 16;
+
     CalendarData() {
         this.data = new TreeSet<>();
     }
 
     /**
      * <p>This method does the job of importing data - it should only be used internally!</p>
-     * <p>To import data, use {@link Calendar#importDays(List)}.</p>
+     * <p>To import data, use {@link Calendar#importDays(Iterator)}. Days are taken one by one from storedDays, so the source never
+     * needs to be held in memory completely.</p>
+     * <p>As long as storedDays are sorted chronologically, they are collected and loaded at once:</p>
+     * <ul>
+     *     <li>If no days are contained so far, lunar phases and day counters are calculated on the fly and the days are loaded in
+     *     O(n) without comparing them.</li>
+     *     <li>Otherwise they are merged with the contained days - days already contained are kept like {@link #insert(Day)} does.</li>
+     * </ul>
+     * <p>As soon as an unsorted day is found, it and all remaining days are inserted one by one.</p>
      */
+    void importDays(final Iterator<? extends DayStorableDataSet> storedDays) {
 
-    void importDays(final List<? extends DayStorableDataSet> storedDays) {
+        this.isImporting = true;
 
-        for ( DayStorableDataSet storedDay : storedDays) {
-            this.insert(Day.importFrom(storedDay));
+        try {
+            this.importDaysSortedIfPossible(storedDays);
+        } finally {
+            this.isImporting = false;
+        }
+    }
+
+    private void importDaysSortedIfPossible(final Iterator<? extends DayStorableDataSet> storedDays) {
+
+        final SequentialImport sequentialImport = new SequentialImport();
+
+        Day unsortedDay = null;
+
+        while ( storedDays.hasNext() ) {
+
+            final Day day = Day.importFrom( storedDays.next() );
+
+            if ( !sequentialImport.append(day) ) {
+                unsortedDay = day;
+                break;
+            }
+        }
+
+        sequentialImport.finish();
+
+        if (unsortedDay != null) {
+
+            this.log.debug( "{} isn't sorted - inserting remaining days one by one", unsortedDay.getDate() );
+
+            this.insert(unsortedDay);
+
+            while ( storedDays.hasNext() ) {
+                this.insert( Day.importFrom( storedDays.next() ) );
+            }
+        }
+    }
+
+    /**
+     * Collects chronologically sorted days. Since a lunar phase is known as soon as the next day is appended, day counters can also
+     * be calculated on the fly, if no days were contained before: days since the last extreme are counted while appending, the days
+     * until the next extreme are set for all days waiting for it, when it is reached.
+     */
+    private class SequentialImport {
+
+        private final ArrayList<Day> days = new ArrayList<>();
+
+        private final boolean isCountingDays = CalendarData.this.isEmpty();
+
+        private Day beforePrevious = null, previous = null;
+
+        private int daysSinceLastMaxPhase = PlanetaryDayData.DAY_COUNT_NOT_CALCULATED;
+
+        /** Days after the last extreme, which wait for the next one */
+        private final ArrayDeque<Day> waitingForExtreme = new ArrayDeque<>();
+
+        /**
+         * @return false if day isn't after the days appended before - it isn't appended then.
+         */
+        boolean append(final Day day) {
+
+            if ( this.previous != null && !day.getDate().isAfter( this.previous.getDate() ) ) {
+                return false;
+            }
+
+            this.days.add(day);
+
+            if (this.previous != null) {
+                // Now the phase of previous is known
+                CalendarData.this.updateLunarPhaseOf( this.previous, this.beforePrevious, day );
+                this.count(this.previous);
+            }
+
+            this.beforePrevious = this.previous;
+            this.previous = day;
+
+            return true;
+        }
+
+        private void count(final Day day) {
+
+            if ( !this.isCountingDays ) {
+                return;
+            }
+
+            this.daysSinceLastMaxPhase = CalendarData.this.incrementDayCount(this.daysSinceLastMaxPhase, day);
+            day.getPlanetaryData().setDaysSinceLastMaxPhase(this.daysSinceLastMaxPhase);
+
+            if ( isLunarExtreme(day) ) {
+
+                day.getPlanetaryData().setDaysUntilNextMaxPhase(0);
+
+                int daysUntilNextMaxPhase = 1;
+
+                while ( !this.waitingForExtreme.isEmpty() ) {
+                    this.waitingForExtreme.pollLast().getPlanetaryData().setDaysUntilNextMaxPhase(daysUntilNextMaxPhase++);
+                }
+
+            } else {
+                this.waitingForExtreme.add(day);
+            }
+        }
+
+        /** Counts the last day, which has no phase, because its next day is missing, and loads all collected days. */
+        void finish() {
+
+            if (this.previous != null) {
+                this.count(this.previous);
+            }
+
+            if (this.isCountingDays) {
+
+                for (Day day : this.days) {
+                    CalendarData.this.markModified( day.getDate() );
+                }
+
+                CalendarData.this.bulkLoad(this.days);
+            } else {
+                CalendarData.this.merge(this.days);
+            }
+        }
+    }
+
+    /**
+     * Loads days restored by {@link CalendarSnapshot} as they are - lunar phases and day counters are expected to be set already.
+     * @param sortedDays chronologically sorted days without duplicates
+     * @throws IllegalStateException if days are already contained
+     */
+    void restore(final List<Day> sortedDays) {
+
+        if ( !this.isEmpty() ) {
+            throw new IllegalStateException("Days can only be restored into empty calendars.");
+        }
+
+        for (Day day : sortedDays) {
+            this.markModified( day.getDate() );
+        }
+
+        this.bulkLoad(sortedDays);
+    }
+
+    /**
+     * Loads sorted days into empty data. {@link TreeSet#addAll(java.util.Collection)} builds the tree in O(n) without comparing days,
+     * if it's empty and gets a {@link SortedSet} with the same ordering.
+     */
+    private void bulkLoad(final List<Day> sortedDays) {
+
+        this.log.debug( "Loading {} sorted days", sortedDays.size() );
+
+        this.data.addAll( new SortedDays(sortedDays) );
+    }
+
+    /**
+     * <p>Merges sorted days with the contained ones in O(n) and updates the lunar phases of the new days and their neighbours. Days
+     * already contained are kept.</p>
+     * <p>If only few days are merged into many contained ones, inserting them one by one is cheaper than rebuilding all data.</p>
+     */
+    private void merge(final List<Day> sortedDays) {
+
+        if ( sortedDays.size() * MAX_CONTAINED_DAYS_PER_MERGED_DAY < this.data.size() ) {
+
+            for (Day day : sortedDays) {
+                this.insert(day);
+            }
+
+            return;
+        }
+
+        this.log.debug( "Merging {} sorted days into {} days", sortedDays.size(), this.data.size() );
+
+        final ArrayList<Day> merged = new ArrayList<>( this.data.size() + sortedDays.size() );
+        final BitSet isNew = new BitSet();
+
+        final Iterator<Day> contained = this.data.iterator();
+        final Iterator<Day> added = sortedDays.iterator();
+
+        Day nextContained = contained.hasNext() ? contained.next() : null;
+        Day nextAdded = added.hasNext() ? added.next() : null;
+
+        while (nextContained != null || nextAdded != null) {
+
+            final int comparison = nextContained == null ? 1 : nextAdded == null ? -1 : nextContained.compareTo(nextAdded);
+
+            if (comparison <= 0) {
+
+                merged.add(nextContained);
+                nextContained = contained.hasNext() ? contained.next() : null;
+
+                if (comparison == 0) {
+                    // Already contained
+                    nextAdded = added.hasNext() ? added.next() : null;
+                }
+
+            } else {
+
+                isNew.set( merged.size() );
+                merged.add(nextAdded);
+                nextAdded = added.hasNext() ? added.next() : null;
+            }
+        }
+
+        for (int i = 0; i < merged.size(); i++) {
+
+            if ( isNew.get(i) || isNew.get(i + 1) || (i > 0 && isNew.get(i - 1)) ) {
+
+                final Day previous = i > 0 ? merged.get(i - 1) : null;
+                final Day next = i + 1 < merged.size() ? merged.get(i + 1) : null;
+
+                if ( this.updateLunarPhaseOf( merged.get(i), previous, next ) ) {
+                    this.markModified( merged.get(i).getDate() );
+                }
+            }
+
+            if ( isNew.get(i) ) {
+                this.markModified( merged.get(i).getDate() );
+                this.markChanged( merged.get(i).getDate().minusDays(1) );
+                this.markChanged( merged.get(i).getDate().plusDays(1) );
+            }
+        }
+
+        this.data.clear();
+        this.bulkLoad(merged);
+    }
+
+    /**
+     * Read-only {@link SortedSet}-view of a chronologically sorted list of days without duplicates - meant to be passed to
+     * {@link #bulkLoad(List)}. Sub set views are found by binary search.
+     */
+    static class SortedDays extends AbstractSet<Day> implements SortedSet<Day> {
+
+        private final List<Day> days;
+
+        SortedDays(final List<Day> days) {
+            this.days = days;
+        }
+
+        @Override
+        public Iterator<Day> iterator() {
+            return this.days.iterator();
+        }
+
+        @Override
+        public int size() {
+            return this.days.size();
+        }
+
+        @Override
+        public Comparator<? super Day> comparator() {
+            // Natural ordering like data
+            return null;
+        }
+
+        @Override
+        public Day first() {
+            return this.days.get(0);
+        }
+
+        @Override
+        public Day last() {
+            return this.days.get( this.days.size() - 1 );
+        }
+
+        @Override
+        public SortedSet<Day> subSet(final Day fromElement, final Day toElement) {
+
+            if ( fromElement.compareTo(toElement) > 0 ) {
+                throw new IllegalArgumentException("fromElement is after toElement");
+            }
+
+            return new SortedDays( this.days.subList( this.indexOf(fromElement), this.indexOf(toElement) ) );
+        }
+
+        @Override
+        public SortedSet<Day> headSet(final Day toElement) {
+            return new SortedDays( this.days.subList( 0, this.indexOf(toElement) ) );
+        }
+
+        @Override
+        public SortedSet<Day> tailSet(final Day fromElement) {
+            return new SortedDays( this.days.subList( this.indexOf(fromElement), this.days.size() ) );
+        }
+
+        /** @return the index of the first day not before day */
+        private int indexOf(final Day day) {
+
+            final int index = Collections.binarySearch(this.days, day);
+
+            return index < 0 ? -index - 1 : index;
         }
     }
 
@@ -41,6 +377,26 @@ class CalendarData {
 
         final LinkedList<LocalDate> missingDates = new LinkedList<>();
 
+        final DateRange containedRange = this.getRangeOfAllContainedDays();
+
+        // Without gaps only dates outside of contained range can be missing, so we don't need to look at every date
+        final boolean hasGaps = containedRange.size() != this.data.size();
+
+        if ( !hasGaps ) {
+
+            if ( rangeExpected.getStart().isBefore( containedRange.getStart() ) ) {
+                missingDates.addAll( new DateRange( rangeExpected.getStart(),
+                        min( rangeExpected.getEnd(), containedRange.getStart().minusDays(1) ) ).toList() );
+            }
+
+            if ( rangeExpected.getEnd().isAfter( containedRange.getEnd() ) ) {
+                missingDates.addAll( new DateRange( max( rangeExpected.getStart(), containedRange.getEnd().plusDays(1) ),
+                        rangeExpected.getEnd() ).toList() );
+            }
+
+            return missingDates;
+        }
+
         for (LocalDate date : rangeExpected) {
             final Day day = new Day(date);
 
@@ -52,11 +408,89 @@ class CalendarData {
         return missingDates;
     }
 
+    private static LocalDate min(final LocalDate date1, final LocalDate date2) {
+        return date1.isBefore(date2) ? date1 : date2;
+    }
+
+    private static LocalDate max(final LocalDate date1, final LocalDate date2) {
+        return date1.isAfter(date2) ? date1 : date2;
+    }
+
     /**
-     * Inserts a day at its correct position.
+     * Inserts a day at its correct position and updates the lunar phases of it and its direct neighbours.
      */
     void insert(Day day) {
-        this.data.add(day);
+        if ( this.data.add(day) ) {
+            this.markModified( day.getDate() );
+            this.updateLunarPhasesAround(day);
+
+            // Neighbours might have a new lunar phase
+            this.markChanged( day.getDate().minusDays(1) );
+            this.markChanged( day.getDate().plusDays(1) );
+
+            if (this.journal != null && !this.isImporting) {
+                this.journal.dayAdded(day);
+            }
+        }
+    }
+
+    /**
+     * Replaces a contained day with the same date or inserts it, if it isn't contained.
+     */
+    void replace(Day day) {
+        this.data.remove(day);
+        this.insert(day);
+    }
+
+    /**
+     * Updates the lunar phases of a day and its direct neighbours - these are the only ones depending on it.
+     */
+    private void updateLunarPhasesAround(final Day day) {
+
+        final Day previous = this.data.lower(day);
+        final Day next = this.data.higher(day);
+
+        if ( previous != null && this.updateLunarPhaseOf(previous, this.data.lower(previous), day) ) {
+            this.markModified( previous.getDate() );
+        }
+
+        this.updateLunarPhaseOf(day, previous, next);
+
+        if ( next != null && this.updateLunarPhaseOf(next, day, this.data.higher(next)) ) {
+            this.markModified( next.getDate() );
+        }
+    }
+
+    /**
+     * Sets the lunar phase of a day, if both neighbours are available. Otherwise the phase is left as it is, because removing a
+     * neighbour doesn't change the phase calculated before.
+     * @return true, if the phase changed
+     */
+    private boolean updateLunarPhaseOf(final Day day, final Day previous, final Day next) {
+
+        if ( isNeighbour(previous, day) && isNeighbour(day, next) ) {
+
+            final LunarPhase phase = LunarPhase.of(previous, day, next);
+
+            if (phase == day.getPlanetaryData().getLunarPhase()) {
+                return false;
+            }
+
+            day.getPlanetaryData().setLunarPhase(phase);
+
+            this.log.trace( "      ({}, {}, {}) => {}", previous.getDate(), day.getDate(), next.getDate(),
+                    day.getPlanetaryData().getLunarPhase() );
+
+            return true;
+        }
+
+        return false;
+    }
+
+    /** @return true, if both days exist and second is the day after first */
+    private static boolean isNeighbour(final Day first, final Day second) {
+        return first != null && second != null
+                && first.getDate().plusDays(1).isEqual( second.getDate() );
     }
 
     /** Removes days before given date. */
@@ -71,6 +505,11 @@ class CalendarData {
             deletedDays.add( this.data.pollFirst() );
         }
 
+        if ( !deletedDays.isEmpty() ) {
+            this.markChanged( deletedDays.getLast().getDate() );
+            this.reportRemoved(deletedDays);
+        }
+
         return deletedDays;
     }
 
@@ -86,9 +525,222 @@ class CalendarData {
             deletedDays.add( this.data.pollLast() );
         }
 
+        if ( !deletedDays.isEmpty() ) {
+            this.markChanged( deletedDays.getLast().getDate() );
+            this.reportRemoved(deletedDays);
+        }
+
         return deletedDays;
     }
 
+    /** Removes the days of range. */
+    LinkedList<Day> remove(final DateRange range) {
+
+        final NavigableSet<Day> daysOfRange = this.data.subSet(
+                new Day( range.getStart() ), true, new Day( range.getEnd() ), true );
+
+        final LinkedList<Day> deletedDays = new LinkedList<>(daysOfRange);
+
+        if ( !deletedDays.isEmpty() ) {
+
+            daysOfRange.clear();
+
+            this.markChanged( deletedDays.getFirst().getDate() );
+            this.markChanged( deletedDays.getLast().getDate() );
+            this.reportRemoved(deletedDays);
+        }
+
+        return deletedDays;
+    }
+
+    private void reportRemoved(final List<Day> removedDays) {
+
+        for (Day day : removedDays) {
+            this.markModified( day.getDate() );
+        }
+
+        if (this.journal != null) {
+            for (Day day : removedDays) {
+                this.journal.dayRemoved( day.getDate() );
+            }
+        }
+    }
+
+    /**
+     * @param journal gets notified about insertions and removals from now on - null disables notifications.
+     */
+    void setJournal(final CalendarJournal journal) {
+        this.journal = journal;
+    }
+
+    /** Remembers a date, whose day was added or removed or got another lunar phase or other day counters. */
+    private void markModified(final LocalDate date) {
+        this.modifiedDates.add(date);
+    }
+
+    /**
+     * @return the dates of all days added, removed or changed by lunar phase or day counter updates since the last call - in
+     * chronological order.
+     */
+    TreeSet<LocalDate> takeModifiedDates() {
+
+        final TreeSet<LocalDate> modified = this.modifiedDates;
+        this.modifiedDates = new TreeSet<>();
+
+        return modified;
+    }
+
+    /** Remembers a date, around which day counters need to be updated. */
+    private void markChanged(final LocalDate date) {
+
+        if (this.dayCountersMaintained) {
+            this.changedDates.add(date);
+        }
+    }
+
+    /** @return the number of dates, around which day counters need to be updated - only for testing purposes */
+    int getNumberOfChangedDates() {
+        return this.changedDates.size();
+    }
+
+    /**
+     * Tells whether {@link #updateDayCounters()} gets called - otherwise changed dates aren't remembered, since they would pile up
+     * with every insertion and removal (e.g. of a calendar, whose scope doesn't need counters).
+     */
+    void setDayCountersMaintained(final boolean dayCountersMaintained) {
+
+        this.dayCountersMaintained = dayCountersMaintained;
+
+        if (!dayCountersMaintained) {
+            this.changedDates.clear();
+        }
+    }
+
+    /**
+     * <p>Updates {@link PlanetaryDayData#setDaysSinceLastMaxPhase(int)} and {@link PlanetaryDayData#setDaysUntilNextMaxPhase(int)}.</p>
+     * <p>Counters only change within the lunar half-cycles touched by insertions or removals since the last update - so only days
+     * between the last lunar extreme before and the next lunar extreme after changed dates are counted again. If too many days
+     * changed, all days are counted.</p>
+     */
+    void updateDayCounters() {
+
+        if ( this.changedDates.isEmpty() || this.isEmpty() ) {
+            this.log.trace("Nothing changed - no need to update day counters");
+            this.changedDates.clear();
+            return;
+        }
+
+        if ( this.changedDates.size() > MAX_CHANGED_DAYS_FOR_PARTIAL_COUNT ) {
+
+            this.log.debug("Too many changes - updating all day counters");
+            this.countDaysToLunarExtremes( this.data );
+            this.changedDates.clear();
+            return;
+        }
+
+        LocalDate changed = this.changedDates.first();
+
+        while (changed != null) {
+
+            // These extremes are outside of changed dates, so their phases (and the counters before/after them) are still valid
+            final Day start = this.findLunarExtremeBefore(changed);
+            Day end = this.findLunarExtremeAfter(changed);
+
+            // Other changes within the same half-cycle extend it
+            LocalDate next = this.changedDates.higher(changed);
+
+            while ( next != null && !next.isAfter( end.getDate() ) ) {
+                end = this.findLunarExtremeAfter(next);
+                next = this.changedDates.higher(next);
+            }
+
+            this.log.debug( "Updating day counters between {} and {}", start.getDate(), end.getDate() );
+
+            this.countDaysToLunarExtremes( this.data.subSet(start, true, end, true) );
+
+            changed = next;
+        }
+
+        this.changedDates.clear();
+    }
+
+    /** @return the last lunar extreme before given date or the first day */
+    private Day findLunarExtremeBefore(final LocalDate date) {
+        return findLunarExtremeOrEdge( this.data.headSet( new Day(date), false ).descendingIterator(), this.data.first() );
+    }
+
+    /** @return the next lunar extreme after given date or the last day */
+    private Day findLunarExtremeAfter(final LocalDate date) {
+        return findLunarExtremeOrEdge( this.data.tailSet( new Day(date), false ).iterator(), this.data.last() );
+    }
+
+    /**
+     * Walks in one direction and returns the first lunar extreme found or the given edge day, if none was found.
+     */
+    private static Day findLunarExtremeOrEdge(final Iterator<Day> iterator, final Day edge) {
+
+        while (iterator.hasNext()) {
+
+            final Day day = iterator.next();
+
+            if ( isLunarExtreme(day) ) {
+                return day;
+            }
+        }
+
+        return edge;
+    }
+
+    /**
+     * Counts the days in both directions. Given days must start and end at a lunar extreme or at the edges of all data, because
+     * counting starts at them.
+     */
+    private void countDaysToLunarExtremes(final NavigableSet<Day> days) {
+
+        int counter = PlanetaryDayData.DAY_COUNT_NOT_CALCULATED;
+
+        for (Day day : days) {
+
+            counter = this.incrementDayCount(counter, day);
+
+            if (day.getPlanetaryData().getDaysSinceLastMaxPhase() != counter) {
+                day.getPlanetaryData().setDaysSinceLastMaxPhase(counter);
+                this.markModified( day.getDate() );
+            }
+        }
+
+        counter = PlanetaryDayData.DAY_COUNT_NOT_CALCULATED;
+
+        for (Day day : days.descendingSet()) {
+
+            counter = this.incrementDayCount(counter, day);
+
+            if (day.getPlanetaryData().getDaysUntilNextMaxPhase() != counter) {
+                day.getPlanetaryData().setDaysUntilNextMaxPhase(counter);
+                this.markModified( day.getDate() );
+            }
+        }
+    }
+
+    private int incrementDayCount(int counter, Day day) {
+
+        this.log.trace( "Looking for extreme: {} - {}(count: {})", day.getDate(), day.getPlanetaryData().getLunarPhase(), counter );
+
+        if (counter < PlanetaryDayData.DAY_COUNT_NOT_CALCULATED) {
+            counter ++;
+        }
+
+        if ( isLunarExtreme(day) ) {
+            counter = 0;
+        }
+
+        return counter;
+    }
+
+    private static boolean isLunarExtreme(final Day day) {
+        return day.getPlanetaryData().getLunarPhase() != null && day.getPlanetaryData().getLunarPhase().isLunarExtreme();
+    }
+
     Day getFirst() {
         return this.data.first();
     }
@@ -97,6 +749,16 @@ class CalendarData {
         return this.data.last();
     }
 
+    /** @return the day after the given one or null, if there is none */
+    Day getNext(Day day) {
+        return this.data.higher(day);
+    }
+
+    /** @return the day before the given one or null, if there is none */
+    Day getPrevious(Day day) {
+        return this.data.lower(day);
+    }
+
     boolean contains(Day day) {
         return this.data.contains(day);
     }
@@ -126,14 +788,6 @@ class CalendarData {
         return new LinkedList<>(this.data);
     }
 
-    /**
-     * Returns all {@link Day}-elements this calendar contains.<br/>
-     * Consistency isn't guaranteed, if no data is available an empty list is returned.
-     */
-    TreeSet<Day> allAsTreeSet() {
-        return new TreeSet<>(this.data);
-    }
-
     /**
      * Returns all days within a given range. Range might contain gaps!
      */
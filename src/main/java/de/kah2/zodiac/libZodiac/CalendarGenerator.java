@@ -1,5 +1,6 @@
 package de.kah2.zodiac.libZodiac;
 
+import de.kah2.zodiac.libZodiac.planetary.EphemerisCache;
 import de.kah2.zodiac.libZodiac.planetary.LunarPhase;
 import de.kah2.zodiac.libZodiac.planetary.PlanetaryDayData;
 import org.slf4j.Logger;
@@ -22,6 +23,9 @@ public class CalendarGenerator implements ProgressListener {
 
     private final SortedSet<Day> newlyGenerated = Collections.synchronizedSortedSet( new TreeSet<>() );
 
+    // Dates modified until the last import or generation finished - see #publishChangedDates()
+    private volatile SortedSet<LocalDate> changedDates = Collections.emptySortedSet();
+
     private final ProgressManager progressManager = new ProgressManager();
 
     /** default for {@link #maxThreadCount} */
@@ -43,8 +47,15 @@ public class CalendarGenerator implements ProgressListener {
     private boolean mainThreadMustWait = false;
     private final static int THREAD_WAIT_INTERVALL_MS = 500;
 
+    // Days calculated in background before they are needed - see #prefetch(DateRange)
+    private final Map<LocalDate, CompletableFuture<Day>> prefetchedDays = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor prefetchExecutor;
+
+    // Provides values not depending on observer position - null if not set
+    private EphemerisCache ephemerisCache = null;
+
     // Needed for extension:
-    private SortedSet<Day> extensionCache;
+    private CalendarData extensionCache;
     private boolean isExtendingPast;
 
     CalendarGenerator(Calendar calendar) {
@@ -56,20 +67,20 @@ public class CalendarGenerator implements ProgressListener {
 
     /**
      * Main method to import data.
-     * @see Calendar#importDays(List)
+     * @see Calendar#importDays(Iterator)
      */
-    void importDays(final List<? extends DayStorableDataSet> storedDays){
+    void importDays(final Iterator<? extends DayStorableDataSet> storedDays){
 
         this.progressManager.notifyStateChanged(State.IMPORTING);
 
         this.days.importDays(storedDays);
 
-        this.updateLunarPhases( this.days.allAsList() );
-
         if (this.calendar.getScope() == Calendar.Scope.CYCLE) {
             this.countDaysToLunarExtremesInBothDirections();
         }
 
+        this.publishChangedDates();
+
         this.progressManager.notifyStateChanged(State.IMPORT_FINISHED);
     }
 
@@ -184,7 +195,8 @@ public class CalendarGenerator implements ProgressListener {
                     // Finished generating expected range - continue on main thread
                     this.continueOnMainThread();
 
-                } else { // if executor is set and status isn't GENERATING, status is EXTENDING_PAST or EXTENDING_FUTURE
+                } else if (this.progressManager.getState() == State.EXTENDING_PAST
+                        || this.progressManager.getState() == State.EXTENDING_FUTURE) {
 
                     this.onExtensionBundleFinished();
                 }
@@ -275,8 +287,6 @@ public class CalendarGenerator implements ProgressListener {
         }
 
         this.activeCalculations.clear();
-
-        this.updateLunarPhases( this.days.allAsList() );
     }
 
 
@@ -289,31 +299,47 @@ public class CalendarGenerator implements ProgressListener {
 
         // We generate portions of days to be able to use multi-threading, save them to this cache and after each
         // portion is completed, we check if we found an extreme.
-        this.extensionCache = Collections.synchronizedSortedSet( new TreeSet<>() );
+        this.extensionCache = new CalendarData();
 
         Day firstDayToCheck, lastDayToCheck;
 
-        // Move complete "overhead" to cache to check for extremes outside of expected range - to avoid extending if
-        // it's not needed
+        // Move "overhead" adjacent to the expected range to cache to check for extremes outside of expected range - to avoid
+        // extending if it's not needed. Days behind a gap (e.g. another page of a PagedCalendar) don't belong to the cycle of the
+        // expected range. Data of the dummy days created here isn't relevant.
         if (extendPast) {
 
             this.progressManager.notifyStateChanged(State.EXTENDING_PAST);
 
-            firstDayToCheck = this.days.getFirst();
-            lastDayToCheck = new Day( this.calendar.getRangeExpected().getStart() ); // Data isn't relevant here - create a dummy
+            LocalDate first = this.calendar.getRangeExpected().getStart();
+
+            while ( this.days.get( first.minusDays(1) ) != null ) {
+                first = first.minusDays(1);
+            }
+
+            firstDayToCheck = new Day(first);
+            lastDayToCheck = new Day( this.calendar.getRangeExpected().getStart() );
 
         } else {
 
             this.progressManager.notifyStateChanged(State.EXTENDING_FUTURE);
 
+            LocalDate last = this.calendar.getRangeExpected().getEnd();
+
+            while ( this.days.get( last.plusDays(1) ) != null ) {
+                last = last.plusDays(1);
+            }
+
             firstDayToCheck = new Day( this.calendar.getRangeExpected().getEnd() );
-            lastDayToCheck = this.days.getLast();
+            lastDayToCheck = new Day(last);
         }
 
         final LinkedList<Day> availableDaysOutsideExpectedRange = this.days.of(firstDayToCheck, lastDayToCheck);
-        this.extensionCache.addAll(availableDaysOutsideExpectedRange);
 
-        if (this.isLunarExtremeInExtensionCache()) { // We already have an extreme - nothing to do
+        for (Day day : availableDaysOutsideExpectedRange) {
+            this.extensionCache.insert(day);
+        }
+
+        if ( this.isLunarExtremeIn(availableDaysOutsideExpectedRange) ) { // We already have an extreme - nothing to do
 
             log.trace("Lunar extreme found in extensionCache - triggering state change");
             // We're on main thread and trigger the state change directly
@@ -342,13 +368,13 @@ public class CalendarGenerator implements ProgressListener {
         if (isExtendingPast) {
 
             for (int i = 1; i <= this.getMaxThreadCount(); i++) {
-                this.startDayCreationThread(this.extensionCache.first().getDate().minusDays(i));
+                this.startDayCreationThread(this.extensionCache.getFirst().getDate().minusDays(i));
             }
 
         } else {
 
             for (int i = 1; i <= this.getMaxThreadCount(); i++) {
-                this.startDayCreationThread(this.extensionCache.last().getDate().plusDays(i));
+                this.startDayCreationThread(this.extensionCache.getLast().getDate().plusDays(i));
             }
         }
 
@@ -365,11 +391,17 @@ public class CalendarGenerator implements ProgressListener {
 
         this.executor.shutdown();
 
+        // The former edge of the cache gets its lunar phase now, so it has to be checked, too
+        final Day formerEdge = this.isExtendingPast ? this.extensionCache.getFirst() : this.extensionCache.getLast();
+        final LinkedList<Day> daysToCheck = new LinkedList<>();
+        daysToCheck.add(formerEdge);
+
         for (Future<Day> job : this.activeCalculations) {
             try {
                 final Day result = job.get();
 
-                this.extensionCache.add(result);
+                this.extensionCache.insert(result);
+                daysToCheck.add(result);
             }
             catch (Exception e) {
                 this.log.error("Error calculating day", e);
@@ -378,9 +410,7 @@ public class CalendarGenerator implements ProgressListener {
 
         this.activeCalculations.clear();
 
-        this.updateLunarPhases( new LinkedList<>(this.extensionCache) );
-
-        if (this.isLunarExtremeInExtensionCache()) {
+        if ( this.isLunarExtremeIn(daysToCheck) ) {
 
             this.onExtensionFinished();
 
@@ -411,7 +441,7 @@ public class CalendarGenerator implements ProgressListener {
 
         this.log.trace("######## saveExtensionCache() ########");
 
-        for (Day day : this.extensionCache) {
+        for (Day day : this.extensionCache.allAsList()) {
 
             if ( !this.days.contains(day) ) {
                 this.newlyGenerated.add(day);
@@ -420,11 +450,12 @@ public class CalendarGenerator implements ProgressListener {
         }
     }
 
-    private boolean isLunarExtremeInExtensionCache() {
+    /** Checks given days of {@link #extensionCache} for lunar extremes. */
+    private boolean isLunarExtremeIn(final Collection<Day> days) {
 
-        this.log.trace("######## isLunarExtremeInExtensionCache() ########");
+        this.log.trace("######## isLunarExtremeIn() ########");
 
-        for (Day day : this.extensionCache) {
+        for (Day day : days) {
 
             LunarPhase phase = day.getPlanetaryData().getLunarPhase();
 
@@ -441,6 +472,9 @@ public class CalendarGenerator implements ProgressListener {
         // and set daysSinceLast/daysUntilNext only available at CYCLE:
         this.progressManager.notifyStateChanged(State.COUNTING);
         this.countDaysToLunarExtremesInBothDirections();
+
+        // We're on main thread and call this directly
+        this.doStateChange();
     }
 
     /** FINAL STEP: Notify {@link ProgressManager} */
@@ -448,14 +482,35 @@ public class CalendarGenerator implements ProgressListener {
 
         log.trace("onFinished: notifying listeners");
 
+        this.publishChangedDates();
+
         this.progressManager.notifyStateChanged(State.FINISHED);
     }
 
+    /**
+     * Takes the dates modified since the last import or generation finished, so listeners can fetch them by
+     * {@link #getChangedDates()}.
+     */
+    private void publishChangedDates() {
+        this.changedDates = Collections.unmodifiableSortedSet( this.days.takeModifiedDates() );
+    }
+
     /**
      * This method contains logic to start a calculation thread for a {@link Day}.
      */
     private void startDayCreationThread(final LocalDate date) {
 
+        final CompletableFuture<Day> prefetched = this.prefetchedDays.remove(date);
+
+        if (prefetched != null) {
+
+            this.log.trace( " ++++++++ Using prefetched day {}", date );
+
+            prefetched.thenAccept( day -> CalendarGenerator.this.getProgressManager().notifyDayCreated());
+            this.activeCalculations.add(prefetched);
+            return;
+        }
+
         final CompletableFuture<Day> result = CompletableFuture.supplyAsync(() -> {
 			CalendarGenerator.this.log.trace( " ++++++++ Starting calculation for {}", date );
 
@@ -477,96 +532,151 @@ public class CalendarGenerator implements ProgressListener {
         this.activeCalculations.add(result);
     }
 
+    /**
+     * Starts calculating days of given range in background, which aren't contained so far. When they are needed later during
+     * generation or extension, the prefetched results are used instead of calculating them again.
+     */
+    void prefetch(final DateRange range) {
+
+        if (this.prefetchExecutor == null) {
+            this.prefetchExecutor = this.createExecutor();
+            // Threads aren't needed, when nothing is to prefetch
+            this.prefetchExecutor.allowCoreThreadTimeOut(true);
+        }
+
+        for (LocalDate date : range) {
+
+            if ( this.days.get(date) == null ) {
+
+                this.prefetchedDays.computeIfAbsent( date, key -> CompletableFuture.supplyAsync(() -> {
+
+                    Thread.currentThread().setPriority(threadPriority);
+
+                    return CalendarGenerator.this.createCalculatedDay(key);
+
+                }, this.prefetchExecutor).exceptionally(throwable -> {
+                    log.error( throwable.getMessage() );
+                    return null;
+                }));
+            }
+        }
+    }
+
+    /**
+     * Drops prefetched days before date, e.g. because moving a window skipped them - they would never be used and kept forever
+     * otherwise.
+     */
+    void discardPrefetchedDaysBefore(final LocalDate date) {
+        this.prefetchedDays.keySet().removeIf( prefetched -> prefetched.isBefore(date) );
+    }
+
+    /** Needed for tests. */
+    int getNumberOfPrefetchedDays() {
+        return this.prefetchedDays.size();
+    }
+
     /**
      * Responsible for raw Generation of a {@link Day}. Used for testing purposes to override and stub
      * calculation.
      */
     Day createCalculatedDay(final LocalDate date) {
-        return Day.calculateFor( calendar.getLocationProvider(), date );
+        return Day.calculateFor( calendar.getLocationProvider(), date, this.ephemerisCache );
     }
 
     /**
-     * Walks through the whole list of days and sets
-     * {@link PlanetaryDayData#setDaysSinceLastMaxPhase(int)} and
-     * {@link PlanetaryDayData#setDaysUntilNextMaxPhase(int)}. Doesn't skip
-     * already calculated days, because there would be no significant benefit
+     * Responsible for relocating a {@link Day} to the actual {@link LocationProvider}. Used for testing purposes to override and stub
+     * calculation.
      */
-    private void countDaysToLunarExtremesInBothDirections() {
-
-        LinkedList<Day> days = this.days.allAsList();
-
-        int counter = PlanetaryDayData.DAY_COUNT_NOT_CALCULATED;
+    Day createRelocatedDay(final Day source, final LocationProvider sourceLocationProvider) {
+        return Day.relocate( source, sourceLocationProvider, calendar.getLocationProvider() );
+    }
 
-        ListIterator<Day> iterator = days.listIterator();
+    /**
+     * Main method to relocate all contained days to the actual {@link LocationProvider} of the {@link Calendar}.
+     * @throws IllegalStateException if a day can't be relocated - no day is replaced then
+     * @see Calendar#relocate(LocationProvider)
+     */
+    void relocate(final LocationProvider sourceLocationProvider) {
 
-        while (iterator.hasNext()) {
+        this.log.trace("######## relocate() ########");
 
-            Day day = iterator.next();
+        this.progressManager.reset();
+        this.progressManager.notifyStateChanged(State.RELOCATING);
 
-            counter = incrementDayCount(counter, day);
+        final LinkedList<Day> sourceDays = this.days.allAsList();
 
-            day.getPlanetaryData().setDaysSinceLastMaxPhase(counter);
-        }
+        this.progressManager.addNumberOfDaysToGenerate(sourceDays.size());
 
-        counter = PlanetaryDayData.DAY_COUNT_NOT_CALCULATED;
-        iterator = days.listIterator( days.size() );
+        this.executor = this.createExecutor();
 
-        while (iterator.hasPrevious()) {
+        final LinkedList<CompletableFuture<Day>> relocations = new LinkedList<>();
 
-            Day day = iterator.previous();
+        for (Day source : sourceDays) {
 
-            counter = incrementDayCount(counter, day);
+            final CompletableFuture<Day> result = CompletableFuture.supplyAsync(() -> {
 
-            day.getPlanetaryData().setDaysUntilNextMaxPhase(counter);
-        }
+                Thread.currentThread().setPriority(threadPriority);
 
-        // We're on main thread and call this directly
-        this.doStateChange();
-    }
+                return CalendarGenerator.this.createRelocatedDay(source, sourceLocationProvider);
 
-    private int incrementDayCount(int counter, Day day) {
+            }, this.executor);
 
-		this.log.debug( "Looking for extreme: {} - {}(count: {})", day.getDate(), day.getPlanetaryData().getLunarPhase(), counter );
+            result.thenAccept( day -> CalendarGenerator.this.getProgressManager().notifyDayCreated());
 
-        if (counter < PlanetaryDayData.DAY_COUNT_NOT_CALCULATED) {
-            counter ++;
+            relocations.add(result);
         }
 
-        if (day.getPlanetaryData().getLunarPhase() != null && day.getPlanetaryData().getLunarPhase().isLunarExtreme()) {
-            counter = 0;
-        }
+        // Nothing is replaced until all days are relocated, so a failure leaves the calendar at the old location
+        final LinkedList<Day> relocatedDays = new LinkedList<>();
 
-        return counter;
-    }
+        for (CompletableFuture<Day> job : relocations) {
+            try {
+                relocatedDays.add( job.get() );
+            }
+            catch (Exception e) {
+                this.executor.shutdownNow();
 
-    /** Walks through all days and updates lunar phases. List will be modified! */
-    private void updateLunarPhases(LinkedList<Day> days) {
+                // Listeners waiting for relocation to end must be notified nevertheless
+                this.progressManager.notifyStateChanged(State.FINISHED);
 
-        this.log.trace("######## updateLunarPhases() ########");
+                throw new IllegalStateException("Error relocating day - calendar is unchanged", e);
+            }
+        }
 
-        if (days.size() < 3) {
+        this.executor.shutdown();
 
-            this.log.trace("      => Size < 3, returning");
-            return;
-        }
+        this.newlyGenerated.clear();
+
+        // Prefetched days were calculated for the old location
+        this.prefetchedDays.clear();
 
-        Day 	previous = days.pollFirst(),
-                current = days.pollFirst(),
-                next = days.pollFirst();
+        boolean isNoonShifted = false;
 
-        do {
+        for (Day result : relocatedDays) {
 
-            current.getPlanetaryData().setLunarPhase( LunarPhase.of(previous, current, next) );
+            this.days.replace(result);
+            this.newlyGenerated.add(result);
 
-			this.log.debug( "      ({}, {}, {}) => {}", previous.getDate(), current.getDate(), next.getDate(), current.getPlanetaryData().getLunarPhase() );
+            isNoonShifted = isNoonShifted || PlanetaryDayData.isNoonShifted( result.getDate(),
+                    sourceLocationProvider.getTimeZoneId(), this.calendar.getLocationProvider().getTimeZoneId() );
+        }
 
-            previous = current;
-            current = next;
-            next = days.pollFirst();
+        // Lunar phases got updated while replacing - but counters might have changed
+        if ( isNoonShifted && this.calendar.getScope() == Calendar.Scope.CYCLE ) {
+            this.countDaysToLunarExtremesInBothDirections();
+        }
 
-        } while (next != null);
+        this.onFinished();
     }
 
+    /**
+     * Sets {@link PlanetaryDayData#setDaysSinceLastMaxPhase(int)} and {@link PlanetaryDayData#setDaysUntilNextMaxPhase(int)}. Only the
+     * lunar half-cycles touched by inserted, replaced or removed days are counted again.
+     * @see CalendarData#updateDayCounters()
+     */
+    private void countDaysToLunarExtremesInBothDirections() {
+        this.days.updateDayCounters();
+    }
 
     /**
      * Returns a {@link DateRange} for {@link #startGeneration()} ()} to be able to calculate enough days to satisfy expected range and
@@ -614,6 +724,14 @@ public class CalendarGenerator implements ProgressListener {
         return days;
     }
 
+    /**
+     * Returns the dates of all days added, removed or changed by lunar phase or day counter updates between the last two times an
+     * import or generation finished.
+     */
+    SortedSet<LocalDate> getChangedDates() {
+        return this.changedDates;
+    }
+
     /** Returns all days newly generated since last call of #startGeneration. */
     LinkedList<Day> getNewlyGenerated() {
 
@@ -655,6 +773,14 @@ public class CalendarGenerator implements ProgressListener {
         this.threadPriority = threadPriority;
     }
 
+    /**
+     * @param ephemerisCache used to look up values not depending on observer position before calculating them - null disables
+     *                       caching.
+     */
+    public void setEphemerisCache(EphemerisCache ephemerisCache) {
+        this.ephemerisCache = ephemerisCache;
+    }
+
     /** Needed for tests to be able shut down executor externally. */
     ThreadPoolExecutor getExecutor() {
         return executor;
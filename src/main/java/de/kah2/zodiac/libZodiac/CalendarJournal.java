@@ -0,0 +1,27 @@
+package de.kah2.zodiac.libZodiac;
+
+import java.time.LocalDate;
+
+/**
+ * <p>Gets notified about every day added to or removed from a {@link Calendar} as it happens, so changes can be persisted
+ * incrementally instead of comparing the whole calendar with storage - see {@link Calendar#setJournal(CalendarJournal)}.</p>
+ * <p>Imported days aren't reported, because they come from storage anyway. Lunar phases and day counters of neighbours change
+ * without notification - they can be calculated again from the reported days.</p>
+ *
+ * @see de.kah2.zodiac.libZodiac.storage.CalendarJournalFile
+ * @author kahles
+ */
+public interface CalendarJournal {
+
+	/**
+	 * Called after a calculated day was inserted or replaced a day of the same date.
+	 * @param day the added day
+	 */
+	void dayAdded(Day day);
+
+	/**
+	 * Called after a day was removed.
+	 * @param date the date of the removed day
+	 */
+	void dayRemoved(LocalDate date);
+}
@@ -0,0 +1,26 @@
+package de.kah2.zodiac.libZodiac;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Provides stored days month by month for a {@link PagedCalendar}, e.g. by querying a database for the dates of one month.
+ *
+ * @author kahles
+ */
+public interface CalendarPageSource {
+
+	/**
+	 * @param month the month to load
+	 * @return the stored days of month - missing days are generated, so the list may be incomplete or empty.
+	 */
+	List<? extends DayStorableDataSet> loadPage(YearMonth month);
+
+	/**
+	 * Called after days of month were missing and therefore generated, so they can be stored. Does nothing by default.
+	 * @param month the month the days belong to
+	 * @param generatedDays the generated days of month
+	 */
+	default void pageGenerated(final YearMonth month, final List<Day> generatedDays) {
+	}
+}
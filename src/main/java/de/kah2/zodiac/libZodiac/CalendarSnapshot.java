@@ -0,0 +1,280 @@
+package de.kah2.zodiac.libZodiac;
+
+import de.kah2.zodiac.libZodiac.planetary.Position;
+import de.kah2.zodiac.libZodiac.storage.DayRecordLayout;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.zip.CRC32;
+
+/**
+ * <p>Saves and restores the complete state of a {@link Calendar}: expected range, scope, location and all days including lunar
+ * phases and day counters. Importing {@link DayStorableDataSet}s only restores calculated values and therefore needs to calculate
+ * lunar phases and counters again - restoring a snapshot calculates nothing, so it takes about the time needed to read the file.</p>
+ * <p>A snapshot consists of a header of {@link #HEADER_SIZE} bytes, one record per date as described by {@link DayRecordLayout} and
+ * a {@link CRC32} checksum of all bytes before it.</p>
+ * <table>
+ * <caption>Header</caption>
+ * <tr><th>Offset</th><th>Type</th><th>Value</th></tr>
+ * <tr><td>0</td><td>int</td><td>{@link #MAGIC}</td></tr>
+ * <tr><td>4</td><td>int</td><td>{@link #VERSION}</td></tr>
+ * <tr><td>8</td><td>int</td><td>record size</td></tr>
+ * <tr><td>12</td><td>byte</td><td>{@link Calendar.Scope#ordinal()}</td></tr>
+ * <tr><td>16</td><td>double</td><td>latitude</td></tr>
+ * <tr><td>24</td><td>double</td><td>longitude</td></tr>
+ * <tr><td>32</td><td>long</td><td>epoch day of the start of the expected range</td></tr>
+ * <tr><td>40</td><td>long</td><td>epoch day of the end of the expected range</td></tr>
+ * <tr><td>48</td><td>long</td><td>epoch day of first record</td></tr>
+ * <tr><td>56</td><td>int</td><td>number of records</td></tr>
+ * <tr><td>60</td><td>int</td><td>number of contained days</td></tr>
+ * <tr><td>64</td><td>short</td><td>length of time zone id</td></tr>
+ * <tr><td>66</td><td>bytes</td><td>time zone id (UTF-8)</td></tr>
+ * </table>
+ *
+ * @author kahles
+ */
+public final class CalendarSnapshot {
+
+	/** "LZSN" */
+	public final static int MAGIC = 0x4C5A534E;
+
+	public final static int VERSION = 1;
+
+	public final static int HEADER_SIZE = 128;
+
+	private final static int CHECKSUM_SIZE = 8;
+
+	private final static int OFFSET_VERSION = 4;
+	private final static int OFFSET_RECORD_SIZE = 8;
+	private final static int OFFSET_SCOPE = 12;
+	private final static int OFFSET_LATITUDE = 16;
+	private final static int OFFSET_LONGITUDE = 24;
+	private final static int OFFSET_EXPECTED_START = 32;
+	private final static int OFFSET_EXPECTED_END = 40;
+	private final static int OFFSET_START = 48;
+	private final static int OFFSET_NUMBER_OF_RECORDS = 56;
+	private final static int OFFSET_NUMBER_OF_DAYS = 60;
+	private final static int OFFSET_ZONE_ID = 64;
+
+	private final static int MAX_ZONE_ID_LENGTH = HEADER_SIZE - OFFSET_ZONE_ID - 2;
+
+	/** Number of records written at once */
+	private final static int RECORDS_PER_WRITE = 1024;
+
+	private CalendarSnapshot() {
+	}
+
+	/**
+	 * Writes the state of calendar to a file. An existing file is replaced.
+	 * @throws java.util.ConcurrentModificationException If calculation isn't finished.
+	 */
+	public static void write(final Path path, final Calendar calendar) throws IOException {
+
+		final LinkedList<Day> days = calendar.getAllDays();
+
+		final LocalDate start = days.isEmpty() ? calendar.getRangeExpected().getStart() : days.getFirst().getDate();
+		final int numberOfRecords = days.isEmpty() ? 0 : new DateRange( days.getFirst(), days.getLast() ).size();
+
+		final CRC32 checksum = new CRC32();
+
+		try (FileChannel channel = FileChannel.open(path,
+				StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+
+			writeFully( channel, createHeader(calendar, start, numberOfRecords, days.size()), checksum );
+
+			final ByteBuffer records = ByteBuffer.allocate( RECORDS_PER_WRITE * DayRecordLayout.RECORD_SIZE );
+			int index = 0;
+
+			for (Day day : days) {
+
+				// Gaps stay zero and are therefore marked as absent
+				final int dayIndex = (int) ChronoUnit.DAYS.between( start, day.getDate() );
+
+				while (index < dayIndex) {
+					records.position( records.position() + DayRecordLayout.RECORD_SIZE );
+					index++;
+					flushIfFull(channel, records, checksum);
+				}
+
+				DayRecordLayout.write( records, records.position(), day );
+				records.position( records.position() + DayRecordLayout.RECORD_SIZE );
+				index++;
+				flushIfFull(channel, records, checksum);
+			}
+
+			records.flip();
+			writeFully(channel, records, checksum);
+
+			// The checksum covers everything before it
+			writeFully( channel, ByteBuffer.allocate(CHECKSUM_SIZE).putLong(0, checksum.getValue()), null );
+		}
+	}
+
+	private static ByteBuffer createHeader(final Calendar calendar, final LocalDate start, final int numberOfRecords,
+										   final int numberOfDays) {
+
+		final byte[] zoneId = calendar.getLocationProvider().getTimeZoneId().getId().getBytes(StandardCharsets.UTF_8);
+
+		if (zoneId.length > MAX_ZONE_ID_LENGTH) {
+			throw new IllegalArgumentException("Time zone id is too long: " + calendar.getLocationProvider().getTimeZoneId());
+		}
+
+		final Position position = calendar.getLocationProvider().getObserverPosition();
+
+		final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		header.putInt(0, MAGIC);
+		header.putInt(OFFSET_VERSION, VERSION);
+		header.putInt(OFFSET_RECORD_SIZE, DayRecordLayout.RECORD_SIZE);
+		header.put(OFFSET_SCOPE, (byte) calendar.getScope().ordinal());
+		header.putDouble(OFFSET_LATITUDE, position.getLatitude());
+		header.putDouble(OFFSET_LONGITUDE, position.getLongitude());
+		header.putLong(OFFSET_EXPECTED_START, calendar.getRangeExpected().getStart().toEpochDay());
+		header.putLong(OFFSET_EXPECTED_END, calendar.getRangeExpected().getEnd().toEpochDay());
+		header.putLong(OFFSET_START, start.toEpochDay());
+		header.putInt(OFFSET_NUMBER_OF_RECORDS, numberOfRecords);
+		header.putInt(OFFSET_NUMBER_OF_DAYS, numberOfDays);
+		header.putShort(OFFSET_ZONE_ID, (short) zoneId.length);
+		header.put(OFFSET_ZONE_ID + 2, zoneId);
+
+		return header;
+	}
+
+	private static void flushIfFull(final FileChannel channel, final ByteBuffer records, final CRC32 checksum) throws IOException {
+
+		if (records.position() == records.capacity()) {
+			records.flip();
+			writeFully(channel, records, checksum);
+			// Reused buffer must be zeroed, so gaps are marked as absent
+			Arrays.fill( records.array(), (byte) 0 );
+			records.clear();
+		}
+	}
+
+	/** Writes buffer and adds its contents to checksum, if it isn't null. */
+	private static void writeFully(final FileChannel channel, final ByteBuffer buffer, final CRC32 checksum) throws IOException {
+
+		if (checksum != null) {
+			checksum.update( buffer.duplicate() );
+		}
+
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+	/**
+	 * Reads a snapshot in one go and restores the {@link Calendar} it was written from. Nothing is calculated, so the restored
+	 * calendar doesn't need {@link Calendar#startGeneration()} as long as its expected range isn't changed.
+	 * @throws IOException if the file can't be read, is corrupted or isn't a snapshot of a supported version
+	 */
+	public static Calendar restore(final Path path) throws IOException {
+
+		final ByteBuffer buffer = ByteBuffer.wrap( Files.readAllBytes(path) );
+
+		if (buffer.capacity() < HEADER_SIZE + CHECKSUM_SIZE || buffer.getInt(0) != MAGIC) {
+			throw new IOException(path + " isn't a calendar snapshot.");
+		}
+
+		if (buffer.getInt(OFFSET_VERSION) != VERSION || buffer.getInt(OFFSET_RECORD_SIZE) != DayRecordLayout.RECORD_SIZE) {
+			throw new IOException(path + " has unsupported version " + buffer.getInt(OFFSET_VERSION));
+		}
+
+		final int checksumOffset = buffer.capacity() - CHECKSUM_SIZE;
+
+		final CRC32 checksum = new CRC32();
+		checksum.update( buffer.array(), 0, checksumOffset );
+
+		if ( checksum.getValue() != buffer.getLong(checksumOffset) ) {
+			throw new IOException(path + " is corrupted: checksum doesn't match.");
+		}
+
+		final int numberOfRecords = buffer.getInt(OFFSET_NUMBER_OF_RECORDS);
+
+		if (HEADER_SIZE + (long) numberOfRecords * DayRecordLayout.RECORD_SIZE != checksumOffset) {
+			throw new IOException(path + " is corrupted: size doesn't match number of records.");
+		}
+
+		final Calendar calendar = new Calendar( readRangeExpected(buffer), readScope(path, buffer), readLocation(path, buffer) );
+
+		final LocalDate start = LocalDate.ofEpochDay( buffer.getLong(OFFSET_START) );
+		final ArrayList<Day> days = new ArrayList<>( buffer.getInt(OFFSET_NUMBER_OF_DAYS) );
+
+		for (int index = 0; index < numberOfRecords; index++) {
+
+			final int offset = HEADER_SIZE + index * DayRecordLayout.RECORD_SIZE;
+
+			if ( DayRecordLayout.isPresent(buffer, offset) ) {
+				days.add( DayRecordLayout.read( buffer, offset, start.plusDays(index) ) );
+			}
+		}
+
+		if ( days.size() != buffer.getInt(OFFSET_NUMBER_OF_DAYS) ) {
+			throw new IOException(path + " is corrupted: number of days doesn't match.");
+		}
+
+		calendar.getDays().restore(days);
+
+		return calendar;
+	}
+
+	private static DateRange readRangeExpected(final ByteBuffer buffer) {
+		return new DateRange( LocalDate.ofEpochDay( buffer.getLong(OFFSET_EXPECTED_START) ),
+				LocalDate.ofEpochDay( buffer.getLong(OFFSET_EXPECTED_END) ) );
+	}
+
+	private static Calendar.Scope readScope(final Path path, final ByteBuffer buffer) throws IOException {
+
+		final byte ordinal = buffer.get(OFFSET_SCOPE);
+
+		if (ordinal < 0 || ordinal >= Calendar.Scope.values().length) {
+			throw new IOException(path + " contains unknown scope " + ordinal);
+		}
+
+		return Calendar.Scope.values()[ordinal];
+	}
+
+	private static LocationProvider readLocation(final Path path, final ByteBuffer buffer) throws IOException {
+
+		final short length = buffer.getShort(OFFSET_ZONE_ID);
+
+		if (length < 0 || length > MAX_ZONE_ID_LENGTH) {
+			throw new IOException(path + " contains an invalid time zone id.");
+		}
+
+		final byte[] zoneId = new byte[length];
+		buffer.get(OFFSET_ZONE_ID + 2, zoneId);
+
+		try {
+			return new StoredLocationProvider(
+					ZoneId.of( new String(zoneId, StandardCharsets.UTF_8) ),
+					new Position( buffer.getDouble(OFFSET_LATITUDE), buffer.getDouble(OFFSET_LONGITUDE) ));
+		} catch (DateTimeException e) {
+			throw new IOException(path + " contains an invalid time zone id.", e);
+		}
+	}
+
+	private record StoredLocationProvider(ZoneId timeZoneId, Position observerPosition) implements LocationProvider {
+
+		@Override
+		public ZoneId getTimeZoneId() {
+			return this.timeZoneId;
+		}
+
+		@Override
+		public Position getObserverPosition() {
+			return this.observerPosition;
+		}
+	}
+}
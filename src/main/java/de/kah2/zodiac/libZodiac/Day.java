@@ -1,7 +1,9 @@
 package de.kah2.zodiac.libZodiac;
 
+import de.kah2.zodiac.libZodiac.planetary.EphemerisCache;
 import de.kah2.zodiac.libZodiac.planetary.PlanetaryDayData;
 import de.kah2.zodiac.libZodiac.zodiac.ZodiacDayData;
+import de.kah2.zodiac.libZodiac.zodiac.ZodiacSign;
 
 import java.time.LocalDate;
 
@@ -16,14 +18,19 @@ public class Day implements Comparable<Day>{
 
 	private final LocalDate date;
 
+	/** Used for dummy objects without data */
+	private final static byte NO_ZODIAC_SIGN = -1;
+
 	private final PlanetaryDayData planetaryData;
-	private final ZodiacDayData zodiacData;
+
+	/** {@link ZodiacDayData} is shared per sign, so only the ordinal of its sign is kept. */
+	private final byte zodiacSignOrdinal;
 
 	/** This constructor is used to create dummy objects for {@link CalendarData#getMissingDates(DateRange)} */
 	Day(final LocalDate date) {
 		this.date = date;
 		this.planetaryData = null;
-		this.zodiacData = null;
+		this.zodiacSignOrdinal = NO_ZODIAC_SIGN;
 	}
 
 	/**
@@ -33,7 +40,8 @@ public class Day implements Comparable<Day>{
 	Day(final LocalDate date, final PlanetaryDayData planetaryData) {
 		this.date = date;
 		this.planetaryData = planetaryData;
-		this.zodiacData = new ZodiacDayData(this.planetaryData);
+		final ZodiacSign sign = ZodiacSign.of( planetaryData.getLunarLongitude() );
+		this.zodiacSignOrdinal = sign == null ? NO_ZODIAC_SIGN : (byte) sign.ordinal();
 	}
 
 	/**
@@ -51,6 +59,43 @@ public class Day implements Comparable<Day>{
 		return new Day(date, PlanetaryDayData.calculateFor(date, locationProvider));
 	}
 
+	/**
+	 * Creates a Day object like {@link #calculateFor(LocationProvider, LocalDate)}, but takes values not depending on observer
+	 * position from cache, if available.
+	 *
+	 * @param locationProvider
+	 *            provides information about observer position and time zone
+	 *            needed for calculation of rise and set times.
+	 * @param date
+	 *            the date of the Day to generate
+	 * @param cache
+	 *            the {@link EphemerisCache} to use or null
+	 * @return the resulting {@link Day}-object
+	 */
+	public static Day calculateFor(final LocationProvider locationProvider, final LocalDate date, final EphemerisCache cache) {
+
+		return new Day(date, PlanetaryDayData.calculateFor(date, locationProvider, cache));
+	}
+
+	/**
+	 * Creates a Day object for another location reusing as much as possible of an already calculated Day.
+	 *
+	 * @param source
+	 *            the already calculated {@link Day}
+	 * @param sourceLocationProvider
+	 *            the location source was calculated for
+	 * @param targetLocationProvider
+	 *            the location to calculate the new {@link Day} for
+	 * @return the resulting {@link Day}-object
+	 * @see PlanetaryDayData#relocate(LocalDate, PlanetaryDayData, LocationProvider, LocationProvider)
+	 */
+	public static Day relocate(final Day source, final LocationProvider sourceLocationProvider,
+							   final LocationProvider targetLocationProvider) {
+
+		return new Day(source.getDate(), PlanetaryDayData.relocate(
+				source.getDate(), source.getPlanetaryData(), sourceLocationProvider, targetLocationProvider ));
+	}
+
 	/**
 	 * Creates a Day object, imports planetary data and calculates Zodiac data.
 	 * 
@@ -68,7 +113,20 @@ public class Day implements Comparable<Day>{
 	 *         without interpretations.
 	 */
 	public ZodiacDayData getZodiacData() {
-		return this.zodiacData;
+
+		if (this.zodiacSignOrdinal == NO_ZODIAC_SIGN) {
+			return null;
+		}
+
+		return ZodiacDayData.ofOrdinal(this.zodiacSignOrdinal);
+	}
+
+	/**
+	 * @return the {@link ZodiacSign#ordinal()} of this day's sign - allows comparing signs without dereferencing
+	 *         {@link ZodiacDayData}.
+	 */
+	public int getZodiacSignOrdinal() {
+		return this.zodiacSignOrdinal;
 	}
 
 	/**
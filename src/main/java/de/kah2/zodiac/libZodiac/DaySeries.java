@@ -0,0 +1,233 @@
+package de.kah2.zodiac.libZodiac;
+
+import de.kah2.zodiac.libZodiac.planetary.LunarPhase;
+import de.kah2.zodiac.libZodiac.planetary.PlanetaryDayData;
+import de.kah2.zodiac.libZodiac.planetary.Position;
+import de.kah2.zodiac.libZodiac.planetary.RiseSet;
+import de.kah2.zodiac.libZodiac.zodiac.ZodiacSign;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.stream.IntStream;
+
+/**
+ * <p>Contains the data of a whole {@link DateRange} in primitive arrays - one array per value, where index 0 is the first day of the
+ * range. This is meant for analytics of long ranges, where creating {@link Day}-objects would only produce garbage.</p>
+ * <p>Calculation is done in parallel chunks without creating {@link Day}, {@link PlanetaryDayData} or {@link RiseSet} objects. Lunar
+ * phases and day counters are calculated like in {@link Calendar}: the visibility of the days before and after the range is
+ * calculated additionally, so every day has a phase. Days before the first or after the last lunar extreme of the range have only
+ * one of their counters set.</p>
+ *
+ * @author kahles
+ */
+public class DaySeries {
+
+	/** Marks a rise or set time, which doesn't exist, because sun or moon are circumpolar. */
+	public static final long NO_RISE_SET = RiseSet.NO_EVENT;
+
+	/** Number of days calculated in one chunk */
+	private static final int CHUNK_SIZE = 64;
+
+	private static final LunarPhase[] LUNAR_PHASES = LunarPhase.values();
+
+	private final LocalDate start;
+	private final int size;
+
+	private final double[] lunarLongitude, lunarVisibility;
+	private final long[] lunarRise, lunarSet, solarRise, solarSet;
+	private final byte[] zodiacSign, lunarPhase;
+	private final int[] daysSinceLastMaxPhase, daysUntilNextMaxPhase;
+
+	private DaySeries(final DateRange range) {
+
+		this.start = range.getStart();
+		this.size = range.size();
+
+		this.lunarLongitude = new double[this.size];
+		this.lunarVisibility = new double[this.size];
+		this.lunarRise = new long[this.size];
+		this.lunarSet = new long[this.size];
+		this.solarRise = new long[this.size];
+		this.solarSet = new long[this.size];
+		this.zodiacSign = new byte[this.size];
+		this.lunarPhase = new byte[this.size];
+		this.daysSinceLastMaxPhase = new int[this.size];
+		this.daysUntilNextMaxPhase = new int[this.size];
+	}
+
+	/**
+	 * Calculates all data of given range.
+	 * @param range the days to calculate
+	 * @param locationProvider provides information about observer position and time zone needed for calculation of rise and set
+	 *                         times.
+	 * @return the resulting {@link DaySeries}
+	 */
+	public static DaySeries calculateFor(final DateRange range, final LocationProvider locationProvider) {
+
+		final DaySeries series = new DaySeries(range);
+
+		final ZoneId zoneId = locationProvider.getTimeZoneId();
+		final Position observerPosition = locationProvider.getObserverPosition();
+
+		final int numberOfChunks = (series.size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+		IntStream.range(0, numberOfChunks).parallel().forEach( chunk -> {
+
+			final int from = chunk * CHUNK_SIZE;
+			final int to = Math.min(from + CHUNK_SIZE, series.size);
+
+			series.calculateChunk(from, to, zoneId, observerPosition);
+		});
+
+		final double visibilityBefore = PlanetaryDayData.lunarVisibilityAt(
+				PlanetaryDayData.julianDateAtNoon( range.getStart().minusDays(1), zoneId ) );
+		final double visibilityAfter = PlanetaryDayData.lunarVisibilityAt(
+				PlanetaryDayData.julianDateAtNoon( range.getEnd().plusDays(1), zoneId ) );
+
+		series.calculateLunarPhases(visibilityBefore, visibilityAfter);
+		series.countDaysToLunarExtremes();
+
+		return series;
+	}
+
+	/** Calculates all values not depending on neighbours for the days from index "from" (inclusive) to "to" (exclusive). */
+	private void calculateChunk(final int from, final int to, final ZoneId zoneId, final Position observerPosition) {
+
+		// Reused for all days of this chunk
+		final long[] riseAndSet = new long[2];
+
+		for (int i = from; i < to; i++) {
+
+			final LocalDate date = this.start.plusDays(i);
+
+			final double julianDateAtDayStart = PlanetaryDayData.julianDateAtDayStart(date, zoneId);
+			final double julianDateAtNoon = PlanetaryDayData.julianDateAtNoon(date, zoneId);
+
+			if ( PlanetaryDayData.calculateSolarRiseSet(julianDateAtDayStart, observerPosition, riseAndSet) ) {
+				this.solarRise[i] = riseAndSet[0];
+				this.solarSet[i] = riseAndSet[1];
+			} else {
+				this.solarRise[i] = NO_RISE_SET;
+				this.solarSet[i] = NO_RISE_SET;
+			}
+
+			if ( PlanetaryDayData.calculateLunarRiseSet(julianDateAtDayStart, observerPosition, riseAndSet) ) {
+				this.lunarRise[i] = riseAndSet[0];
+				this.lunarSet[i] = riseAndSet[1];
+			} else {
+				this.lunarRise[i] = NO_RISE_SET;
+				this.lunarSet[i] = NO_RISE_SET;
+			}
+
+			this.lunarVisibility[i] = PlanetaryDayData.lunarVisibilityAt(julianDateAtNoon);
+			this.lunarLongitude[i] = PlanetaryDayData.lunarLongitudeAt(julianDateAtNoon);
+			this.zodiacSign[i] = (byte) ZodiacSign.of( this.lunarLongitude[i] ).ordinal();
+		}
+	}
+
+	private void calculateLunarPhases(final double visibilityBefore, final double visibilityAfter) {
+
+		for (int i = 0; i < this.size; i++) {
+
+			final double previous = i == 0 ? visibilityBefore : this.lunarVisibility[i - 1];
+			final double next = i == this.size - 1 ? visibilityAfter : this.lunarVisibility[i + 1];
+
+			this.lunarPhase[i] = (byte) LunarPhase.of( previous, this.lunarVisibility[i], next ).ordinal();
+		}
+	}
+
+	/** Works like counting in {@link CalendarData}: counters of days not enclosed by extremes stay unset on one side. */
+	private void countDaysToLunarExtremes() {
+
+		int counter = PlanetaryDayData.DAY_COUNT_NOT_CALCULATED;
+
+		for (int i = 0; i < this.size; i++) {
+			counter = this.isLunarExtreme(i) ? 0 : incrementDayCount(counter);
+			this.daysSinceLastMaxPhase[i] = counter;
+		}
+
+		counter = PlanetaryDayData.DAY_COUNT_NOT_CALCULATED;
+
+		for (int i = this.size - 1; i >= 0; i--) {
+			counter = this.isLunarExtreme(i) ? 0 : incrementDayCount(counter);
+			this.daysUntilNextMaxPhase[i] = counter;
+		}
+	}
+
+	private static int incrementDayCount(final int counter) {
+		return counter == PlanetaryDayData.DAY_COUNT_NOT_CALCULATED ? counter : counter + 1;
+	}
+
+	private boolean isLunarExtreme(final int index) {
+		return LUNAR_PHASES[ this.lunarPhase[index] ].isLunarExtreme();
+	}
+
+	/** @return the first day of this series */
+	public LocalDate getStart() {
+		return this.start;
+	}
+
+	/** @return the number of days contained */
+	public int size() {
+		return this.size;
+	}
+
+	/** @return the date of the day at given index */
+	public LocalDate getDate(final int index) {
+		return this.start.plusDays(index);
+	}
+
+	/*
+	 * The following getters return the internal arrays without copying them, so don't modify their contents.
+	 */
+
+	/** @return the ecliptic longitude of the Moon at noon of each day */
+	public double[] getLunarLongitudes() {
+		return this.lunarLongitude;
+	}
+
+	/** @return the lunar visibility at noon of each day, which is between 0 (new moon) and 1 (full moon) */
+	public double[] getLunarVisibilities() {
+		return this.lunarVisibility;
+	}
+
+	/** @return lunar rise as UTC epoch seconds or {@link #NO_RISE_SET} */
+	public long[] getLunarRises() {
+		return this.lunarRise;
+	}
+
+	/** @return lunar set as UTC epoch seconds or {@link #NO_RISE_SET} */
+	public long[] getLunarSets() {
+		return this.lunarSet;
+	}
+
+	/** @return solar rise as UTC epoch seconds or {@link #NO_RISE_SET} */
+	public long[] getSolarRises() {
+		return this.solarRise;
+	}
+
+	/** @return solar set as UTC epoch seconds or {@link #NO_RISE_SET} */
+	public long[] getSolarSets() {
+		return this.solarSet;
+	}
+
+	/** @return the {@link ZodiacSign#ordinal()} of each day */
+	public byte[] getZodiacSigns() {
+		return this.zodiacSign;
+	}
+
+	/** @return the {@link LunarPhase#ordinal()} of each day */
+	public byte[] getLunarPhases() {
+		return this.lunarPhase;
+	}
+
+	/** @return days since last full or new moon or {@link PlanetaryDayData#DAY_COUNT_NOT_CALCULATED} if no extreme precedes */
+	public int[] getDaysSinceLastMaxPhase() {
+		return this.daysSinceLastMaxPhase;
+	}
+
+	/** @return days until next full or new moon or {@link PlanetaryDayData#DAY_COUNT_NOT_CALCULATED} if no extreme follows */
+	public int[] getDaysUntilNextMaxPhase() {
+		return this.daysUntilNextMaxPhase;
+	}
+}
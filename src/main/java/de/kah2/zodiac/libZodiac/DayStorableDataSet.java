@@ -16,6 +16,43 @@ public interface DayStorableDataSet {
 
 	RiseSet getLunarRiseSet();
 
+	/*
+	 * The following methods allow exchanging rise and set times as primitives. Override them, if times are stored as epoch seconds
+	 * anyway - see DayStorableDataSetPojo.
+	 */
+
+	/**
+	 * @return solar rise as UTC epoch seconds or {@link RiseSet#NO_EVENT}
+	 */
+	default long getSolarRiseEpochSecond() {
+		final RiseSet riseSet = this.getSolarRiseSet();
+		return riseSet == null ? RiseSet.NO_EVENT : riseSet.getRiseEpochSecond();
+	}
+
+	/**
+	 * @return solar set as UTC epoch seconds or {@link RiseSet#NO_EVENT}
+	 */
+	default long getSolarSetEpochSecond() {
+		final RiseSet riseSet = this.getSolarRiseSet();
+		return riseSet == null ? RiseSet.NO_EVENT : riseSet.getSetEpochSecond();
+	}
+
+	/**
+	 * @return lunar rise as UTC epoch seconds or {@link RiseSet#NO_EVENT}
+	 */
+	default long getLunarRiseEpochSecond() {
+		final RiseSet riseSet = this.getLunarRiseSet();
+		return riseSet == null ? RiseSet.NO_EVENT : riseSet.getRiseEpochSecond();
+	}
+
+	/**
+	 * @return lunar set as UTC epoch seconds or {@link RiseSet#NO_EVENT}
+	 */
+	default long getLunarSetEpochSecond() {
+		final RiseSet riseSet = this.getLunarRiseSet();
+		return riseSet == null ? RiseSet.NO_EVENT : riseSet.getSetEpochSecond();
+	}
+
 	/**
 	 * @return the lunar visibility (value between 0 and 1)
 	 */
@@ -13,8 +13,8 @@ import java.time.LocalDate;
 public class DayStorableDataSetPojo implements DayStorableDataSet {
 
 	private LocalDate date;
-	private RiseSet solarRiseSet;
-	private RiseSet lunarRiseSet;
+	private long solarRise = RiseSet.NO_EVENT, solarSet = RiseSet.NO_EVENT;
+	private long lunarRise = RiseSet.NO_EVENT, lunarSet = RiseSet.NO_EVENT;
 
 	private double lunarVisibility;
 	private double lunarLongitude;
@@ -33,8 +33,8 @@ public class DayStorableDataSetPojo implements DayStorableDataSet {
 	public DayStorableDataSetPojo(final Day day) {
 		this.date = day.getDate();
 		final PlanetaryDayData data = day.getPlanetaryData();
-		this.solarRiseSet = data.getSolarRiseSet();
-		this.lunarRiseSet = data.getLunarRiseSet();
+		this.setSolarRiseSet( data.getSolarRiseSet() );
+		this.setLunarRiseSet( data.getLunarRiseSet() );
 		this.lunarVisibility = data.getLunarVisibility();
 		this.lunarLongitude = data.getLunarLongitude();
 	}
@@ -53,12 +53,32 @@ public class DayStorableDataSetPojo implements DayStorableDataSet {
 
 	@Override
 	public RiseSet getSolarRiseSet() {
-		return this.solarRiseSet;
+		return RiseSet.ofEpochSeconds(this.solarRise, this.solarSet);
 	}
 
 	@Override
 	public RiseSet getLunarRiseSet() {
-		return this.lunarRiseSet;
+		return RiseSet.ofEpochSeconds(this.lunarRise, this.lunarSet);
+	}
+
+	@Override
+	public long getSolarRiseEpochSecond() {
+		return this.solarRise;
+	}
+
+	@Override
+	public long getSolarSetEpochSecond() {
+		return this.solarSet;
+	}
+
+	@Override
+	public long getLunarRiseEpochSecond() {
+		return this.lunarRise;
+	}
+
+	@Override
+	public long getLunarSetEpochSecond() {
+		return this.lunarSet;
 	}
 
 	@Override
@@ -77,12 +97,32 @@ public class DayStorableDataSetPojo implements DayStorableDataSet {
 
 	protected void setSolarRiseSet( RiseSet solarRiseSet ) {
 
-		this.solarRiseSet = solarRiseSet;
+		if (solarRiseSet == null) {
+			this.setSolarRiseSet( RiseSet.NO_EVENT, RiseSet.NO_EVENT );
+		} else {
+			this.setSolarRiseSet( solarRiseSet.getRiseEpochSecond(), solarRiseSet.getSetEpochSecond() );
+		}
+	}
+
+	protected void setSolarRiseSet( long solarRise, long solarSet ) {
+
+		this.solarRise = solarRise;
+		this.solarSet = solarSet;
 	}
 
 	protected void setLunarRiseSet( RiseSet lunarRiseSet ) {
 
-		this.lunarRiseSet = lunarRiseSet;
+		if (lunarRiseSet == null) {
+			this.setLunarRiseSet( RiseSet.NO_EVENT, RiseSet.NO_EVENT );
+		} else {
+			this.setLunarRiseSet( lunarRiseSet.getRiseEpochSecond(), lunarRiseSet.getSetEpochSecond() );
+		}
+	}
+
+	protected void setLunarRiseSet( long lunarRise, long lunarSet ) {
+
+		this.lunarRise = lunarRise;
+		this.lunarSet = lunarSet;
 	}
 
 	protected void setLunarVisibility( double lunarVisibility ) {
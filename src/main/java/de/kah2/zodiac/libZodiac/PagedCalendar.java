@@ -0,0 +1,233 @@
+package de.kah2.zodiac.libZodiac;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+
+/**
+ * <p>A {@link Calendar} loading its days month by month when they are requested, so a stored calendar covering decades doesn't need
+ * to be imported completely. A month ("page") is loaded from a {@link CalendarPageSource} on first access through {@link #get(LocalDate)}
+ * or {@link #get(DateRange)}. Days missing in storage are generated afterwards - including the days needed by the {@link Scope} around
+ * the month.</p>
+ * <p>At most {@link #getMaxResidentPages()} pages are kept in memory. If another page is loaded, the least recently used one is
+ * removed - unless a neighbouring page is still resident, which needs its days for lunar phases and day counters.</p>
+ * <p>{@link #getRangeExpected()} is the range of the last loaded page. {@link #startGeneration()}, {@link #removeOverhead(boolean)} and
+ * {@link #getValidDays()} work with whole pages. This class isn't thread safe.</p>
+ *
+ * @author kahles
+ */
+public class PagedCalendar extends Calendar {
+
+	/** default for the maximum number of resident pages */
+	public final static int DEFAULT_MAX_RESIDENT_PAGES = 12;
+
+	private final CalendarPageSource pageSource;
+
+	private final int maxResidentPages;
+
+	// Access ordered, so the least recently used page comes first
+	private final LinkedHashMap<YearMonth, Boolean> residentPages = new LinkedHashMap<>(16, 0.75f, true);
+
+	/**
+	 * Creates an empty calendar - pages are loaded when they are requested.
+	 *
+	 * @param scope
+	 *            Allows to set the scope manually
+	 * @param locationProvider The {@link LocationProvider} that is needed for calculations
+	 * @param pageSource provides the stored days of a month
+	 * @param maxResidentPages maximum number of months kept in memory
+	 * @throws IllegalArgumentException if maxResidentPages is less than 1
+	 */
+	public PagedCalendar(final Scope scope, final LocationProvider locationProvider, final CalendarPageSource pageSource,
+						 final int maxResidentPages) {
+
+		super( rangeOf( YearMonth.now() ), scope, locationProvider );
+
+		if (maxResidentPages < 1) {
+			throw new IllegalArgumentException("At least one page must be resident.");
+		}
+
+		this.pageSource = pageSource;
+		this.maxResidentPages = maxResidentPages;
+	}
+
+	/**
+	 * Creates an empty calendar keeping at most {@link #DEFAULT_MAX_RESIDENT_PAGES} pages in memory - see
+	 * {@link #PagedCalendar(Scope, LocationProvider, CalendarPageSource, int)}.
+	 */
+	public PagedCalendar(final Scope scope, final LocationProvider locationProvider, final CalendarPageSource pageSource) {
+		this(scope, locationProvider, pageSource, DEFAULT_MAX_RESIDENT_PAGES);
+	}
+
+	/**
+	 * Loads the month of date, if it isn't resident.
+	 * @param date the date of the Day to return
+	 * @return The requested {@link Day}
+	 */
+	@Override
+	public Day get(final LocalDate date) {
+
+		this.loadPage( YearMonth.from(date) );
+
+		return super.get(date);
+	}
+
+	/**
+	 * Loads all months of range, which aren't resident.
+	 * @param range the dates of the days to return
+	 * @return the days of range in chronological order
+	 * @throws IllegalArgumentException if range covers more months than can be resident
+	 */
+	public LinkedList<Day> get(final DateRange range) {
+
+		this.loadPages(range);
+
+		final LinkedList<Day> days = new LinkedList<>();
+
+		for (LocalDate date : range) {
+
+			final Day day = super.get(date);
+
+			if (day != null) {
+				days.add(day);
+			}
+		}
+
+		return days;
+	}
+
+	/**
+	 * Loads all months of {@link #getRangeExpected()}, which aren't resident. Afterwards the expected range is the last loaded page.
+	 * @throws IllegalArgumentException if the expected range covers more months than can be resident
+	 */
+	@Override
+	public void startGeneration() {
+		this.loadPages( this.getRangeExpected() );
+	}
+
+	/**
+	 * Removes all resident pages before the month of {@link #getRangeExpected()} - and after it, if alsoDeleteFutureDays is set.
+	 * Removed pages are loaded again on next access.
+	 * @see Calendar#removeOverhead(boolean)
+	 */
+	@Override
+	public LinkedList<Day> removeOverhead(final boolean alsoDeleteFutureDays) {
+
+		final YearMonth expected = YearMonth.from( this.getRangeExpected().getStart() );
+
+		this.residentPages.keySet().removeIf( month ->
+				month.isBefore(expected) || (alsoDeleteFutureDays && month.isAfter(expected)) );
+
+		return super.removeOverhead(alsoDeleteFutureDays);
+	}
+
+	/**
+	 * Returns the days of all resident pages like {@link Calendar#getValidDays()} - since pages needn't be adjacent, gaps between them
+	 * are allowed.
+	 * @return all days of resident pages if Scope is set to DAY, or all of them containing lunar phase if other scope is selected.
+	 */
+	@Override
+	public LinkedList<Day> getValidDays() {
+
+		final LinkedList<Day> validDays = new LinkedList<>();
+
+		for (Day day : this.getAllDays()) {
+
+			if ( this.residentPages.containsKey( YearMonth.from( day.getDate() ) )
+					&& (this.getScope() == Scope.DAY || day.getPlanetaryData().getLunarPhase() != null) ) {
+				validDays.add(day);
+			}
+		}
+
+		return validDays;
+	}
+
+	private void loadPages(final DateRange range) {
+
+		final YearMonth first = YearMonth.from( range.getStart() );
+		final YearMonth last = YearMonth.from( range.getEnd() );
+
+		if ( !first.plusMonths(this.maxResidentPages).isAfter(last) ) {
+			throw new IllegalArgumentException( range + " covers more than " + this.maxResidentPages + " months." );
+		}
+
+		for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+			this.loadPage(month);
+		}
+	}
+
+	/** Imports the stored days of month, generates the missing ones and removes pages exceeding the limit. */
+	private void loadPage(final YearMonth month) {
+
+		if ( this.residentPages.get(month) != null ) {
+			// Marked as recently used
+			return;
+		}
+
+		this.importDays( this.pageSource.loadPage(month) );
+
+		final DateRange range = rangeOf(month);
+
+		this.setRangeExpected(range);
+		super.startGeneration();
+
+		final LinkedList<Day> generatedDays = new LinkedList<>();
+
+		for (Day day : this.getNewlyGenerated()) {
+			if ( YearMonth.from( day.getDate() ).equals(month) ) {
+				generatedDays.add(day);
+			}
+		}
+
+		if ( !generatedDays.isEmpty() ) {
+			this.pageSource.pageGenerated(month, generatedDays);
+		}
+
+		this.residentPages.put(month, Boolean.TRUE);
+
+		this.removeLeastRecentlyUsedPages();
+	}
+
+	private void removeLeastRecentlyUsedPages() {
+
+		final Iterator<YearMonth> leastRecentlyUsed = this.residentPages.keySet().iterator();
+
+		while (this.residentPages.size() > this.maxResidentPages) {
+
+			final YearMonth month = leastRecentlyUsed.next();
+			leastRecentlyUsed.remove();
+
+			// Days of neighbouring months might only have been kept as overhead of this month
+			this.removeIfNotNeeded( month.minusMonths(1) );
+			this.removeIfNotNeeded(month);
+			this.removeIfNotNeeded( month.plusMonths(1) );
+		}
+	}
+
+	/** Removes the days of month, if neither it nor one of its neighbours is resident. */
+	private void removeIfNotNeeded(final YearMonth month) {
+
+		if ( !this.residentPages.containsKey( month.minusMonths(1) )
+				&& !this.residentPages.containsKey(month)
+				&& !this.residentPages.containsKey( month.plusMonths(1) ) ) {
+
+			this.getDays().remove( rangeOf(month) );
+		}
+	}
+
+	private static DateRange rangeOf(final YearMonth month) {
+		return new DateRange( month.atDay(1), month.atEndOfMonth() );
+	}
+
+	/** @return true, if the days of month are loaded */
+	public boolean isResident(final YearMonth month) {
+		return this.residentPages.containsKey(month);
+	}
+
+	/** @return the maximum number of months kept in memory */
+	public int getMaxResidentPages() {
+		return this.maxResidentPages;
+	}
+}
@@ -39,6 +39,9 @@ public interface ProgressListener {
 		 */
 		COUNTING,
 
+		/** When moving an existing calendar to another location. See {@link Calendar#relocate(LocationProvider)}. */
+		RELOCATING,
+
 		/** When all is done */
 		FINISHED
 	}
@@ -49,21 +49,21 @@ class ProgressManager {
 				addEstimatedExtensions(2);
 
 			} else {
-				final LinkedList<Day> days = calendar.getDays().allAsList();
+				final CalendarData days = calendar.getDays();
 
 				// first and last can't have lunar phases
-				days.removeFirst();
-				days.removeLast();
+				final Day first = days.getNext( days.getFirst() );
+				final Day last = days.getPrevious( days.getLast() );
 
 				int estimatedExtensions = 0;
 
-				if (days.getFirst().getPlanetaryData().getLunarPhase() == null
-						|| !days.getFirst().getPlanetaryData().getLunarPhase().isLunarExtreme()) {
+				if (first == null || first.getPlanetaryData().getLunarPhase() == null
+						|| !first.getPlanetaryData().getLunarPhase().isLunarExtreme()) {
 					estimatedExtensions++;
 				}
 
-				if (days.getLast().getPlanetaryData().getLunarPhase() == null
-						|| !days.getLast().getPlanetaryData().getLunarPhase().isLunarExtreme()) {
+				if (last == null || last.getPlanetaryData().getLunarPhase() == null
+						|| !last.getPlanetaryData().getLunarPhase().isLunarExtreme()) {
 					estimatedExtensions++;
 				}
 
@@ -0,0 +1,132 @@
+package de.kah2.zodiac.libZodiac;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedList;
+
+/**
+ * <p>A {@link Calendar} containing a window of days around a moving date, e.g. "today minus 30 days to today plus 365 days".</p>
+ * <p>{@link #advance(int)} moves the window, removes days that aren't needed anymore and generates the missing ones. Since lunar
+ * phases and day counters are updated only around changed days, the work done is proportional to the number of days moved and not to
+ * the size of the window.</p>
+ * <p>After each generation the days following the window are calculated in background (see {@link #setPrefetchDays(int)}), so they
+ * are already available when the window is moved the next time.</p>
+ *
+ * @author kahles
+ */
+public class RollingCalendar extends Calendar {
+
+	/** default for {@link #setPrefetchDays(int)} */
+	public final static int DEFAULT_PREFETCH_DAYS = 7;
+
+	private final int daysBefore, daysAfter;
+
+	private LocalDate date;
+
+	private int prefetchDays = DEFAULT_PREFETCH_DAYS;
+
+	/**
+	 * Creates an empty calendar containing a window of days around date. Call {@link #startGeneration()} to initially generate it.
+	 *
+	 * @param date
+	 *            the date the window is positioned at, normally today
+	 * @param daysBefore
+	 *            number of days before date the window contains
+	 * @param daysAfter
+	 *            number of days after date the window contains
+	 * @param scope
+	 *            Allows to set the scope manually
+	 * @param locationProvider The {@link LocationProvider} that is needed for calculations
+	 */
+	public RollingCalendar(final LocalDate date, final int daysBefore, final int daysAfter, final Scope scope,
+						   final LocationProvider locationProvider) {
+
+		super( new DateRange( date.minusDays(daysBefore), date.plusDays(daysAfter) ), scope, locationProvider );
+
+		if (daysBefore < 0 || daysAfter < 0) {
+			throw new IllegalArgumentException("Window must not have a negative size.");
+		}
+
+		this.date = date;
+		this.daysBefore = daysBefore;
+		this.daysAfter = daysAfter;
+	}
+
+	/**
+	 * Generates missing data like {@link Calendar#startGeneration()} and starts prefetching the days following the window afterwards.
+	 */
+	@Override
+	public void startGeneration() {
+
+		super.startGeneration();
+
+		this.prefetch();
+	}
+
+	/**
+	 * Moves the window by given number of days, removes past days that aren't needed anymore and generates the missing ones.
+	 * Afterwards {@link #getNewlyGenerated()} returns the added days.
+	 *
+	 * @param numberOfDays the number of days to move the window forward
+	 * @return the removed days to be able to also delete them from storage - an empty list if nothing was removed.
+	 * @throws IllegalArgumentException if numberOfDays is negative
+	 */
+	public LinkedList<Day> advance(final int numberOfDays) {
+
+		if (numberOfDays < 0) {
+			throw new IllegalArgumentException("A rolling calendar can't be moved backwards.");
+		}
+
+		this.date = this.date.plusDays(numberOfDays);
+		this.setRangeExpected( new DateRange( this.date.minusDays(this.daysBefore), this.date.plusDays(this.daysAfter) ) );
+
+		final LinkedList<Day> removed = this.removeOverhead(false);
+
+		this.startGeneration();
+
+		return removed;
+	}
+
+	/**
+	 * Moves the window to given date - see {@link #advance(int)}.
+	 *
+	 * @param date the new date the window is positioned at, must not be before the actual one
+	 * @return the removed days to be able to also delete them from storage - an empty list if nothing was removed.
+	 */
+	public LinkedList<Day> advanceTo(final LocalDate date) {
+		return this.advance( (int) ChronoUnit.DAYS.between(this.date, date) );
+	}
+
+	/** Starts calculating the days after the last contained day in background. */
+	private void prefetch() {
+
+		if ( this.getDays().isEmpty() ) {
+			return;
+		}
+
+		final LocalDate lastContained = this.getDays().getLast().getDate();
+
+		// Prefetched days, which weren't used by now, were skipped by advancing the window
+		this.getGenerator().discardPrefetchedDaysBefore( lastContained.plusDays(1) );
+
+		if (this.prefetchDays < 1) {
+			return;
+		}
+
+		this.getGenerator().prefetch(
+				new DateRange( lastContained.plusDays(1), lastContained.plusDays(this.prefetchDays) ) );
+	}
+
+	/** @return the date the window is actually positioned at */
+	public LocalDate getDate() {
+		return this.date;
+	}
+
+	/**
+	 * @param prefetchDays number of days after the window to calculate in background - 0 disables prefetching. Default is
+	 * {@link #DEFAULT_PREFETCH_DAYS}.
+	 */
+	public void setPrefetchDays(final int prefetchDays) {
+		this.prefetchDays = prefetchDays;
+	}
+}
@@ -0,0 +1,64 @@
+package de.kah2.zodiac.libZodiac.interpretation;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the constants of an annotation enum and the names of every annotation bitmask used, so rendering annotations neither
+ * copies {@link Class#getEnumConstants()} nor calls {@link Enum#toString()} again.
+ */
+final class AnnotationNames {
+
+	/** Bitmasks per class, whose names are cached - enough for all combinations of 10 annotations */
+	private final static int MAX_CACHED_MASKS = 1024;
+
+	private final static Map<Class<?>, AnnotationNames> ofClass = new ConcurrentHashMap<>();
+
+	private final Enum<?>[] constants;
+
+	private final MemoizedResults<List<String>> names = new MemoizedResults<>();
+
+	private AnnotationNames(final Class<? extends Enum<?>> enumClass) {
+		this.constants = enumClass.getEnumConstants();
+	}
+
+	static AnnotationNames of(final Class<? extends Enum<?>> enumClass) {
+		return ofClass.computeIfAbsent( enumClass, c -> new AnnotationNames(enumClass) );
+	}
+
+	/** @return the constants of the enum - don't modify */
+	Enum<?>[] getConstants() {
+		return this.constants;
+	}
+
+	/** @return the unmodifiable names of the annotations contained in a bitmask, which isn't 0 - the same list for every call */
+	List<String> namesOf(final long annotations) {
+
+		final List<String> cached = this.names.get(annotations);
+
+		if (cached != null) {
+			return cached;
+		}
+
+		final String[] result = new String[ Long.bitCount(annotations) ];
+
+		int index = 0;
+		for (Enum<?> constant : this.constants) {
+			if ( (annotations & Interpreter.bitOf(constant)) != 0 ) {
+				result[index] = constant.toString();
+				index++;
+			}
+		}
+
+		final List<String> names = Collections.unmodifiableList( Arrays.asList(result) );
+
+		if (this.names.size() < MAX_CACHED_MASKS) {
+			this.names.putIfAbsent(annotations, names);
+		}
+
+		return names;
+	}
+}
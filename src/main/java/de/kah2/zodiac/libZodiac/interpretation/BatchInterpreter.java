@@ -0,0 +1,102 @@
+package de.kah2.zodiac.libZodiac.interpretation;
+
+import de.kah2.zodiac.libZodiac.Calendar;
+import de.kah2.zodiac.libZodiac.DateRange;
+import de.kah2.zodiac.libZodiac.Day;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * <p>Runs several {@link Interpreter}s over all days of a range at once, e.g. to find the best days to sow or harvest within a year.
+ * Days are interpreted in parallel chunks and the results are written to an {@link InterpretationTable} - no
+ * {@link Interpretation}-objects or annotation sets are created.</p>
+ * <p>Since interpreters keep no state, a BatchInterpreter can be used by several threads at once.</p>
+ *
+ * @author kahles
+ */
+public class BatchInterpreter {
+
+	/** Number of days interpreted in one chunk */
+	private final static int CHUNK_SIZE = 64;
+
+	private final Interpreter<?>[] interpreters;
+
+	/**
+	 * @param interpreters the interpreters to run - their index in this list is their index in the resulting
+	 *                     {@link InterpretationTable}
+	 */
+	public BatchInterpreter(final List<? extends Interpreter<?>> interpreters) {
+		this.interpreters = interpreters.toArray(new Interpreter<?>[0]);
+	}
+
+	/**
+	 * Interprets all days of range contained in calendar.
+	 * @param calendar the calendar containing the days
+	 * @param range the days to interpret - days not contained in calendar have no results
+	 * @return the resulting {@link InterpretationTable}
+	 * @throws java.util.ConcurrentModificationException If calculation of calendar isn't finished.
+	 */
+	public InterpretationTable interpret(final Calendar calendar, final DateRange range) {
+
+		// Fetched first, so calendar is only accessed by the calling thread
+		final Day[] days = new Day[ range.size() ];
+
+		int index = 0;
+		for (LocalDate date : range) {
+			days[index++] = calendar.get(date);
+		}
+
+		return this.interpret(range.getStart(), days);
+	}
+
+	/**
+	 * Interprets given days.
+	 * @param start the date of days[0]
+	 * @param days consecutive days - null for missing days
+	 * @return the resulting {@link InterpretationTable}
+	 */
+	InterpretationTable interpret(final LocalDate start, final Day[] days) {
+
+		final InterpretationTable table = new InterpretationTable(start, days.length, this.interpreters.length);
+
+		final int numberOfChunks = (days.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+		IntStream.range(0, numberOfChunks).parallel().forEach( chunk -> {
+
+			final int from = chunk * CHUNK_SIZE;
+			final int to = Math.min(from + CHUNK_SIZE, days.length);
+
+			this.interpretChunk(days, from, to, table);
+		});
+
+		return table;
+	}
+
+	/** Interprets the days from index "from" (inclusive) to "to" (exclusive). */
+	private void interpretChunk(final Day[] days, final int from, final int to, final InterpretationTable table) {
+
+		final byte[] qualities = table.getQualityOrdinals();
+		final long[] annotations = table.getAnnotationBits();
+
+		for (int day = from; day < to; day++) {
+
+			for (int interpreter = 0; interpreter < this.interpreters.length; interpreter++) {
+
+				final int index = table.indexOf(day, interpreter);
+
+				if (days[day] == null) {
+					qualities[index] = InterpretationTable.NO_QUALITY;
+				} else {
+					qualities[index] = (byte) this.interpreters[interpreter].interpret(days[day], annotations, index).ordinal();
+				}
+			}
+		}
+	}
+
+	/** @return the number of interpreters run for each day */
+	public int getNumberOfInterpreters() {
+		return this.interpreters.length;
+	}
+}
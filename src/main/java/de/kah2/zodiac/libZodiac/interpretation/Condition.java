@@ -0,0 +1,195 @@
+package de.kah2.zodiac.libZodiac.interpretation;
+
+import de.kah2.zodiac.libZodiac.planetary.LunarPhase;
+import de.kah2.zodiac.libZodiac.zodiac.ZodiacDirection;
+import de.kah2.zodiac.libZodiac.zodiac.ZodiacElement;
+import de.kah2.zodiac.libZodiac.zodiac.ZodiacSign;
+
+import java.time.Month;
+import java.time.MonthDay;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * <p>A condition of a rule of a {@link RuleTable}, e.g. <code>phase(INCREASING).and(plantPart(LEAF))</code>.</p>
+ * <p>Conditions on sign, element, plant part and direction are false for days without a zodiac sign, conditions on the phase are
+ * false for days without a lunar phase.</p>
+ *
+ * @author kahles
+ */
+public final class Condition {
+
+	private final Predicate<RuleTable.Case> test;
+
+	private final EnumSet<Interpreter.Dependency> dependencies;
+
+	/** The largest limit of {@link #daysSinceLastMaxPhaseBelow(int)} contained or 0 */
+	private final int daysSinceLimit;
+
+	/** The largest limit of {@link #daysUntilNextMaxPhaseBelow(int)} contained or 0 */
+	private final int daysUntilLimit;
+
+	private Condition(final Predicate<RuleTable.Case> test, final EnumSet<Interpreter.Dependency> dependencies,
+					  final int daysSinceLimit, final int daysUntilLimit) {
+		this.test = test;
+		this.dependencies = dependencies;
+		this.daysSinceLimit = daysSinceLimit;
+		this.daysUntilLimit = daysUntilLimit;
+	}
+
+	private static Condition of(final Predicate<RuleTable.Case> test, final Interpreter.Dependency... dependencies) {
+
+		final EnumSet<Interpreter.Dependency> set = EnumSet.noneOf(Interpreter.Dependency.class);
+		set.addAll( Arrays.asList(dependencies) );
+
+		return new Condition(test, set, 0, 0);
+	}
+
+	/** @return a condition, which is always true - e.g. for the last rule of a table */
+	public static Condition always() {
+		return of( c -> true );
+	}
+
+	/** @return a condition true for days having one of signs */
+	public static Condition sign(final ZodiacSign... signs) {
+
+		final List<ZodiacSign> list = List.of(signs);
+
+		return of( c -> c.sign != null && list.contains(c.sign), Interpreter.Dependency.ZODIAC_SIGN );
+	}
+
+	/** @return a condition true for days having a sign of one of elements */
+	public static Condition element(final ZodiacElement... elements) {
+
+		final List<ZodiacElement> list = List.of(elements);
+
+		return of( c -> c.sign != null && list.contains( ZodiacElement.of(c.sign) ), Interpreter.Dependency.ZODIAC_SIGN );
+	}
+
+	/** @return a condition true for days having a sign affecting one of plantParts */
+	public static Condition plantPart(final ZodiacElement.PlantPart... plantParts) {
+
+		final List<ZodiacElement.PlantPart> list = List.of(plantParts);
+
+		return of( c -> c.sign != null && list.contains( ZodiacElement.of(c.sign).getPlantPart() ),
+				Interpreter.Dependency.ZODIAC_SIGN );
+	}
+
+	/** @return a condition true for days having a sign of direction */
+	public static Condition direction(final ZodiacDirection direction) {
+		return of( c -> c.sign != null && ZodiacDirection.of(c.sign) == direction, Interpreter.Dependency.ZODIAC_SIGN );
+	}
+
+	/** @return a condition true for days having one of phases */
+	public static Condition phase(final LunarPhase... phases) {
+
+		final List<LunarPhase> list = List.of(phases);
+
+		return of( c -> c.phase != null && list.contains(c.phase), Interpreter.Dependency.LUNAR_PHASE );
+	}
+
+	/**
+	 * @return a condition true for days, whose {@link de.kah2.zodiac.libZodiac.planetary.PlanetaryDayData#getDaysSinceLastMaxPhase()}
+	 * is smaller than days
+	 * @throws IllegalArgumentException if days isn't between 1 and 63 - larger counts only occur if they aren't calculated
+	 */
+	public static Condition daysSinceLastMaxPhaseBelow(final int days) {
+
+		checkDayLimit(days);
+
+		return new Condition( c -> c.daysSinceLastMaxPhase < days,
+				EnumSet.of(Interpreter.Dependency.DAYS_SINCE_LAST_MAX_PHASE), days, 0 );
+	}
+
+	/**
+	 * @return a condition true for days, whose {@link de.kah2.zodiac.libZodiac.planetary.PlanetaryDayData#getDaysUntilNextMaxPhase()}
+	 * is smaller than days
+	 * @throws IllegalArgumentException if days isn't between 1 and 63 - larger counts only occur if they aren't calculated
+	 */
+	public static Condition daysUntilNextMaxPhaseBelow(final int days) {
+
+		checkDayLimit(days);
+
+		return new Condition( c -> c.daysUntilNextMaxPhase < days,
+				EnumSet.of(Interpreter.Dependency.DAYS_UNTIL_NEXT_MAX_PHASE), 0, days );
+	}
+
+	private static void checkDayLimit(final int days) {
+
+		if (days < 1 || days > Interpreter.MAX_DISTINGUISHED_DAY_COUNT) {
+			throw new IllegalArgumentException("Day limit must be between 1 and " + Interpreter.MAX_DISTINGUISHED_DAY_COUNT
+					+ ": " + days);
+		}
+	}
+
+	/** @return a condition true for dates in one of months */
+	public static Condition month(final Month... months) {
+
+		final List<Month> list = List.of(months);
+
+		return of( c -> list.contains( Month.of(c.month) ), Interpreter.Dependency.MONTH );
+	}
+
+	/** @return a condition true for dates on monthDay of every year */
+	public static Condition date(final MonthDay monthDay) {
+		return of( c -> c.month == monthDay.getMonthValue() && c.dayOfMonth == monthDay.getDayOfMonth(),
+				Interpreter.Dependency.MONTH, Interpreter.Dependency.DAY_OF_MONTH );
+	}
+
+	/** @return a condition true, if the quality decided by the rules before is better than quality - see {@link RuleTable} */
+	public static Condition qualityBetterThan(final Interpreter.Quality quality) {
+		return of( c -> c.quality.isBetterThan(quality) );
+	}
+
+	/** @return a condition true, if the quality decided by the rules before is worse than quality - see {@link RuleTable} */
+	public static Condition qualityWorseThan(final Interpreter.Quality quality) {
+		return of( c -> c.quality.isWorseThan(quality) );
+	}
+
+	/** @return a condition true, if the rules before added annotations */
+	public static Condition hasAnnotations() {
+		return of( c -> c.annotations != 0 );
+	}
+
+	/** @return a condition true, if this and other are true */
+	public Condition and(final Condition other) {
+		return this.combine( this.test.and(other.test), other );
+	}
+
+	/** @return a condition true, if this or other is true */
+	public Condition or(final Condition other) {
+		return this.combine( this.test.or(other.test), other );
+	}
+
+	/** @return a condition true, if this is false */
+	public Condition negate() {
+		return new Condition( this.test.negate(), this.dependencies, this.daysSinceLimit, this.daysUntilLimit );
+	}
+
+	private Condition combine(final Predicate<RuleTable.Case> test, final Condition other) {
+
+		final EnumSet<Interpreter.Dependency> dependencies = EnumSet.copyOf(this.dependencies);
+		dependencies.addAll(other.dependencies);
+
+		return new Condition( test, dependencies, Math.max(this.daysSinceLimit, other.daysSinceLimit),
+				Math.max(this.daysUntilLimit, other.daysUntilLimit) );
+	}
+
+	boolean test(final RuleTable.Case c) {
+		return this.test.test(c);
+	}
+
+	EnumSet<Interpreter.Dependency> getDependencies() {
+		return this.dependencies;
+	}
+
+	int getDaysSinceLimit() {
+		return this.daysSinceLimit;
+	}
+
+	int getDaysUntilLimit() {
+		return this.daysUntilLimit;
+	}
+}
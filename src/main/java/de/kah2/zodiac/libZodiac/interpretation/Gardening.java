@@ -3,6 +3,7 @@ package de.kah2.zodiac.libZodiac.interpretation;
 import de.kah2.zodiac.libZodiac.planetary.LunarPhase;
 
 import java.time.Month;
+import java.util.EnumSet;
 
 import static de.kah2.zodiac.libZodiac.zodiac.ZodiacDirection.ASCENDING;
 import static de.kah2.zodiac.libZodiac.zodiac.ZodiacDirection.DESCENDING;
@@ -27,6 +28,11 @@ public class Gardening {
 
         public enum Usage { TO_DRY, TO_CONSERVE, CONSUME_IMMEDIATELY }
 
+        @Override
+        protected EnumSet<Dependency> getDependencies() {
+            return EnumSet.of( Dependency.ZODIAC_SIGN, Dependency.LUNAR_PHASE );
+        }
+
         @Override
         protected Quality doInterpretation() {
 
@@ -90,6 +96,11 @@ public class Gardening {
      */
     public static class FertilizeInterpreter extends Interpreter<Plants>{
 
+        @Override
+        protected EnumSet<Dependency> getDependencies() {
+            return EnumSet.of( Dependency.ZODIAC_SIGN, Dependency.LUNAR_PHASE );
+        }
+
         @Override
         protected Quality doInterpretation() {
 
@@ -127,6 +138,11 @@ public class Gardening {
      */
     public static class MowLawnInterpreter extends Interpreter<Plants> {
 
+        @Override
+        protected EnumSet<Dependency> getDependencies() {
+            return EnumSet.of( Dependency.ZODIAC_SIGN, Dependency.LUNAR_PHASE );
+        }
+
         @Override
         protected Quality doInterpretation() {
 
@@ -149,6 +165,11 @@ public class Gardening {
      */
     public static class WaterInterpreter extends Interpreter<Plants> {
 
+        @Override
+        protected EnumSet<Dependency> getDependencies() {
+            return EnumSet.of( Dependency.ZODIAC_SIGN );
+        }
+
         @Override
         protected Quality doInterpretation() {
 
@@ -169,6 +190,12 @@ public class Gardening {
     public static class WeedControlInterpreter extends Interpreter<WeedControlInterpreter.Actions> {
 
         public enum Actions { DIG, WEED, WEED_BEFORE_NOON}
+
+        @Override
+        protected EnumSet<Dependency> getDependencies() {
+            return EnumSet.of( Dependency.ZODIAC_SIGN, Dependency.LUNAR_PHASE, Dependency.MONTH, Dependency.DAY_OF_MONTH );
+        }
+
         @Override
         protected Quality doInterpretation() {
 
@@ -207,6 +234,11 @@ public class Gardening {
      */
     public static class CuttingTransplantInterpreter extends Interpreter<Plants> {
 
+        @Override
+        protected EnumSet<Dependency> getDependencies() {
+            return EnumSet.of( Dependency.ZODIAC_SIGN, Dependency.LUNAR_PHASE );
+        }
+
         @Override
         protected Quality doInterpretation() {
 
@@ -228,6 +260,11 @@ public class Gardening {
      */
     public static class GraftInterpreter extends Interpreter<Plants> {
 
+        @Override
+        protected EnumSet<Dependency> getDependencies() {
+            return EnumSet.of( Dependency.ZODIAC_SIGN, Dependency.LUNAR_PHASE, Dependency.DAYS_UNTIL_NEXT_MAX_PHASE );
+        }
+
         @Override
         protected Quality doInterpretation() {
 
@@ -266,6 +303,11 @@ public class Gardening {
 
         public enum PlantCategory { FRUIT_TREES, SICK_PLANTS }
 
+        @Override
+        protected EnumSet<Dependency> getDependencies() {
+            return EnumSet.of( Dependency.ZODIAC_SIGN, Dependency.LUNAR_PHASE, Dependency.DAYS_UNTIL_NEXT_MAX_PHASE );
+        }
+
         @Override
         protected Quality doInterpretation() {
 
@@ -310,6 +352,11 @@ public class Gardening {
 
         public enum PestType { OVERTERRESTRIAL, SUBTERRESTRIAL, SLUGS }
 
+        @Override
+        protected EnumSet<Dependency> getDependencies() {
+            return EnumSet.of( Dependency.ZODIAC_SIGN, Dependency.LUNAR_PHASE );
+        }
+
         @Override
         protected Quality doInterpretation() {
 
@@ -349,6 +396,11 @@ public class Gardening {
      */
     public static class SowPlantInterpreter extends Interpreter<Plants> {
 
+        @Override
+        protected EnumSet<Dependency> getDependencies() {
+            return EnumSet.of( Dependency.ZODIAC_SIGN, Dependency.LUNAR_PHASE, Dependency.DAYS_SINCE_LAST_MAX_PHASE );
+        }
+
         @Override
         protected Quality doInterpretation() {
 
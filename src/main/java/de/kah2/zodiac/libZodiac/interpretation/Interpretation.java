@@ -0,0 +1,70 @@
+package de.kah2.zodiac.libZodiac.interpretation;
+
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * <p>The immutable result of {@link Interpreter#interpret(de.kah2.zodiac.libZodiac.Day)}: a {@link Interpreter.Quality} and the
+ * annotations added during interpretation.</p>
+ * <p>Annotations are kept as bitmask, where bit n is set, if the annotation with {@link Enum#ordinal()} n was added.</p>
+ *
+ * @param <T> the type of annotations
+ */
+public final class Interpretation<T extends Enum<T>> {
+
+	private final Interpreter.Quality quality;
+
+	private final long annotations;
+
+	/** null if no annotations were ever added by the interpreter */
+	private final Class<T> annotationClass;
+
+	Interpretation(final Interpreter.Quality quality, final long annotations, final Class<T> annotationClass) {
+		this.quality = quality;
+		this.annotations = annotations;
+		this.annotationClass = annotationClass;
+	}
+
+	/** @return the interpreted {@link Interpreter.Quality} */
+	public Interpreter.Quality getQuality() {
+		return this.quality;
+	}
+
+	/** @return the annotations as bitmask - see {@link Interpretation} */
+	public long getAnnotationBits() {
+		return this.annotations;
+	}
+
+	/** @return true, if annotation was added */
+	public boolean hasAnnotation(final T annotation) {
+		return (this.annotations & Interpreter.bitOf(annotation)) != 0;
+	}
+
+	/** @return Number of annotations added */
+	public int getAnnotationCount() {
+		return Long.bitCount(this.annotations);
+	}
+
+	/**
+	 * @param enumClass the class of annotations, needed if none are available
+	 * @return a new set containing the annotations
+	 */
+	public EnumSet<T> getAnnotations(final Class<T> enumClass) {
+		return Interpreter.toEnumSet(this.annotations, enumClass);
+	}
+
+	/**
+	 * @return the annotations as Strings
+	 */
+	public String[] getAnnotationsAsStringArray() {
+		return this.getAnnotationNames().toArray(new String[0]);
+	}
+
+	/**
+	 * Allocation free alternative to {@link #getAnnotationsAsStringArray()}.
+	 * @return the annotations as unmodifiable list of Strings - the same instance for all interpretations with equal annotations
+	 */
+	public List<String> getAnnotationNames() {
+		return Interpreter.namesOf(this.annotations, this.annotationClass);
+	}
+}
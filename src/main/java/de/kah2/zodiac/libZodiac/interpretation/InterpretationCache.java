@@ -0,0 +1,107 @@
+package de.kah2.zodiac.libZodiac.interpretation;
+
+import de.kah2.zodiac.libZodiac.Calendar;
+import de.kah2.zodiac.libZodiac.Day;
+import de.kah2.zodiac.libZodiac.ProgressListener;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Keeps the interpretation of every day of a {@link Calendar} once calculated, e.g. for a UI showing the same days again and
+ * again.</p>
+ * <p>The cache registers itself as {@link ProgressListener} and drops only the results of {@link Calendar#getChangedDates()}, when
+ * generation or import is finished - so extending a calendar by some days costs time proportional to the number of changed days
+ * instead of its size.</p>
+ * <p>This class is thread safe.</p>
+ *
+ * @author kahles
+ */
+public class InterpretationCache implements ProgressListener {
+
+	private final Calendar calendar;
+
+	/** Results per interpreter and date */
+	private final Map<Interpreter<?>, Map<LocalDate, Interpretation<?>>> results = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates an empty cache for the days of calendar.
+	 */
+	public InterpretationCache(final Calendar calendar) {
+
+		this.calendar = calendar;
+
+		calendar.addProgressListener(this);
+	}
+
+	@Override
+	public void onStateChanged(final State state) {
+
+		if (state == State.IMPORT_FINISHED || state == State.FINISHED) {
+			this.invalidate( this.calendar.getChangedDates() );
+		}
+	}
+
+	@Override
+	public void onCalculationProgress(final float percent) {}
+
+	/**
+	 * @return the cached interpretation of the day of date - it's interpreted, if it isn't cached yet - or null, if the calendar
+	 * doesn't contain it.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T extends Enum<T>> Interpretation<T> get(final Interpreter<T> interpreter, final LocalDate date) {
+
+		final Map<LocalDate, Interpretation<?>> resultsOfInterpreter =
+				this.results.computeIfAbsent( interpreter, i -> new ConcurrentHashMap<>() );
+
+		Interpretation<?> result = resultsOfInterpreter.get(date);
+
+		if (result == null) {
+
+			final Day day = this.calendar.get(date);
+
+			if (day == null) {
+				return null;
+			}
+
+			result = interpreter.interpret(day);
+			resultsOfInterpreter.put(date, result);
+		}
+
+		return (Interpretation<T>) result;
+	}
+
+	/**
+	 * Drops the results of given dates - called automatically for {@link Calendar#getChangedDates()}.
+	 */
+	public void invalidate(final Collection<LocalDate> dates) {
+
+		for (Map<LocalDate, Interpretation<?>> resultsOfInterpreter : this.results.values()) {
+			for (LocalDate date : dates) {
+				resultsOfInterpreter.remove(date);
+			}
+		}
+	}
+
+	/**
+	 * Drops all results.
+	 */
+	public void clear() {
+		this.results.clear();
+	}
+
+	/** @return the number of cached results of all interpreters */
+	public int size() {
+
+		int size = 0;
+
+		for (Map<LocalDate, Interpretation<?>> resultsOfInterpreter : this.results.values()) {
+			size += resultsOfInterpreter.size();
+		}
+
+		return size;
+	}
+}
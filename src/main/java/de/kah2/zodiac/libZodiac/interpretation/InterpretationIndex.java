@@ -0,0 +1,362 @@
+package de.kah2.zodiac.libZodiac.interpretation;
+
+import de.kah2.zodiac.libZodiac.Calendar;
+import de.kah2.zodiac.libZodiac.DateRange;
+import de.kah2.zodiac.libZodiac.Day;
+import de.kah2.zodiac.libZodiac.ProgressListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * <p>Answers questions like "the next 5 days best to fertilize fruit plants" without interpreting every day of a {@link Calendar}.
+ * For each interpreter the dates are indexed by {@link Interpreter.Quality} and by quality and annotation, so queries take time
+ * proportional to the number of results instead of the size of the calendar.</p>
+ * <p>The index registers itself as {@link ProgressListener} and updates itself when generation or import is finished: only the
+ * days of {@link Calendar#getChangedDates()} are interpreted again or removed.</p>
+ * <p>Only days having a lunar phase are indexed, except for {@link Calendar.Scope#DAY}. This class isn't thread safe - don't
+ * query it while a calendar is generated in background.</p>
+ *
+ * @author kahles
+ */
+public class InterpretationIndex implements ProgressListener {
+
+	private final static Interpreter.Quality[] QUALITIES = Interpreter.Quality.values();
+
+	private final Calendar calendar;
+
+	private final Interpreter<?>[] interpreters;
+
+	private final InterpreterIndex[] indexes;
+
+	/** The results of all interpreters per indexed date */
+	private final TreeMap<LocalDate, Interpretation<?>[]> results = new TreeMap<>();
+
+	/**
+	 * Creates an index of all days currently contained in calendar and keeps it up to date.
+	 * @param interpreters the interpreters whose results can be queried
+	 */
+	public InterpretationIndex(final Calendar calendar, final List<? extends Interpreter<?>> interpreters) {
+
+		this.calendar = calendar;
+		this.interpreters = interpreters.toArray(new Interpreter<?>[0]);
+		this.indexes = new InterpreterIndex[this.interpreters.length];
+
+		for (int i = 0; i < this.indexes.length; i++) {
+			this.indexes[i] = new InterpreterIndex();
+		}
+
+		this.rebuild();
+
+		calendar.addProgressListener(this);
+	}
+
+	@Override
+	public void onStateChanged(final State state) {
+
+		if (state == State.IMPORT_FINISHED || state == State.FINISHED) {
+			this.update();
+		}
+	}
+
+	@Override
+	public void onCalculationProgress(final float percent) {}
+
+	/**
+	 * Interprets all days of the calendar again.
+	 */
+	public void rebuild() {
+
+		for (LocalDate date : new ArrayList<>( this.results.keySet() )) {
+			this.remove(date);
+		}
+
+		for (Day day : this.calendar.getAllDays()) {
+			this.put(day);
+		}
+	}
+
+	/**
+	 * Interprets the days of {@link Calendar#getChangedDates()} again and removes the ones not contained anymore. Called
+	 * automatically, when generation or import is finished.
+	 */
+	public void update() {
+
+		for (LocalDate date : this.calendar.getChangedDates()) {
+
+			final Day day = this.calendar.get(date);
+
+			if (day == null) {
+				this.remove(date);
+			} else {
+				this.put(day);
+			}
+		}
+	}
+
+	private void put(final Day day) {
+
+		this.remove( day.getDate() );
+
+		if (this.calendar.getScope() != Calendar.Scope.DAY && day.getPlanetaryData().getLunarPhase() == null) {
+			return;
+		}
+
+		final Interpretation<?>[] interpretations = new Interpretation<?>[this.interpreters.length];
+
+		for (int i = 0; i < this.interpreters.length; i++) {
+			interpretations[i] = this.interpreters[i].interpret(day);
+			this.indexes[i].add( day.getDate(), interpretations[i] );
+		}
+
+		this.results.put( day.getDate(), interpretations );
+	}
+
+	private void remove(final LocalDate date) {
+
+		final Interpretation<?>[] interpretations = this.results.remove(date);
+
+		if (interpretations != null) {
+			for (int i = 0; i < this.interpreters.length; i++) {
+				this.indexes[i].remove( date, interpretations[i] );
+			}
+		}
+	}
+
+	/**
+	 * Finds days of range with at least minimum quality having all given annotations.
+	 * @param count the maximum number of dates to return
+	 * @return up to count dates in chronological order
+	 * @throws IllegalArgumentException if interpreter isn't indexed
+	 */
+	@SafeVarargs
+	public final <T extends Enum<T>> List<LocalDate> find(final Interpreter<T> interpreter, final Interpreter.Quality minimum,
+														 final DateRange range, final int count, final T... annotations) {
+
+		long requiredBits = 0;
+
+		for (T annotation : annotations) {
+			requiredBits |= Interpreter.bitOf(annotation);
+		}
+
+		return findMatching( this.indexOf(interpreter), minimum, range, count, requiredBits );
+	}
+
+	private static List<LocalDate> findMatching(final InterpreterIndex index, final Interpreter.Quality minimum,
+												final DateRange range, final int count, final long requiredBits) {
+
+		// One iterator per quality - the earliest date of all is the next result
+		final List<Iterator<LocalDate>> candidates = new ArrayList<>();
+		final List<LocalDate> heads = new ArrayList<>();
+
+		for (int quality = minimum.ordinal(); quality < QUALITIES.length; quality++) {
+
+			final Iterator<LocalDate> iterator = index.datesOf(quality, requiredBits)
+					.subSet( range.getStart(), true, range.getEnd(), true ).iterator();
+
+			candidates.add(iterator);
+			heads.add( iterator.hasNext() ? iterator.next() : null );
+		}
+
+		final List<LocalDate> found = new ArrayList<>();
+
+		while (found.size() < count) {
+
+			int earliest = -1;
+
+			for (int i = 0; i < heads.size(); i++) {
+				if ( heads.get(i) != null && (earliest < 0 || heads.get(i).isBefore( heads.get(earliest) )) ) {
+					earliest = i;
+				}
+			}
+
+			if (earliest < 0) {
+				break;
+			}
+
+			final LocalDate date = heads.get(earliest);
+
+			if ( index.hasAnnotations(date, requiredBits) ) {
+				found.add(date);
+			}
+
+			final Iterator<LocalDate> iterator = candidates.get(earliest);
+			heads.set( earliest, iterator.hasNext() ? iterator.next() : null );
+		}
+
+		return found;
+	}
+
+	/**
+	 * Finds the first day after date with at least minimum quality having all given annotations.
+	 * @return the date found or null, if no indexed day matches
+	 * @throws IllegalArgumentException if interpreter isn't indexed
+	 */
+	@SafeVarargs
+	public final <T extends Enum<T>> LocalDate findNext(final Interpreter<T> interpreter, final Interpreter.Quality minimum,
+													   final LocalDate date, final T... annotations) {
+
+		if ( this.results.isEmpty() || !this.results.lastKey().isAfter(date) ) {
+			return null;
+		}
+
+		long requiredBits = 0;
+
+		for (T annotation : annotations) {
+			requiredBits |= Interpreter.bitOf(annotation);
+		}
+
+		final List<LocalDate> found = findMatching( this.indexOf(interpreter), minimum,
+				new DateRange( date.plusDays(1), this.results.lastKey() ), 1, requiredBits );
+
+		return found.isEmpty() ? null : found.get(0);
+	}
+
+	/**
+	 * Finds the best days of range having all given annotations.
+	 * @param count the maximum number of dates to return
+	 * @return up to count dates ordered by quality (best first) and date
+	 * @throws IllegalArgumentException if interpreter isn't indexed
+	 */
+	@SafeVarargs
+	public final <T extends Enum<T>> List<LocalDate> findBest(final Interpreter<T> interpreter, final DateRange range,
+															 final int count, final T... annotations) {
+
+		final InterpreterIndex index = this.indexOf(interpreter);
+
+		long requiredBits = 0;
+
+		for (T annotation : annotations) {
+			requiredBits |= Interpreter.bitOf(annotation);
+		}
+
+		final List<LocalDate> found = new ArrayList<>();
+
+		for (int quality = QUALITIES.length - 1; quality >= 0 && found.size() < count; quality--) {
+
+			for (LocalDate date : index.datesOf(quality, requiredBits).subSet( range.getStart(), true, range.getEnd(), true )) {
+
+				if (found.size() == count) {
+					break;
+				}
+
+				if ( index.hasAnnotations(date, requiredBits) ) {
+					found.add(date);
+				}
+			}
+		}
+
+		return found;
+	}
+
+	/**
+	 * @return the indexed result of interpreter for date or null, if the date isn't indexed
+	 * @throws IllegalArgumentException if interpreter isn't indexed
+	 */
+	@SuppressWarnings("unchecked")
+	public <T extends Enum<T>> Interpretation<T> get(final Interpreter<T> interpreter, final LocalDate date) {
+
+		final int position = this.positionOf(interpreter);
+		final Interpretation<?>[] interpretations = this.results.get(date);
+
+		return interpretations == null ? null : (Interpretation<T>) interpretations[position];
+	}
+
+	/** @return the number of indexed days */
+	public int size() {
+		return this.results.size();
+	}
+
+	private InterpreterIndex indexOf(final Interpreter<?> interpreter) {
+		return this.indexes[ this.positionOf(interpreter) ];
+	}
+
+	private int positionOf(final Interpreter<?> interpreter) {
+
+		for (int i = 0; i < this.interpreters.length; i++) {
+			if (this.interpreters[i] == interpreter) {
+				return i;
+			}
+		}
+
+		throw new IllegalArgumentException("Interpreter isn't indexed: " + interpreter.getClass().getName());
+	}
+
+	/**
+	 * The dates indexed for one interpreter.
+	 */
+	private static class InterpreterIndex {
+
+		/** All dates per quality ordinal */
+		private final List<NavigableSet<LocalDate>> byQuality = new ArrayList<>();
+
+		/** Dates per quality ordinal and annotation ordinal - created when the first date is added */
+		private final List<Map<Integer, NavigableSet<LocalDate>>> byQualityAndAnnotation = new ArrayList<>();
+
+		/** The annotations of every indexed date */
+		private final TreeMap<LocalDate, Long> annotations = new TreeMap<>();
+
+		InterpreterIndex() {
+			for (int quality = 0; quality < QUALITIES.length; quality++) {
+				this.byQuality.add( new TreeSet<>() );
+				this.byQualityAndAnnotation.add( new TreeMap<>() );
+			}
+		}
+
+		void add(final LocalDate date, final Interpretation<?> interpretation) {
+
+			final int quality = interpretation.getQuality().ordinal();
+			final long bits = interpretation.getAnnotationBits();
+
+			this.byQuality.get(quality).add(date);
+			this.annotations.put(date, bits);
+
+			for (int ordinal = 0; ordinal <= Interpreter.MAX_ANNOTATION_ORDINAL; ordinal++) {
+				if ( (bits & (1L << ordinal)) != 0 ) {
+					this.byQualityAndAnnotation.get(quality).computeIfAbsent( ordinal, o -> new TreeSet<>() ).add(date);
+				}
+			}
+		}
+
+		void remove(final LocalDate date, final Interpretation<?> interpretation) {
+
+			final int quality = interpretation.getQuality().ordinal();
+			final long bits = interpretation.getAnnotationBits();
+
+			this.byQuality.get(quality).remove(date);
+			this.annotations.remove(date);
+
+			for (int ordinal = 0; ordinal <= Interpreter.MAX_ANNOTATION_ORDINAL; ordinal++) {
+				if ( (bits & (1L << ordinal)) != 0 ) {
+					this.byQualityAndAnnotation.get(quality).get(ordinal).remove(date);
+				}
+			}
+		}
+
+		/**
+		 * @return the dates of quality having the lowest required annotation - the others need to be checked by
+		 * {@link #hasAnnotations(LocalDate, long)}
+		 */
+		NavigableSet<LocalDate> datesOf(final int quality, final long requiredBits) {
+
+			if (requiredBits == 0) {
+				return this.byQuality.get(quality);
+			}
+
+			final NavigableSet<LocalDate> dates =
+					this.byQualityAndAnnotation.get(quality).get( Long.numberOfTrailingZeros(requiredBits) );
+
+			return dates == null ? new TreeSet<>() : dates;
+		}
+
+		boolean hasAnnotations(final LocalDate date, final long requiredBits) {
+			return (this.annotations.get(date) & requiredBits) == requiredBits;
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package de.kah2.zodiac.libZodiac.interpretation;
+
+import java.time.LocalDate;
+
+/**
+ * <p>The results of a {@link BatchInterpreter} in two flat arrays: one {@link Interpreter.Quality#ordinal()} and one annotation
+ * bitmask (see {@link Interpretation}) per interpreter and day. The results of a day are stored next to each other - see
+ * {@link #indexOf(int, int)}.</p>
+ *
+ * @author kahles
+ */
+public class InterpretationTable {
+
+	/** Quality ordinal of days, which weren't contained in the calendar */
+	public final static byte NO_QUALITY = -1;
+
+	private final static Interpreter.Quality[] QUALITIES = Interpreter.Quality.values();
+
+	private final LocalDate start;
+	private final int numberOfDays, numberOfInterpreters;
+
+	private final byte[] qualities;
+	private final long[] annotations;
+
+	InterpretationTable(final LocalDate start, final int numberOfDays, final int numberOfInterpreters) {
+
+		this.start = start;
+		this.numberOfDays = numberOfDays;
+		this.numberOfInterpreters = numberOfInterpreters;
+
+		this.qualities = new byte[numberOfDays * numberOfInterpreters];
+		this.annotations = new long[numberOfDays * numberOfInterpreters];
+	}
+
+	/** @return the index of the results of an interpreter for a day in the arrays */
+	public int indexOf(final int day, final int interpreter) {
+		return day * this.numberOfInterpreters + interpreter;
+	}
+
+	/** @return the index of date relative to {@link #getStart()} */
+	public int dayOf(final LocalDate date) {
+		return (int) (date.toEpochDay() - this.start.toEpochDay());
+	}
+
+	/** @return the date of the day at given index */
+	public LocalDate getDate(final int day) {
+		return this.start.plusDays(day);
+	}
+
+	/** @return the {@link Interpreter.Quality} or null, if the day wasn't contained */
+	public Interpreter.Quality getQuality(final int day, final int interpreter) {
+
+		final byte ordinal = this.qualities[ this.indexOf(day, interpreter) ];
+
+		return ordinal == NO_QUALITY ? null : QUALITIES[ordinal];
+	}
+
+	/** @return the annotations as bitmask - see {@link Interpretation} */
+	public long getAnnotationBits(final int day, final int interpreter) {
+		return this.annotations[ this.indexOf(day, interpreter) ];
+	}
+
+	/** @return the first day */
+	public LocalDate getStart() {
+		return this.start;
+	}
+
+	/** @return the number of days */
+	public int getNumberOfDays() {
+		return this.numberOfDays;
+	}
+
+	/** @return the number of interpreters */
+	public int getNumberOfInterpreters() {
+		return this.numberOfInterpreters;
+	}
+
+	/*
+	 * The following getters return the internal arrays without copying them, so only BatchInterpreter may fill them - the table is
+	 * read-only for everyone else.
+	 */
+
+	/** @return {@link Interpreter.Quality#ordinal()} or {@link #NO_QUALITY} for each day and interpreter */
+	byte[] getQualityOrdinals() {
+		return this.qualities;
+	}
+
+	/** @return the annotation bitmask for each day and interpreter */
+	long[] getAnnotationBits() {
+		return this.annotations;
+	}
+}
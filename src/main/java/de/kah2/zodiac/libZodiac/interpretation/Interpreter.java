@@ -5,12 +5,15 @@ import de.kah2.zodiac.libZodiac.planetary.PlanetaryDayData;
 import de.kah2.zodiac.libZodiac.zodiac.ZodiacDayData;
 
 import java.util.EnumSet;
+import java.util.List;
 
 /**
  * <p>This is the base class for all Interpreters, which contains the logic to interpret zodiac data.</p>
  * <p>To write an own interpreter just extend this class and override {@link #getQuality()}.</p>
  * <p>To get an interpretation, just create the desired Interpreter-Object and pass a calculated {@link Day}-instance to
- * {@link #setDayAndInterpret(Day)}.</p>
+ * {@link #interpret(Day)}. Interpreters keep no state between interpretations, so one instance can be shared by all threads.</p>
+ * <p>Interpreters overriding {@link #getDependencies()} remember their results per combination of the declared data, so a day
+ * having the same state as one interpreted before is looked up instead of interpreted again.</p>
  */
 public abstract class Interpreter<T extends Enum<T>> {
 
@@ -32,57 +35,272 @@ public abstract class Interpreter<T extends Enum<T>> {
 		}
 	}
 
-	private Day today;
+	/** The data of a day an interpretation can depend on - see {@link #getDependencies()}. */
+	public enum Dependency {
 
-	private Quality quality = null;
+		/** The {@link de.kah2.zodiac.libZodiac.zodiac.ZodiacSign} - also covers element and direction derived from it */
+		ZODIAC_SIGN,
 
-	private EnumSet<T> annotations;
+		/** The {@link de.kah2.zodiac.libZodiac.planetary.LunarPhase} */
+		LUNAR_PHASE,
+
+		/** {@link PlanetaryDayData#getDaysSinceLastMaxPhase()} */
+		DAYS_SINCE_LAST_MAX_PHASE,
+
+		/** {@link PlanetaryDayData#getDaysUntilNextMaxPhase()} */
+		DAYS_UNTIL_NEXT_MAX_PHASE,
+
+		/** The month of the date */
+		MONTH,
+
+		/** The day of month of the date */
+		DAY_OF_MONTH
+	}
+
+	/** Largest {@link Enum#ordinal()} an annotation can have, because annotations are kept as bits of a long */
+	public final static int MAX_ANNOTATION_ORDINAL = Long.SIZE - 1;
+
+	/**
+	 * Day counters up to this value are distinguished when remembering results - larger ones only occur if they aren't calculated,
+	 * since lunar extremes are about 15 days apart.
+	 */
+	final static int MAX_DISTINGUISHED_DAY_COUNT = 63;
+
+	/** Value of {@link #dependencyMask} before {@link #getDependencies()} was called */
+	private final static int DEPENDENCIES_UNKNOWN = -2;
+
+	/** Value of {@link #dependencyMask} for interpreters, whose results aren't remembered */
+	private final static int NOT_MEMOIZED = -1;
 
 	/**
-	 * Sets the day to interpret and runs interpretation.
+	 * The state of an interpretation running on the current thread - so one interpreter can be used by several threads at once.
+	 */
+	private final static class State {
+
+		private Day today;
+
+		private Quality quality = null;
+
+		private long annotations = 0;
+	}
+
+	private final ThreadLocal<State> state = ThreadLocal.withInitial(State::new);
+
+	/** Learned when the first annotation is added, because type parameters aren't available at runtime */
+	private volatile Class<T> annotationClass = null;
+
+	/** Bits of the {@link Dependency}-ordinals returned by {@link #getDependencies()} */
+	private volatile int dependencyMask = DEPENDENCIES_UNKNOWN;
+
+	/** Results per state key - see {@link #stateKeyOf(Day, int)} */
+	private final MemoizedResults<Interpretation<T>> memoizedResults = new MemoizedResults<>();
+
+	/**
+	 * <p>Interprets a day and returns the result - the interpreter keeps no state between calls, so one instance can be used by
+	 * several threads at once.</p>
 	 * @param dayToInterpret a {@link Day}-object containing the data to do interpretations with
+	 * @return the resulting {@link Interpretation}
 	 */
-	public final void setDayAndInterpret(final Day dayToInterpret) {
+	public final Interpretation<T> interpret(final Day dayToInterpret) {
+
+		final State state = this.state.get();
+
+		final Interpretation<T> memoized = this.interpret(state, dayToInterpret);
+
+		if (memoized != null) {
+			return memoized;
+		}
+
+		return new Interpretation<>(state.quality, state.annotations, this.annotationClass);
+	}
+
+	/**
+	 * Interprets a day without creating an {@link Interpretation} - used by {@link BatchInterpreter}.
+	 * @return the resulting {@link Quality} - annotations are written to annotations[index].
+	 */
+	final Quality interpret(final Day dayToInterpret, final long[] annotations, final int index) {
+
+		final State state = this.state.get();
+
+		this.interpret(state, dayToInterpret);
+
+		annotations[index] = state.annotations;
 
-		this.today = dayToInterpret;
+		return state.quality;
+	}
+
+	/**
+	 * Interprets a day or looks up the result of a day with the same state.
+	 * @return the remembered result or null, if results of this interpreter aren't remembered
+	 */
+	private Interpretation<T> interpret(final State state, final Day dayToInterpret) {
+
+		state.quality = null;
+		// Annotations of the day interpreted before must not be kept
+		state.annotations = 0;
+
+		final int dependencyMask = this.getDependencyMask();
+
+		if (dependencyMask == NOT_MEMOIZED) {
+			this.doInterpretation(state, dayToInterpret);
+			return null;
+		}
+
+		final int key = stateKeyOf(dayToInterpret, dependencyMask);
 
-		this.quality = this.doInterpretation();
+		Interpretation<T> result = this.memoizedResults.get(key);
 
-		if (this.quality == null) {
+		if (result == null) {
+
+			this.doInterpretation(state, dayToInterpret);
+
+			result = new Interpretation<>(state.quality, state.annotations, this.annotationClass);
+			this.memoizedResults.putIfAbsent(key, result);
+
+		} else {
+
+			state.quality = result.getQuality();
+			state.annotations = result.getAnnotationBits();
+		}
+
+		return result;
+	}
+
+	private void doInterpretation(final State state, final Day dayToInterpret) {
+
+		state.today = dayToInterpret;
+
+		try {
+			state.quality = this.doInterpretation();
+		} finally {
+			// Pooled threads would keep the day reachable otherwise
+			state.today = null;
+		}
+
+		if (state.quality == null) {
 			throw new RuntimeException("Bad interpreter - interpreter must not return null.");
 		}
 	}
 
+	private int getDependencyMask() {
+
+		if (this.dependencyMask == DEPENDENCIES_UNKNOWN) {
+
+			final EnumSet<Dependency> dependencies = this.getDependencies();
+
+			int mask = NOT_MEMOIZED;
+
+			if (dependencies != null) {
+
+				mask = 0;
+
+				for (Dependency dependency : dependencies) {
+					mask |= 1 << dependency.ordinal();
+				}
+			}
+
+			this.dependencyMask = mask;
+		}
+
+		return this.dependencyMask;
+	}
+
+	/**
+	 * Combines the data of day, which is selected by dependencyMask, to a key. Days with the same key get the same result from an
+	 * interpreter declaring these dependencies.
+	 */
+	static int stateKeyOf(final Day day, final int dependencyMask) {
+
+		int key = 0;
+
+		if ( (dependencyMask & (1 << Dependency.ZODIAC_SIGN.ordinal())) != 0 ) {
+			// 0 for days without a sign
+			key |= day.getZodiacSignOrdinal() + 1;
+		}
+
+		final PlanetaryDayData planetary = day.getPlanetaryData();
+
+		if ( (dependencyMask & (1 << Dependency.LUNAR_PHASE.ordinal())) != 0 && planetary.getLunarPhase() != null ) {
+			key |= (planetary.getLunarPhase().ordinal() + 1) << 4;
+		}
+
+		if ( (dependencyMask & (1 << Dependency.DAYS_SINCE_LAST_MAX_PHASE.ordinal())) != 0 ) {
+			key |= Math.min( planetary.getDaysSinceLastMaxPhase(), MAX_DISTINGUISHED_DAY_COUNT ) << 7;
+		}
+
+		if ( (dependencyMask & (1 << Dependency.DAYS_UNTIL_NEXT_MAX_PHASE.ordinal())) != 0 ) {
+			key |= Math.min( planetary.getDaysUntilNextMaxPhase(), MAX_DISTINGUISHED_DAY_COUNT ) << 13;
+		}
+
+		if ( (dependencyMask & (1 << Dependency.MONTH.ordinal())) != 0 ) {
+			key |= day.getDate().getMonthValue() << 19;
+		}
+
+		if ( (dependencyMask & (1 << Dependency.DAY_OF_MONTH.ordinal())) != 0 ) {
+			key |= day.getDate().getDayOfMonth() << 23;
+		}
+
+		return key;
+	}
+
+	/**
+	 * <p>Sets the day to interpret and runs interpretation. The results can be fetched by {@link #getQuality()} and
+	 * {@link #getAnnotations(Class)} on the same thread afterwards.</p>
+	 * <p>Use {@link #interpret(Day)} to share an interpreter between threads.</p>
+	 * @param dayToInterpret a {@link Day}-object containing the data to do interpretations with
+	 */
+	public final void setDayAndInterpret(final Day dayToInterpret) {
+		this.interpret(this.state.get(), dayToInterpret);
+	}
+
 	/**
 	 * <p>Implement this method to do some interpretation. Use {@link #getToday()} to
 	 * access the information available about the actual day. There are also shortcuts {@link #getPlanetary()} and {@link #getZodiac()} for
 	 * actual data.</p>
 	 * <p>By calling {@link #addAnnotation(Enum)} it is possible to add additional information. For an example, see
 	 * {@link Gardening.SowPlantInterpreter}.</p>
+	 * <p>Don't keep any state in fields of implementations, since interpreters can be used by several threads at once.</p>
 	 * @return the resulting {@link Quality} for this day
 	 */
 	protected abstract Quality doInterpretation();
 
+	/**
+	 * <p>Override this method to declare all data of a day {@link #doInterpretation()} depends on. Results are then remembered per
+	 * combination of these values, so interpreting further days with the same values is a lookup.</p>
+	 * <p>Only declare dependencies, if the interpretation uses nothing else - e.g. no rise and set times, no year and no
+	 * neighbouring days. Otherwise remembered results get returned for days they don't belong to.</p>
+	 * <p>Called once, when the first day is interpreted.</p>
+	 * @return the data the interpretation depends on or null, if results shouldn't be remembered (default)
+	 */
+	protected EnumSet<Dependency> getDependencies() {
+		return null;
+	}
+
+	/** @return the number of remembered results - only for testing purposes */
+	final int getNumberOfMemoizedResults() {
+		return this.memoizedResults.size();
+	}
+
 	/** @return The actual {@link Day} to interpret. */
 	protected final Day getToday() {
-		return this.today;
+		return this.state.get().today;
 	}
 
 	/**
 	 * A shortcut to access {@link ZodiacDayData} of actual Day available through {@link #getToday()}.
 	 * @return the {@link ZodiacDayData} of the actual day
 	 */
-	protected final ZodiacDayData getZodiac() { return this.today.getZodiacData(); }
+	protected final ZodiacDayData getZodiac() { return this.getToday().getZodiacData(); }
 
 	/**
 	 * A shortcut to access {@link PlanetaryDayData} of actual Day available through {@link #getToday()}.
 	 * @return the {@link PlanetaryDayData} of the actual Day
 	 */
-	protected final PlanetaryDayData getPlanetary() { return this.today.getPlanetaryData(); }
+	protected final PlanetaryDayData getPlanetary() { return this.getToday().getPlanetaryData(); }
 
-	/** @return the interpreted {@link Quality} of this day. */
+	/** @return the {@link Quality} interpreted by the last call of {@link #setDayAndInterpret(Day)} on this thread. */
 	public final Quality getQuality() {
-		return this.quality;
+		return this.state.get().quality;
 	}
 
 	/**
@@ -90,23 +308,31 @@ public abstract class Interpreter<T extends Enum<T>> {
 	 */
 	protected final void addAnnotation(T annotation) {
 
-		// Since we first know the contained type when we get an object of this type, we initialize the EnumSet here.
-		if (this.annotations == null) {
-			this.annotations = EnumSet.of(annotation);
-		} else {
-			this.annotations.add(annotation);
+		if (this.annotationClass == null) {
+			this.annotationClass = annotation.getDeclaringClass();
+		}
+
+		this.state.get().annotations |= bitOf(annotation);
+	}
+
+	/**
+	 * Adds several annotations at once - used by {@link RuleInterpreter}.
+	 * @param bits the annotations as bitmask - see {@link #getAnnotationBits()}
+	 */
+	final void addAnnotationBits(final long bits, final Class<T> annotationClass) {
+
+		if (this.annotationClass == null) {
+			this.annotationClass = annotationClass;
 		}
+
+		this.state.get().annotations |= bits;
 	}
 
 	/**
 	 * @return Number of annotations set
 	 */
 	protected final int getAnnotationCount() {
-
-		if (this.annotations == null)
-			return 0;
-		else
-			return annotations.size();
+		return Long.bitCount( this.state.get().annotations );
 	}
 
 	/**
@@ -114,36 +340,74 @@ public abstract class Interpreter<T extends Enum<T>> {
 	 * @return a copy of the selected annotations to avoid modification from outside
 	 */
 	public final EnumSet<T> getAnnotations(Class<T> enumClass) {
-
-		if (annotations == null) {
-			return EnumSet.noneOf(enumClass);
-		}
-
-		return EnumSet.copyOf( this.annotations );
+		return toEnumSet( this.state.get().annotations, enumClass );
 	}
 
 	/**
 	 * @return the annotations as Strings
 	 */
 	public final String[] getAnnotationsAsStringArray() {
+		return this.getAnnotationNames().toArray(new String[0]);
+	}
 
-		if (annotations == null) {
-			return new String[0];
+	/**
+	 * @return the annotations as bitmask, where bit n is set, if the annotation with {@link Enum#ordinal()} n was added
+	 */
+	public final long getAnnotationBits() {
+		return this.state.get().annotations;
+	}
+
+	/**
+	 * Allocation free alternative to {@link #getAnnotationsAsStringArray()}.
+	 * @return the annotations as unmodifiable list of Strings - the same instance for every interpretation with equal annotations
+	 */
+	public final List<String> getAnnotationNames() {
+		return namesOf( this.state.get().annotations, this.annotationClass );
+	}
+
+	/** Only for testing purposes */
+	final EnumSet<T> getContainedAnnotations() {
+
+		final long annotations = this.state.get().annotations;
+
+		return annotations == 0 ? null : toEnumSet(annotations, this.annotationClass);
+	}
+
+	/**
+	 * @return the bit representing annotation in a bitmask
+	 * @throws IllegalArgumentException if the ordinal of annotation is larger than {@link #MAX_ANNOTATION_ORDINAL}
+	 */
+	static long bitOf(final Enum<?> annotation) {
+
+		if (annotation.ordinal() > MAX_ANNOTATION_ORDINAL) {
+			throw new IllegalArgumentException("Annotation " + annotation + " has an ordinal > " + MAX_ANNOTATION_ORDINAL);
 		}
 
-		final String[] result = new String[this.annotations.size()];
+		return 1L << annotation.ordinal();
+	}
 
-		int index=0;
-		for (Object o : this.annotations) {
-			result[index] = o.toString();
-			index++;
+	static <T extends Enum<T>> EnumSet<T> toEnumSet(final long annotations, final Class<T> enumClass) {
+
+		final EnumSet<T> set = EnumSet.noneOf(enumClass);
+
+		if (annotations != 0) {
+			for (Enum<?> constant : AnnotationNames.of(enumClass).getConstants()) {
+				if ( (annotations & bitOf(constant)) != 0 ) {
+					set.add( enumClass.cast(constant) );
+				}
+			}
 		}
 
-		return result;
+		return set;
 	}
 
-	/** Only for testing purposes */
-	final EnumSet<T> getContainedAnnotations() {
-		return this.annotations;
+	/** @return the cached names of annotations - enumClass may be null, if there are no annotations */
+	static List<String> namesOf(final long annotations, final Class<? extends Enum<?>> enumClass) {
+
+		if (annotations == 0) {
+			return List.of();
+		}
+
+		return AnnotationNames.of(enumClass).namesOf(annotations);
 	}
-}
\ No newline at end of file
+}
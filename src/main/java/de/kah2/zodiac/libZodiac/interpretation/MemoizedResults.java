@@ -0,0 +1,110 @@
+package de.kah2.zodiac.libZodiac.interpretation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * <p>Results remembered per primitive key in an open addressing table - unlike a map, looking up a key doesn't allocate. Used for
+ * the results of an {@link Interpreter} per state key (see {@link Interpreter#stateKeyOf(de.kah2.zodiac.libZodiac.Day, int)}) and
+ * for the names of annotation bitmasks (see {@link AnnotationNames}).</p>
+ * <p>Lookups don't lock: the key of a slot is set before its result, and a full table is replaced by a larger copy instead of being
+ * changed. A lookup running meanwhile may miss a result added concurrently, which just means it's computed again.</p>
+ *
+ * @author kahles
+ */
+final class MemoizedResults<V> {
+
+	private final static int INITIAL_CAPACITY = 64;
+
+	/** A slot is free as long as its result is null - the length is a power of 2. */
+	private record Table<V>(AtomicLongArray keys, AtomicReferenceArray<V> results) {
+
+		Table(final int capacity) {
+			this( new AtomicLongArray(capacity), new AtomicReferenceArray<>(capacity) );
+		}
+
+		/** @return the slot containing key or the free slot, where it belongs */
+		int slotOf(final long key) {
+
+			final int mask = this.keys.length() - 1;
+
+			int slot = spread(key) & mask;
+
+			while ( this.results.get(slot) != null && this.keys.get(slot) != key ) {
+				slot = (slot + 1) & mask;
+			}
+
+			return slot;
+		}
+
+		void set(final int slot, final long key, final V result) {
+			this.keys.set(slot, key);
+			this.results.set(slot, result);
+		}
+	}
+
+	private volatile Table<V> table = new Table<>(INITIAL_CAPACITY);
+
+	/** Only changed while holding the lock of this object */
+	private int size = 0;
+
+	/** @return the result remembered for key or null */
+	V get(final long key) {
+
+		final Table<V> table = this.table;
+
+		return table.results().get( table.slotOf(key) );
+	}
+
+	/** Remembers result, which must not be null, for key, if there's no result for it yet. */
+	synchronized void putIfAbsent(final long key, final V result) {
+
+		Table<V> table = this.table;
+		int slot = table.slotOf(key);
+
+		if ( table.results().get(slot) != null ) {
+			return;
+		}
+
+		// Keep at least half of the slots free, so searches stay short and always end
+		if ( (this.size + 1) * 2 > table.keys().length() ) {
+			table = this.grow(table);
+			slot = table.slotOf(key);
+		}
+
+		table.set(slot, key, result);
+		this.size++;
+	}
+
+	private Table<V> grow(final Table<V> table) {
+
+		final Table<V> grown = new Table<>( table.keys().length() * 2 );
+
+		for (int slot = 0; slot < table.keys().length(); slot++) {
+
+			final V result = table.results().get(slot);
+
+			if (result != null) {
+				final long key = table.keys().get(slot);
+				grown.set( grown.slotOf(key), key, result );
+			}
+		}
+
+		this.table = grown;
+
+		return grown;
+	}
+
+	/** @return the number of remembered results */
+	synchronized int size() {
+		return this.size;
+	}
+
+	/** Distributes keys differing in higher bits only (e.g. month and day of month) over the slots */
+	private static int spread(final long key) {
+
+		final long hash = key * 0x9E3779B97F4A7C15L;
+
+		return (int) (hash ^ (hash >>> 32));
+	}
+}
@@ -0,0 +1,185 @@
+package de.kah2.zodiac.libZodiac.interpretation;
+
+import de.kah2.zodiac.libZodiac.Day;
+import de.kah2.zodiac.libZodiac.planetary.LunarPhase;
+import de.kah2.zodiac.libZodiac.planetary.PlanetaryDayData;
+import de.kah2.zodiac.libZodiac.zodiac.ZodiacSign;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * <p>An {@link Interpreter} compiled from a {@link RuleTable}. The result for every combination of the data the rules depend on is
+ * computed in advance, so interpreting a day is an index calculation and two array reads - no rule is evaluated anymore.</p>
+ * <p>The table has one dimension per {@link Interpreter.Dependency} of the rules: 13 entries for the sign (including days without
+ * sign), 5 for the phase (including days without phase), one per month and day of month and one per day count below the largest
+ * limit used plus one for all larger counts.</p>
+ * <p>{@link #getDependencies()} isn't overridden, since looking results up in the table is cheaper than remembering them.</p>
+ *
+ * @author kahles
+ */
+public final class RuleInterpreter<T extends Enum<T>> extends Interpreter<T> {
+
+	/** Maximum number of combinations a rule table can depend on */
+	public final static int MAX_TABLE_SIZE = 1 << 22;
+
+	private final static ZodiacSign[] SIGNS = ZodiacSign.values();
+
+	private final static LunarPhase[] PHASES = LunarPhase.values();
+
+	private final static Quality[] QUALITIES = Quality.values();
+
+	private final Class<T> annotationClass;
+
+	private final EnumSet<Dependency> dependencies = EnumSet.noneOf(Dependency.class);
+
+	/** Larger day counts are treated like this one - 0, if rules don't depend on the count */
+	private final int daysSinceLimit;
+	private final int daysUntilLimit;
+
+	/** Distance between entries of neighbouring values of a dimension - 0, if rules don't depend on it */
+	private final int signStride;
+	private final int phaseStride;
+	private final int daysSinceStride;
+	private final int daysUntilStride;
+	private final int monthStride;
+	private final int dayOfMonthStride;
+
+	/** The {@link Quality}-ordinals per combination */
+	private final byte[] qualities;
+
+	/** The annotation bits per combination */
+	private final long[] annotations;
+
+	RuleInterpreter(final Class<T> annotationClass, final Quality defaultQuality, final List<RuleTable.Rule> rules) {
+
+		this.annotationClass = annotationClass;
+
+		int daysSinceLimit = 0;
+		int daysUntilLimit = 0;
+
+		for (RuleTable.Rule rule : rules) {
+			this.dependencies.addAll( rule.condition().getDependencies() );
+			daysSinceLimit = Math.max( daysSinceLimit, rule.condition().getDaysSinceLimit() );
+			daysUntilLimit = Math.max( daysUntilLimit, rule.condition().getDaysUntilLimit() );
+		}
+
+		this.daysSinceLimit = daysSinceLimit;
+		this.daysUntilLimit = daysUntilLimit;
+
+		final int signs = this.sizeOf( Dependency.ZODIAC_SIGN, SIGNS.length + 1 );
+		final int phases = this.sizeOf( Dependency.LUNAR_PHASE, PHASES.length + 1 );
+		final int daysSince = daysSinceLimit + 1;
+		final int daysUntil = daysUntilLimit + 1;
+		final int months = this.sizeOf( Dependency.MONTH, 12 );
+		final int daysOfMonth = this.sizeOf( Dependency.DAY_OF_MONTH, 31 );
+
+		final long size = (long) signs * phases * daysSince * daysUntil * months * daysOfMonth;
+
+		if (size > MAX_TABLE_SIZE) {
+			throw new IllegalArgumentException("Rules depend on " + size + " combinations - maximum is " + MAX_TABLE_SIZE);
+		}
+
+		this.signStride = strideOf(signs, 1);
+		this.phaseStride = strideOf(phases, signs);
+		this.daysSinceStride = strideOf(daysSince, signs * phases);
+		this.daysUntilStride = strideOf(daysUntil, signs * phases * daysSince);
+		this.monthStride = strideOf(months, signs * phases * daysSince * daysUntil);
+		this.dayOfMonthStride = strideOf(daysOfMonth, signs * phases * daysSince * daysUntil * months);
+
+		this.qualities = new byte[(int) size];
+		this.annotations = new long[(int) size];
+
+		final RuleTable.Case c = new RuleTable.Case();
+
+		for (int index = 0; index < size; index++) {
+
+			// Decompose index - a dimension the rules don't depend on has size 1, so its value stays 0
+			int rest = index;
+			final int sign = rest % signs;
+			rest /= signs;
+			final int phase = rest % phases;
+			rest /= phases;
+			c.daysSinceLastMaxPhase = rest % daysSince;
+			rest /= daysSince;
+			c.daysUntilNextMaxPhase = rest % daysUntil;
+			rest /= daysUntil;
+			c.month = rest % months + 1;
+			rest /= months;
+			c.dayOfMonth = rest + 1;
+
+			c.sign = sign == 0 ? null : SIGNS[sign - 1];
+			c.phase = phase == 0 ? null : PHASES[phase - 1];
+
+			evaluate(rules, defaultQuality, c);
+
+			this.qualities[index] = (byte) c.quality.ordinal();
+			this.annotations[index] = c.annotations;
+		}
+	}
+
+	private int sizeOf(final Dependency dependency, final int numberOfValues) {
+		return this.dependencies.contains(dependency) ? numberOfValues : 1;
+	}
+
+	private static int strideOf(final int size, final int stride) {
+		return size == 1 ? 0 : stride;
+	}
+
+	/** Applies all rules to c, whose day data must be set */
+	private static void evaluate(final List<RuleTable.Rule> rules, final Quality defaultQuality, final RuleTable.Case c) {
+
+		c.quality = defaultQuality;
+		c.qualityDecided = false;
+		c.annotations = 0;
+
+		for (RuleTable.Rule rule : rules) {
+
+			if (rule.quality() != null && c.qualityDecided) {
+				continue;
+			}
+
+			if ( rule.condition().test(c) ) {
+
+				if (rule.quality() != null) {
+					c.quality = rule.quality();
+					c.qualityDecided = true;
+				}
+
+				c.annotations |= rule.annotations();
+			}
+		}
+	}
+
+	@Override
+	protected Quality doInterpretation() {
+
+		final Day day = this.getToday();
+		final PlanetaryDayData planetary = day.getPlanetaryData();
+		final LunarPhase phase = planetary.getLunarPhase();
+		final LocalDate date = day.getDate();
+
+		// Unused dimensions have stride 0, so all of them can be added up
+		final int index = (day.getZodiacSignOrdinal() + 1) * this.signStride
+				+ (phase == null ? 0 : phase.ordinal() + 1) * this.phaseStride
+				+ Math.min( planetary.getDaysSinceLastMaxPhase(), this.daysSinceLimit ) * this.daysSinceStride
+				+ Math.min( planetary.getDaysUntilNextMaxPhase(), this.daysUntilLimit ) * this.daysUntilStride
+				+ (date.getMonthValue() - 1) * this.monthStride
+				+ (date.getDayOfMonth() - 1) * this.dayOfMonthStride;
+
+		this.addAnnotationBits( this.annotations[index], this.annotationClass );
+
+		return QUALITIES[ this.qualities[index] ];
+	}
+
+	/** @return the data the rules depend on */
+	public EnumSet<Dependency> getRuleDependencies() {
+		return EnumSet.copyOf(this.dependencies);
+	}
+
+	/** @return the number of precomputed combinations */
+	public int getTableSize() {
+		return this.qualities.length;
+	}
+}
@@ -0,0 +1,116 @@
+package de.kah2.zodiac.libZodiac.interpretation;
+
+import de.kah2.zodiac.libZodiac.planetary.LunarPhase;
+import de.kah2.zodiac.libZodiac.zodiac.ZodiacSign;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>Declares an interpretation as list of rules instead of branching code. {@link #compile()} evaluates the rules once for every
+ * combination of the data they depend on and returns a {@link RuleInterpreter} looking results up in dense arrays.</p>
+ * <p>Rules are applied in the order they were added:</p>
+ * <ul>
+ *     <li>{@link #rate(Condition, Interpreter.Quality, Enum[])} decides quality and adds annotations, if its condition is true and
+ *     no rating rule before decided the quality - like a chain of <code>if (...) return</code>.</li>
+ *     <li>{@link #annotate(Condition, Enum[])} adds annotations, whenever its condition is true.</li>
+ * </ul>
+ * <p>If no rating rule matches, the default quality is used. {@link Condition#qualityBetterThan(Interpreter.Quality)},
+ * {@link Condition#qualityWorseThan(Interpreter.Quality)} and {@link Condition#hasAnnotations()} see the result of the rules
+ * before - the default quality, if none decided it so far. E.g. {@link Gardening.SowPlantInterpreter} looks like:</p>
+ * <pre>
+ * new RuleTable&lt;&gt;(Plants.class, Quality.NEUTRAL)
+ *         .annotate( phase(INCREASING).and( sign(VIRGO, LEO) ), Plants.LAWN )
+ *         ...
+ *         .rate( hasAnnotations(), Quality.BEST )
+ *         .compile();
+ * </pre>
+ *
+ * @author kahles
+ */
+public final class RuleTable<T extends Enum<T>> {
+
+	/** A rule - quality is null for rules only adding annotations */
+	record Rule(Condition condition, Interpreter.Quality quality, long annotations) {}
+
+	/**
+	 * The data of a day, which rules are evaluated for, and the result of the rules evaluated so far.
+	 */
+	final static class Case {
+
+		ZodiacSign sign;
+
+		LunarPhase phase;
+
+		int daysSinceLastMaxPhase;
+
+		int daysUntilNextMaxPhase;
+
+		int month;
+
+		int dayOfMonth;
+
+		Interpreter.Quality quality;
+
+		boolean qualityDecided;
+
+		long annotations;
+	}
+
+	private final Class<T> annotationClass;
+
+	private final Interpreter.Quality defaultQuality;
+
+	private final List<Rule> rules = new ArrayList<>();
+
+	/**
+	 * @param annotationClass the class of annotations rules can add
+	 * @param defaultQuality the quality of days, for which no rating rule matches
+	 */
+	public RuleTable(final Class<T> annotationClass, final Interpreter.Quality defaultQuality) {
+		this.annotationClass = annotationClass;
+		this.defaultQuality = defaultQuality;
+	}
+
+	/**
+	 * Adds a rule deciding quality and adding annotations, if condition is true and the quality isn't decided before.
+	 */
+	@SafeVarargs
+	public final RuleTable<T> rate(final Condition condition, final Interpreter.Quality quality, final T... annotations) {
+
+		long bits = 0;
+
+		for (T annotation : annotations) {
+			bits |= Interpreter.bitOf(annotation);
+		}
+
+		this.rules.add( new Rule(condition, quality, bits) );
+
+		return this;
+	}
+
+	/**
+	 * Adds a rule adding annotations, if condition is true.
+	 */
+	@SafeVarargs
+	public final RuleTable<T> annotate(final Condition condition, final T... annotations) {
+
+		long bits = 0;
+
+		for (T annotation : annotations) {
+			bits |= Interpreter.bitOf(annotation);
+		}
+
+		this.rules.add( new Rule(condition, null, bits) );
+
+		return this;
+	}
+
+	/**
+	 * Evaluates all rules for every combination of data they depend on. Rules added afterwards don't affect the returned interpreter.
+	 * @throws IllegalArgumentException if the rules depend on too many combinations - see {@link RuleInterpreter#MAX_TABLE_SIZE}
+	 */
+	public RuleInterpreter<T> compile() {
+		return new RuleInterpreter<>( this.annotationClass, this.defaultQuality, List.copyOf(this.rules) );
+	}
+}
@@ -3,6 +3,13 @@
  *
  * <ul>
  *     <li>{@link de.kah2.zodiac.libZodiac.interpretation.Interpreter} is an abstract class containing basic interpretation functionality.</li>
+ *     <li>{@link de.kah2.zodiac.libZodiac.interpretation.Interpretation} is the immutable result of an interpretation.</li>
+ *     <li>{@link de.kah2.zodiac.libZodiac.interpretation.BatchInterpreter} interprets whole ranges into an
+ *     {@link de.kah2.zodiac.libZodiac.interpretation.InterpretationTable}.</li>
+ *     <li>{@link de.kah2.zodiac.libZodiac.interpretation.InterpretationIndex} finds the best days for an interpreter.</li>
+ *     <li>{@link de.kah2.zodiac.libZodiac.interpretation.InterpretationCache} keeps interpretations of unchanged days.</li>
+ *     <li>{@link de.kah2.zodiac.libZodiac.interpretation.RuleTable} declares interpreters as rules compiled into a
+ *     {@link de.kah2.zodiac.libZodiac.interpretation.RuleInterpreter} looking results up in arrays.</li>
  *     <li>{@link de.kah2.zodiac.libZodiac.interpretation.Gardening} is a collection of interpreters for gardening actions.</li>
  * </ul>
  */
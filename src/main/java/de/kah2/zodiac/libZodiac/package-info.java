@@ -1,5 +1,5 @@
 /**
- * This package contains the main classes of this framework and three
+ * This package contains the main classes of this framework and its
  * sub-packages. Here the most important elements:
  * @see de.kah2.zodiac.libZodiac.Calendar - the main class of this framework. It initialized days and triggers their data calculation.
  * @see de.kah2.zodiac.libZodiac.Day - the "glue" between the other classes.
@@ -13,6 +13,10 @@
  * @see de.kah2.zodiac.libZodiac.interpretation.Interpreter - abstract class to write interpreters
  * @see de.kah2.zodiac.libZodiac.interpretation.Gardening - implementation of {@link de.kah2.zodiac.libZodiac.interpretation.Interpreter}
  * with gardening interpretations
+ * @see de.kah2.zodiac.libZodiac.planning.Scheduler - assigns gardening tasks to the days best suited for them
+ * @see de.kah2.zodiac.libZodiac.CalendarSnapshot - saves and restores the complete state of a calendar without calculating anything
+ * @see de.kah2.zodiac.libZodiac.storage.OffHeapDayStore - keeps large amounts of days outside the java heap, e.g. as page source of a
+ * {@link de.kah2.zodiac.libZodiac.PagedCalendar}
  * see package "examples" in tests for examples on how to use this framework.
  */
 package de.kah2.zodiac.libZodiac;
\ No newline at end of file
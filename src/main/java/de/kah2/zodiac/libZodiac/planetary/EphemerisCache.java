@@ -0,0 +1,35 @@
+package de.kah2.zodiac.libZodiac.planetary;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * <p>Caches lunar longitude and visibility at noon, which don't depend on observer position, but only on date and time zone. So
+ * they can be shared by all calendars of a time zone and - with a persistent implementation - across restarts.</p>
+ * <p>Implementations must be thread safe, since days are calculated in parallel.</p>
+ *
+ * @see PlanetaryDayData#calculateFor(LocalDate, de.kah2.zodiac.libZodiac.LocationProvider, EphemerisCache)
+ * @see de.kah2.zodiac.libZodiac.storage.MappedEphemerisCache
+ * @author kahles
+ */
+public interface EphemerisCache {
+
+	/** Index of lunar longitude in the array passed to {@link #lookup(LocalDate, ZoneId, double[])} */
+	int LUNAR_LONGITUDE = 0;
+
+	/** Index of lunar visibility in the array passed to {@link #lookup(LocalDate, ZoneId, double[])} */
+	int LUNAR_VISIBILITY = 1;
+
+	/**
+	 * @param date the date to look up
+	 * @param zoneId the time zone noon of date refers to
+	 * @param values receives the cached values at {@link #LUNAR_LONGITUDE} and {@link #LUNAR_VISIBILITY}
+	 * @return true, if values were found
+	 */
+	boolean lookup(LocalDate date, ZoneId zoneId, double[] values);
+
+	/**
+	 * Stores the values calculated for noon of date in given time zone.
+	 */
+	void store(LocalDate date, ZoneId zoneId, double lunarLongitude, double lunarVisibility);
+}
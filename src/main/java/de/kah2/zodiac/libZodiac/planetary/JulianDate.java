@@ -0,0 +1,185 @@
+package de.kah2.zodiac.libZodiac.planetary;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Converts between UTC epoch seconds and julian dates by plain arithmetic. This replaces converting via {@link ZonedDateTime} and
+ * libNova's {@link de.kah2.zodiac.nova4jmt.api.LnDate}, which created several objects for every calculated value.</p>
+ * <p>Local times are converted using the offset of the time zone, which is cached for the time between two transitions (e.g. summer
+ * and winter time). Several of these windows are kept per {@link ZoneId}, so converting days on both sides of a transition - e.g. by
+ * parallel threads - doesn't evict the other window. Only local times within or next to a transition are converted by
+ * {@link ZonedDateTime}, so gaps and overlaps are resolved like {@link ZonedDateTime#of(LocalDateTime, ZoneId)} does.</p>
+ *
+ * @author kahles
+ */
+public final class JulianDate {
+
+	private final static int SECONDS_PER_DAY = 86400;
+
+	/** The julian date of 1970-01-01T00:00Z */
+	public final static double JULIAN_DATE_AT_EPOCH = 2440587.5;
+
+	/** Offsets valid between two transitions per time zone, sorted chronologically - arrays are replaced, but never changed */
+	private final static Map<ZoneId, OffsetWindow[]> OFFSET_WINDOWS = new ConcurrentHashMap<>();
+
+	/** Windows kept per time zone - about a century of summer and winter times. If there are more, the cache starts over. */
+	private final static int MAX_WINDOWS_PER_ZONE = 256;
+
+	private JulianDate() {
+	}
+
+	/**
+	 * @return the julian date of given UTC epoch second
+	 */
+	public static double ofEpochSecond(final long epochSecond) {
+		return JULIAN_DATE_AT_EPOCH + (double) epochSecond / SECONDS_PER_DAY;
+	}
+
+	/**
+	 * @return the UTC epoch second of given julian date - fractions of seconds are cut off
+	 */
+	public static long toEpochSecond(final double julianDate) {
+		return (long) Math.floor( (julianDate - JULIAN_DATE_AT_EPOCH) * SECONDS_PER_DAY );
+	}
+
+	/**
+	 * @return the julian date of given local time of date in given time zone
+	 */
+	public static double of(final LocalDate date, final int secondOfDay, final ZoneId zoneId) {
+		return ofEpochSecond( toEpochSecond(date, secondOfDay, zoneId) );
+	}
+
+	/**
+	 * @return the UTC epoch second of given local time of date in given time zone
+	 */
+	static long toEpochSecond(final LocalDate date, final int secondOfDay, final ZoneId zoneId) {
+
+		final long localEpochSecond = date.toEpochDay() * SECONDS_PER_DAY + secondOfDay;
+
+		final OffsetWindow window = find( OFFSET_WINDOWS.get(zoneId), localEpochSecond );
+
+		if (window != null) {
+			return localEpochSecond - window.offsetSeconds;
+		}
+
+		return toEpochSecondAndCacheOffset(localEpochSecond, zoneId);
+	}
+
+	/** @return the window of windows containing localEpochSecond or null */
+	private static OffsetWindow find(final OffsetWindow[] windows, final long localEpochSecond) {
+
+		if (windows == null) {
+			return null;
+		}
+
+		// The last window starting before localEpochSecond is the only one, which can contain it
+		int low = 0;
+		int high = windows.length - 1;
+		int candidate = -1;
+
+		while (low <= high) {
+
+			final int middle = (low + high) >>> 1;
+
+			if (windows[middle].fromLocal < localEpochSecond) {
+				candidate = middle;
+				low = middle + 1;
+			} else {
+				high = middle - 1;
+			}
+		}
+
+		return candidate >= 0 && windows[candidate].contains(localEpochSecond) ? windows[candidate] : null;
+	}
+
+	/** @return a copy of windows containing window at its chronological position */
+	private static OffsetWindow[] withWindow(final OffsetWindow[] windows, final OffsetWindow window) {
+
+		if (windows.length >= MAX_WINDOWS_PER_ZONE) {
+			return new OffsetWindow[] {window};
+		}
+
+		int position = 0;
+
+		while (position < windows.length && windows[position].fromLocal < window.fromLocal) {
+			position++;
+		}
+
+		// Added concurrently by another thread
+		if (position < windows.length && windows[position].fromLocal == window.fromLocal) {
+			return windows;
+		}
+
+		final OffsetWindow[] result = new OffsetWindow[windows.length + 1];
+		System.arraycopy(windows, 0, result, 0, position);
+		result[position] = window;
+		System.arraycopy(windows, position, result, position + 1, windows.length - position);
+
+		return result;
+	}
+
+	/** @return the number of cached windows of zoneId - only for testing purposes */
+	static int getNumberOfOffsetWindows(final ZoneId zoneId) {
+
+		final OffsetWindow[] windows = OFFSET_WINDOWS.get(zoneId);
+
+		return windows == null ? 0 : windows.length;
+	}
+
+	private static long toEpochSecondAndCacheOffset(final long localEpochSecond, final ZoneId zoneId) {
+
+		final LocalDateTime localDateTime = LocalDateTime.ofEpochSecond(localEpochSecond, 0, ZoneOffset.UTC);
+		final ZonedDateTime zonedDateTime = ZonedDateTime.of(localDateTime, zoneId);
+		final long epochSecond = zonedDateTime.toEpochSecond();
+
+		final OffsetWindow window = OffsetWindow.around( zoneId.getRules(), zonedDateTime.toInstant() );
+
+		// Within or next to a transition the offset may be ambiguous => don't cache
+		if ( window.contains(localEpochSecond) ) {
+			OFFSET_WINDOWS.merge( zoneId, new OffsetWindow[] {window}, (windows, added) -> withWindow(windows, window) );
+		}
+
+		return epochSecond;
+	}
+
+	/**
+	 * Local epoch seconds (exclusive) between two transitions of a time zone, where the offset is unique.
+	 */
+	private record OffsetWindow(long fromLocal, long untilLocal, int offsetSeconds) {
+
+		static OffsetWindow around(final ZoneRules rules, final Instant instant) {
+
+			final int offsetSeconds = rules.getOffset(instant).getTotalSeconds();
+
+			if (rules.isFixedOffset()) {
+				return new OffsetWindow(Long.MIN_VALUE, Long.MAX_VALUE, offsetSeconds);
+			}
+
+			final ZoneOffsetTransition previous = rules.previousTransition(instant);
+			final ZoneOffsetTransition next = rules.nextTransition(instant);
+
+			final long fromLocal = previous == null ? Long.MIN_VALUE
+					: previous.toEpochSecond() + Math.max( previous.getOffsetBefore().getTotalSeconds(),
+					previous.getOffsetAfter().getTotalSeconds() );
+
+			final long untilLocal = next == null ? Long.MAX_VALUE
+					: next.toEpochSecond() + Math.min( next.getOffsetBefore().getTotalSeconds(),
+					next.getOffsetAfter().getTotalSeconds() );
+
+			return new OffsetWindow(fromLocal, untilLocal, offsetSeconds);
+		}
+
+		boolean contains(final long localEpochSecond) {
+			return localEpochSecond > this.fromLocal && localEpochSecond < this.untilLocal;
+		}
+	}
+}
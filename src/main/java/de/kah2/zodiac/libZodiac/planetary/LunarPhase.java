@@ -21,9 +21,18 @@ public enum LunarPhase {
 	 */
 	public static LunarPhase of(final Day previous, final Day target, final Day next) {
 
-		final double yesterdaysVisibility = previous.getPlanetaryData().getLunarVisibility();
-		final double actualVisibility = target.getPlanetaryData().getLunarVisibility();
-		final double tomorrowsVisibility = next.getPlanetaryData().getLunarVisibility();
+		return of( previous.getPlanetaryData().getLunarVisibility(),
+				target.getPlanetaryData().getLunarVisibility(),
+				next.getPlanetaryData().getLunarVisibility() );
+	}
+
+	/**
+	 * @param yesterdaysVisibility lunar visibility of the day before
+	 * @param actualVisibility lunar visibility of the day, for which the {@link LunarPhase} is calculated
+	 * @param tomorrowsVisibility lunar visibility of the day after
+	 * @return The lunar phase resulting from comparing the visibilities
+	 */
+	public static LunarPhase of(final double yesterdaysVisibility, final double actualVisibility, final double tomorrowsVisibility) {
 
 		if (yesterdaysVisibility < actualVisibility) {
 			if (actualVisibility < tomorrowsVisibility) {
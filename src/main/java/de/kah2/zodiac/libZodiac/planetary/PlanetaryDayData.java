@@ -1,8 +1,6 @@
 package de.kah2.zodiac.libZodiac.planetary;
 
 import de.kah2.zodiac.libZodiac.*;
-import de.kah2.zodiac.nova4jmt.JulianDay;
-import de.kah2.zodiac.nova4jmt.api.LnDate;
 import de.kah2.zodiac.nova4jmt.api.LnLnlatPosn;
 import de.kah2.zodiac.nova4jmt.api.LnRstTime;
 import de.kah2.zodiac.nova4jmt.solarsystem.Lunar;
@@ -42,8 +40,6 @@ public class PlanetaryDayData {
 	 */
 	public static final int DAY_COUNT_NOT_CALCULATED = Integer.MAX_VALUE;
 
-	final static ZoneId TIME_ZONE_ID_LIBNOVA = ZoneId.of("UTC");
-
 	/**
 	 * These values are only needed for calculation of the other values. => They
 	 * get not persisted.
@@ -68,8 +64,8 @@ public class PlanetaryDayData {
 	public static PlanetaryDayData importFrom(final DayStorableDataSet storedData) {
 		final PlanetaryDayData data = new PlanetaryDayData();
 
-		data.setSolarRiseSet(storedData.getSolarRiseSet());
-		data.setLunarRiseSet(storedData.getLunarRiseSet());
+		data.setSolarRiseSet( RiseSet.ofEpochSeconds(storedData.getSolarRiseEpochSecond(), storedData.getSolarSetEpochSecond()) );
+		data.setLunarRiseSet( RiseSet.ofEpochSeconds(storedData.getLunarRiseEpochSecond(), storedData.getLunarSetEpochSecond()) );
 		data.setLunarVisibility(storedData.getLunarVisibility());
 		data.setLunarLongitude(storedData.getLunarLongitude());
 
@@ -83,6 +79,19 @@ public class PlanetaryDayData {
 	 * @return a new {@link PlanetaryDayData}-object based on given parameters
 	 */
 	public static PlanetaryDayData calculateFor(final LocalDate date, final LocationProvider locationProvider) {
+		return calculateFor(date, locationProvider, null);
+	}
+
+	/**
+	 * Calculates the data for a given date like {@link #calculateFor(LocalDate, LocationProvider)}, but takes lunar longitude and
+	 * visibility from cache, if available. Otherwise they are calculated and stored there.
+	 * @param date the date, for which the data is to be calculated
+	 * @param locationProvider needed to get timezone and location of the "observer"
+	 * @param cache the {@link EphemerisCache} to use or null
+	 * @return a new {@link PlanetaryDayData}-object based on given parameters
+	 */
+	public static PlanetaryDayData calculateFor(final LocalDate date, final LocationProvider locationProvider,
+												final EphemerisCache cache) {
 		final PlanetaryDayData data = new PlanetaryDayData();
 
 		final ZoneId zoneId = locationProvider.getTimeZoneId();
@@ -93,78 +102,209 @@ public class PlanetaryDayData {
 
 		data.calculateSolarRiseSetFor(observerPosition, zoneId);
 		data.calculateLunarRiseSetFor(observerPosition, zoneId);
-		data.calculateLunarVisibility();
-		data.calculateLunarLongitude();
+
+		if (cache == null) {
+
+			data.calculateLunarVisibility();
+			data.calculateLunarLongitude();
+
+			return data;
+		}
+
+		final double[] cached = new double[2];
+
+		if ( cache.lookup(date, zoneId, cached) ) {
+
+			data.setLunarLongitude( cached[EphemerisCache.LUNAR_LONGITUDE] );
+			data.setLunarVisibility( cached[EphemerisCache.LUNAR_VISIBILITY] );
+
+		} else {
+
+			data.calculateLunarVisibility();
+			data.calculateLunarLongitude();
+
+			cache.store(date, zoneId, data.getLunarLongitude(), data.getLunarVisibility());
+		}
 
 		return data;
 	}
 
-	private void calculateJulianDateAtDayStart(final LocalDate date, final ZoneId zoneId) {
-		final ZonedDateTime zonedDayStart = ZonedDateTime.of( date.atStartOfDay(), zoneId );
-		this.julianDateAtDayStart = zonedDateToJulianDate( zonedDayStart );
+	/**
+	 * <p>Creates data for another location based on already calculated data. Only values depending on what actually changed get
+	 * calculated again:</p>
+	 * <ul>
+	 * <li>Rise and set times depend on observer position and the instant the day starts.</li>
+	 * <li>Lunar visibility and longitude only depend on the instant of noon. If it didn't change, they are copied together with
+	 * lunar phase and day counters.</li>
+	 * </ul>
+	 * @param date the date, for which sourceData was calculated
+	 * @param sourceData the already calculated data
+	 * @param sourceLocationProvider the location sourceData was calculated for
+	 * @param targetLocationProvider the location to calculate the new data for
+	 * @return a new {@link PlanetaryDayData}-object valid for targetLocationProvider
+	 */
+	public static PlanetaryDayData relocate(final LocalDate date, final PlanetaryDayData sourceData,
+											final LocationProvider sourceLocationProvider, final LocationProvider targetLocationProvider) {
+
+		final PlanetaryDayData data = new PlanetaryDayData();
+
+		final ZoneId sourceZoneId = sourceLocationProvider.getTimeZoneId();
+		final ZoneId targetZoneId = targetLocationProvider.getTimeZoneId();
+		final Position targetPosition = targetLocationProvider.getObserverPosition();
+
+		data.calculateJulianDateAtDayStart(date, targetZoneId);
+		data.calculateJulianDateAtNoon(date, targetZoneId);
+
+		if ( isSameInstant( date, 0, sourceZoneId, targetZoneId )
+				&& isSamePosition( sourceLocationProvider.getObserverPosition(), targetPosition ) ) {
+
+			data.setSolarRiseSet( sourceData.getSolarRiseSet() );
+			data.setLunarRiseSet( sourceData.getLunarRiseSet() );
+
+		} else {
+
+			data.calculateSolarRiseSetFor(targetPosition, targetZoneId);
+			data.calculateLunarRiseSetFor(targetPosition, targetZoneId);
+		}
+
+		if ( isNoonShifted(date, sourceZoneId, targetZoneId) ) {
+
+			data.calculateLunarVisibility();
+			data.calculateLunarLongitude();
+
+		} else {
+
+			data.setLunarVisibility( sourceData.getLunarVisibility() );
+			data.setLunarLongitude( sourceData.getLunarLongitude() );
+			data.setLunarPhase( sourceData.getLunarPhase() );
+			data.setDaysSinceLastMaxPhase( sourceData.getDaysSinceLastMaxPhase() );
+			data.setDaysUntilNextMaxPhase( sourceData.getDaysUntilNextMaxPhase() );
+		}
+
+		return data;
 	}
 
-	private void calculateJulianDateAtNoon(final LocalDate date, final ZoneId zoneId) {
-		final ZonedDateTime zonedNoon = ZonedDateTime.of( date, LocalTime.NOON, zoneId );
-		this.julianDateAtNoon = zonedDateToJulianDate( zonedNoon );
+	/**
+	 * @return true, if noon of given date is a different instant in both time zones. In that case all values calculated at noon, and
+	 * therefore also lunar phases and day counters, differ.
+	 */
+	public static boolean isNoonShifted(final LocalDate date, final ZoneId zoneId1, final ZoneId zoneId2) {
+		return !isSameInstant( date, LocalTime.NOON.toSecondOfDay(), zoneId1, zoneId2 );
 	}
 
-	private static double zonedDateToJulianDate(final ZonedDateTime date) {
+	private static boolean isSameInstant(final LocalDate date, final int secondOfDay, final ZoneId zoneId1, final ZoneId zoneId2) {
+		return zoneId1.equals(zoneId2)
+				|| JulianDate.toEpochSecond( date, secondOfDay, zoneId1 ) == JulianDate.toEpochSecond( date, secondOfDay, zoneId2 );
+	}
 
-		final Instant utcDate = date.withZoneSameInstant(PlanetaryDayData.TIME_ZONE_ID_LIBNOVA)
-				.toInstant();
+	private static boolean isSamePosition(final Position position1, final Position position2) {
+		return position1.getLatitude() == position2.getLatitude()
+				&& position1.getLongitude() == position2.getLongitude();
+	}
 
-		final LnDate lnDate = new LnDate();
-		JulianDay.ln_get_date_from_UTC_milliseconds(lnDate, utcDate.toEpochMilli());
+	private void calculateJulianDateAtDayStart(final LocalDate date, final ZoneId zoneId) {
+		this.julianDateAtDayStart = julianDateAtDayStart(date, zoneId);
+	}
 
-		return JulianDay.ln_get_julian_day(lnDate);
+	private void calculateJulianDateAtNoon(final LocalDate date, final ZoneId zoneId) {
+		this.julianDateAtNoon = julianDateAtNoon(date, zoneId);
+	}
+
+	/**
+	 * @return the julian date of the instant the given date starts in given time zone
+	 */
+	public static double julianDateAtDayStart(final LocalDate date, final ZoneId zoneId) {
+		return JulianDate.of( date, 0, zoneId );
+	}
+
+	/**
+	 * @return the julian date of noon of the given date in given time zone
+	 */
+	public static double julianDateAtNoon(final LocalDate date, final ZoneId zoneId) {
+		return JulianDate.of( date, LocalTime.NOON.toSecondOfDay(), zoneId );
 	}
 
 	/** depends on {@link #julianDateAtNoon} */
 	private void calculateLunarLongitude() {
+		this.lunarLongitude = lunarLongitudeAt(this.julianDateAtNoon);
+	}
+
+	/**
+	 * @return the ecliptic longitude of the Moon at given julian date
+	 */
+	public static double lunarLongitudeAt(final double julianDate) {
 		final LnLnlatPosn position = new LnLnlatPosn();
 
-		Lunar.ln_get_lunar_ecl_coords(this.julianDateAtNoon, position, 0.01);
+		Lunar.ln_get_lunar_ecl_coords(julianDate, position, 0.01);
 
-		this.lunarLongitude = position.lng;
+		return position.lng;
 	}
 
 	/** depends on {@link #julianDateAtNoon} */
 	private void calculateLunarVisibility() {
-		this.lunarVisibility = Lunar.ln_get_lunar_disk(this.julianDateAtNoon);
+		this.lunarVisibility = lunarVisibilityAt(this.julianDateAtNoon);
+	}
+
+	/**
+	 * @return the lunar visibility at given julian date, which is between 0 (new moon) and 1 (full moon)
+	 */
+	public static double lunarVisibilityAt(final double julianDate) {
+		return Lunar.ln_get_lunar_disk(julianDate);
 	}
 
 	/** depends on {@link #julianDateAtDayStart} */
 	private void calculateLunarRiseSetFor(final Position position, final ZoneId zoneId) {
-		final LnLnlatPosn observerPos = position.to_LnLnLatPosn();
-
-		final LnRstTime lnRstTimes = new LnRstTime();
 
-		// static method: calculates lnRstTimes
-		final int resultCode = Lunar.ln_get_lunar_rst(this.julianDateAtDayStart, observerPos, lnRstTimes);
+		final long[] riseAndSet = new long[2];
 
-		if (resultCode == 1) {
-			// moon is circumpolar
-			this.lunarRiseSet = null;
-		} else {
-			this.lunarRiseSet = new RiseSet(lnRstTimes);
-		}
+		// null if the moon is circumpolar
+		this.lunarRiseSet = calculateLunarRiseSet(this.julianDateAtDayStart, position, riseAndSet)
+				? new RiseSet(riseAndSet[0], riseAndSet[1]) : null;
 	}
 
 	private void calculateSolarRiseSetFor(final Position position, final ZoneId zoneId) {
-		final LnLnlatPosn observerPos = position.to_LnLnLatPosn();
+
+		final long[] riseAndSet = new long[2];
+
+		// null if the sun is circumpolar
+		this.solarRiseSet = calculateSolarRiseSet(this.julianDateAtDayStart, position, riseAndSet)
+				? new RiseSet(riseAndSet[0], riseAndSet[1]) : null;
+	}
+
+	/**
+	 * Calculates lunar rise and set following given julian date as UTC epoch seconds without creating a {@link RiseSet}.
+	 * @param riseAndSet receives rise at index 0 and set at index 1
+	 * @return false if the moon is circumpolar and doesn't rise/set - riseAndSet stays unchanged in that case.
+	 */
+	public static boolean calculateLunarRiseSet(final double julianDate, final Position position, final long[] riseAndSet) {
 
 		final LnRstTime lnRstTimes = new LnRstTime();
 
-		// static method: calculates lnRstTimes
-		final int resultCode = Solar.ln_get_solar_rst(this.julianDateAtDayStart, observerPos, lnRstTimes);
+		if (Lunar.ln_get_lunar_rst(julianDate, position.to_LnLnLatPosn(), lnRstTimes) == 1) {
+			return false;
+		}
 
-		if (resultCode == 1) {
-			// Sun is circumpolar
-			this.solarRiseSet = null;
-		} else {
-			this.solarRiseSet = new RiseSet(lnRstTimes);
+		riseAndSet[0] = RiseSet.toEpochSecond(lnRstTimes.rise);
+		riseAndSet[1] = RiseSet.toEpochSecond(lnRstTimes.set);
+		return true;
+	}
+
+	/**
+	 * Calculates solar rise and set following given julian date as UTC epoch seconds without creating a {@link RiseSet}.
+	 * @param riseAndSet receives rise at index 0 and set at index 1
+	 * @return false if the sun is circumpolar and doesn't rise/set - riseAndSet stays unchanged in that case.
+	 */
+	public static boolean calculateSolarRiseSet(final double julianDate, final Position position, final long[] riseAndSet) {
+
+		final LnRstTime lnRstTimes = new LnRstTime();
+
+		if (Solar.ln_get_solar_rst(julianDate, position.to_LnLnLatPosn(), lnRstTimes) == 1) {
+			return false;
 		}
+
+		riseAndSet[0] = RiseSet.toEpochSecond(lnRstTimes.rise);
+		riseAndSet[1] = RiseSet.toEpochSecond(lnRstTimes.set);
+		return true;
 	}
 
 	/**
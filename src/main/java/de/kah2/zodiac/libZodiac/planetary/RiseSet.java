@@ -1,21 +1,20 @@
 package de.kah2.zodiac.libZodiac.planetary;
 
-import de.kah2.zodiac.nova4jmt.JulianDay;
-import de.kah2.zodiac.nova4jmt.api.LnDate;
 import de.kah2.zodiac.nova4jmt.api.LnRstTime;
 
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZonedDateTime;
 
 /**
- * This class contains rise- and set-times managed as {@link Instant}s.
+ * This class contains rise- and set-times. They are kept as UTC epoch seconds, {@link Instant}s are only created when requested.
  *
  * @author kahles
  */
 public class RiseSet {
 
-	private final Instant rise, set;
+	/** Marks a missing rise or set time. */
+	public static final long NO_EVENT = Long.MIN_VALUE;
+
+	private final long rise, set;
 
 	/**
 	 * This constructor is used when rise and set times are calculated by
@@ -24,43 +23,79 @@ public class RiseSet {
 	 */
 	RiseSet(final LnRstTime lnRstTime) {
 
-		this.rise = this.getInstantFromJulian(lnRstTime.rise);
-		this.set = this.getInstantFromJulian(lnRstTime.set);
+		this.rise = toEpochSecond(lnRstTime.rise);
+		this.set = toEpochSecond(lnRstTime.set);
 	}
 
 	/**
 	 * This constructor instantiates this class based on {@link Instant}s.
-	 * No time zone transformations will be done.
+	 * No time zone transformations will be done, fractions of seconds are cut off.
 	 * Only needed for testing purposes.
-	 * @param rise an UTC rise time
-	 * @param set an UTC set time
+	 * @param rise an UTC rise time or null, if it's missing
+	 * @param set an UTC set time or null, if it's missing
 	 */
 	public RiseSet(final Instant rise, final Instant set) {
+		this.rise = rise == null ? NO_EVENT : rise.getEpochSecond();
+		this.set = set == null ? NO_EVENT : set.getEpochSecond();
+	}
+
+	/**
+	 * This constructor instantiates this class based on UTC epoch seconds, e.g. when importing stored data.
+	 * @param rise rise time as UTC epoch seconds or {@link #NO_EVENT}
+	 * @param set set time as UTC epoch seconds or {@link #NO_EVENT}
+	 */
+	public RiseSet(final long rise, final long set) {
 		this.rise = rise;
 		this.set = set;
 	}
 
+	/**
+	 * @return a new {@link RiseSet} or null, if both times are {@link #NO_EVENT} - like circumpolar sun or moon are represented by
+	 * {@link PlanetaryDayData}.
+	 */
+	public static RiseSet ofEpochSeconds(final long rise, final long set) {
+
+		if (rise == NO_EVENT && set == NO_EVENT) {
+			return null;
+		}
+
+		return new RiseSet(rise, set);
+	}
+
+	/** @return the rise time or null, if it's missing */
 	public Instant getRise() {
-		return this.rise;
+		return toInstant(this.rise);
 	}
 
+	/** @return the set time or null, if it's missing */
 	public Instant getSet() {
-		return this.set;
+		return toInstant(this.set);
+	}
+
+	/** @return the rise time as UTC epoch seconds or {@link #NO_EVENT} */
+	public long getRiseEpochSecond() {
+		return this.rise;
 	}
 
-	private Instant getInstantFromJulian(final double julianDay) {
+	/** @return the set time as UTC epoch seconds or {@link #NO_EVENT} */
+	public long getSetEpochSecond() {
+		return this.set;
+	}
 
-		final LnDate date = new LnDate();
-		JulianDay.ln_get_date(julianDay, date);
+	private static Instant toInstant(final long epochSecond) {
+		return epochSecond == NO_EVENT ? null : Instant.ofEpochSecond(epochSecond);
+	}
 
-		final ZonedDateTime utcZonedTime = LocalDateTime
-				.of(date.years, date.months, date.days, date.hours, date.minutes)
-				.atZone(PlanetaryDayData.TIME_ZONE_ID_LIBNOVA);
-		return utcZonedTime.toInstant();
+	/**
+	 * Converts a julian date calculated by libNova to UTC epoch seconds. Like the times of this class the result is truncated to
+	 * minutes.
+	 */
+	public static long toEpochSecond(final double julianDay) {
+		return Math.floorDiv( JulianDate.toEpochSecond(julianDay), 60 ) * 60;
 	}
 
 	@Override
 	public String toString() {
-		return "RiseSet[ ^%s, v%s ]".formatted( rise, set );
+		return "RiseSet[ ^%s, v%s ]".formatted( this.getRise(), this.getSet() );
 	}
 }
@@ -0,0 +1,63 @@
+package de.kah2.zodiac.libZodiac.planning;
+
+import de.kah2.zodiac.libZodiac.interpretation.Interpreter;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The result of {@link Scheduler#schedule(de.kah2.zodiac.libZodiac.Calendar, de.kah2.zodiac.libZodiac.DateRange, java.util.List)}:
+ * a day for every task.
+ *
+ * @author kahles
+ */
+public class Schedule {
+
+	private final Map<Task<?>, LocalDate> dates;
+	private final Map<Task<?>, Interpreter.Quality> qualities;
+
+	private final int score;
+	private final boolean optimal;
+	private final long searchedNodes;
+
+	Schedule(final Map<Task<?>, LocalDate> dates, final Map<Task<?>, Interpreter.Quality> qualities, final int score,
+			 final boolean optimal, final long searchedNodes) {
+
+		this.dates = dates;
+		this.qualities = qualities;
+		this.score = score;
+		this.optimal = optimal;
+		this.searchedNodes = searchedNodes;
+	}
+
+	/** @return the day assigned to task */
+	public LocalDate getDate(final Task<?> task) {
+		return this.dates.get(task);
+	}
+
+	/** @return the quality of the day assigned to task */
+	public Interpreter.Quality getQuality(final Task<?> task) {
+		return this.qualities.get(task);
+	}
+
+	/** @return the days of all tasks in the order they were passed to the {@link Scheduler} */
+	public Map<Task<?>, LocalDate> getDates() {
+		return Collections.unmodifiableMap(this.dates);
+	}
+
+	/** @return the sum of the {@link Interpreter.Quality#ordinal()}s of all assigned days - the value maximized */
+	public int getScore() {
+		return this.score;
+	}
+
+	/** @return false, if the search was stopped by {@link Scheduler#setMaxSearchNodes(long)} before a better schedule was excluded */
+	public boolean isOptimal() {
+		return this.optimal;
+	}
+
+	/** @return the number of partial schedules tried */
+	public long getSearchedNodes() {
+		return this.searchedNodes;
+	}
+}
@@ -0,0 +1,444 @@
+package de.kah2.zodiac.libZodiac.planning;
+
+import de.kah2.zodiac.libZodiac.Calendar;
+import de.kah2.zodiac.libZodiac.DateRange;
+import de.kah2.zodiac.libZodiac.interpretation.BatchInterpreter;
+import de.kah2.zodiac.libZodiac.interpretation.InterpretationTable;
+import de.kah2.zodiac.libZodiac.interpretation.Interpreter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Assigns {@link Task}s to days, so the sum of the {@link Interpreter.Quality#ordinal()}s of all assigned days is as large as
+ * possible, while the constraints of every task and the maximum number of tasks per day (see {@link #setMaxTasksPerDay(int)}) are
+ * satisfied.</p>
+ * <p>All days of the range are interpreted once by a {@link BatchInterpreter}. Afterwards a depth-first branch and bound search
+ * assigns the tasks in the order of their predecessors, trying the best days of each task first. A partial schedule is dropped,
+ * when even the best remaining day of every unassigned task - considering the earliest day its predecessors allow - can't
+ * beat the best schedule found so far. Since tasks compete for days, the number of tasks reaching a quality is also limited by the
+ * free places left on days having at least this quality for any task.</p>
+ *
+ * @author kahles
+ */
+public class Scheduler {
+
+	/** Default for {@link #setMaxSearchNodes(long)} */
+	public final static long DEFAULT_MAX_SEARCH_NODES = 10_000_000;
+
+	/** Score of days not allowed for a task */
+	private final static int NOT_ALLOWED = -1;
+
+	private final static int MAX_SCORE = Interpreter.Quality.values().length - 1;
+
+	private int maxTasksPerDay = Integer.MAX_VALUE;
+
+	private long maxSearchNodes = DEFAULT_MAX_SEARCH_NODES;
+
+	/**
+	 * Assigns every task to one day of range.
+	 * @param calendar a calendar containing the days of range - missing days aren't used
+	 * @param tasks the tasks to assign - predecessors have to be contained, too
+	 * @return the best schedule found or null, if no day satisfies all constraints
+	 * @throws IllegalArgumentException if a predecessor isn't contained in tasks or tasks depend on each other in a circle
+	 * @throws java.util.ConcurrentModificationException If calculation of calendar isn't finished.
+	 */
+	public Schedule schedule(final Calendar calendar, final DateRange range, final List<? extends Task<?>> tasks) {
+
+		final Task<?>[] ordered = sortByPredecessors(tasks);
+
+		final Map<Interpreter<?>, Integer> interpreterPositions = new IdentityHashMap<>();
+		final List<Interpreter<?>> interpreters = new ArrayList<>();
+
+		for (Task<?> task : ordered) {
+			if ( !interpreterPositions.containsKey( task.getInterpreter() ) ) {
+				interpreterPositions.put( task.getInterpreter(), interpreters.size() );
+				interpreters.add( task.getInterpreter() );
+			}
+		}
+
+		final InterpretationTable table = new BatchInterpreter(interpreters).interpret(calendar, range);
+
+		final Search search = new Search(ordered, table, interpreterPositions);
+		search.run();
+
+		if (search.bestDays == null) {
+			return null;
+		}
+
+		final Map<Task<?>, Integer> positions = new IdentityHashMap<>();
+		for (int i = 0; i < ordered.length; i++) {
+			positions.put( ordered[i], i );
+		}
+
+		final Map<Task<?>, LocalDate> dates = new LinkedHashMap<>();
+		final Map<Task<?>, Interpreter.Quality> qualities = new LinkedHashMap<>();
+
+		for (Task<?> task : tasks) {
+
+			final int day = search.bestDays[ positions.get(task) ];
+
+			dates.put( task, table.getDate(day) );
+			qualities.put( task, table.getQuality( day, interpreterPositions.get(task.getInterpreter()) ) );
+		}
+
+		return new Schedule( dates, qualities, search.bestScore, !search.aborted, search.nodes );
+	}
+
+	/**
+	 * @return tasks ordered, so every task follows its predecessors - otherwise the order of tasks is kept
+	 */
+	private static Task<?>[] sortByPredecessors(final List<? extends Task<?>> tasks) {
+
+		final Map<Task<?>, Boolean> contained = new IdentityHashMap<>();
+		for (Task<?> task : tasks) {
+			contained.put(task, Boolean.FALSE);
+		}
+
+		final Task<?>[] ordered = new Task<?>[ tasks.size() ];
+		int size = 0;
+
+		while (size < ordered.length) {
+
+			final int sizeBefore = size;
+
+			for (Task<?> task : tasks) {
+
+				if ( contained.get(task) ) {
+					continue;
+				}
+
+				boolean predecessorsOrdered = true;
+
+				for (Task.Predecessor predecessor : task.predecessors) {
+
+					final Boolean isOrdered = contained.get( predecessor.task() );
+
+					if (isOrdered == null) {
+						throw new IllegalArgumentException("Predecessor " + predecessor.task() + " of " + task + " isn't scheduled.");
+					}
+
+					predecessorsOrdered &= isOrdered;
+				}
+
+				if (predecessorsOrdered) {
+					contained.put(task, Boolean.TRUE);
+					ordered[size++] = task;
+				}
+			}
+
+			if (size == sizeBefore) {
+				throw new IllegalArgumentException("Tasks depend on each other in a circle.");
+			}
+		}
+
+		return ordered;
+	}
+
+	/**
+	 * The state of one search.
+	 */
+	private class Search {
+
+		private final int numberOfTasks, numberOfDays;
+
+		/** Score per task and day or {@link #NOT_ALLOWED} */
+		private final int[][] scores;
+
+		/** Allowed days per task, best first */
+		private final int[][] candidates;
+
+		/** Highest score of a task on the given day or later - {@link #NOT_ALLOWED}, if there's no allowed day left */
+		private final int[][] bestScoresFrom;
+
+		/** First allowed day of a task on the given day or later */
+		private final int[][] firstAllowedFrom;
+
+		/** Sum of the highest scores of the tasks starting with the given one */
+		private final int[] maxScoresFrom;
+
+		private final int[][] predecessors, minDaysBetween;
+
+		/** The days of the current partial schedule */
+		private final int[] days;
+
+		/** Number of tasks assigned per day */
+		private final int[] load;
+
+		/** Earliest possible days calculated by {@link #remainingBound(int)} */
+		private final int[] earliestDays;
+
+		/** Per score: true for days, on which any task reaches at least this score */
+		private final boolean[][] anyScoreAtLeast;
+
+		/** Per score: the number of tasks, which can still be assigned to days marked in {@link #anyScoreAtLeast} */
+		private final int[] freePlaces;
+
+		/** Per score: the number of unassigned tasks, which can still reach it - calculated by {@link #remainingBound(int)} */
+		private final int[] reaching;
+
+		private int[] bestDays = null;
+		private int bestScore = NOT_ALLOWED;
+
+		private long nodes = 0;
+		private boolean aborted = false;
+
+		Search(final Task<?>[] tasks, final InterpretationTable table, final Map<Interpreter<?>, Integer> interpreterPositions) {
+
+			this.numberOfTasks = tasks.length;
+			this.numberOfDays = table.getNumberOfDays();
+
+			this.scores = new int[this.numberOfTasks][];
+			this.candidates = new int[this.numberOfTasks][];
+			this.bestScoresFrom = new int[this.numberOfTasks][];
+			this.firstAllowedFrom = new int[this.numberOfTasks][];
+			this.maxScoresFrom = new int[this.numberOfTasks + 1];
+			this.predecessors = new int[this.numberOfTasks][];
+			this.minDaysBetween = new int[this.numberOfTasks][];
+
+			this.days = new int[this.numberOfTasks];
+			this.load = new int[this.numberOfDays];
+			this.earliestDays = new int[this.numberOfTasks];
+			this.anyScoreAtLeast = new boolean[MAX_SCORE + 1][this.numberOfDays];
+			this.freePlaces = new int[MAX_SCORE + 1];
+			this.reaching = new int[MAX_SCORE + 1];
+
+			final Map<Task<?>, Integer> positions = new IdentityHashMap<>();
+
+			for (int task = 0; task < this.numberOfTasks; task++) {
+
+				positions.put( tasks[task], task );
+
+				this.rate( task, tasks[task], table, interpreterPositions.get( tasks[task].getInterpreter() ) );
+
+				this.predecessors[task] = new int[ tasks[task].predecessors.size() ];
+				this.minDaysBetween[task] = new int[ tasks[task].predecessors.size() ];
+
+				for (int i = 0; i < this.predecessors[task].length; i++) {
+					final Task.Predecessor predecessor = tasks[task].predecessors.get(i);
+					this.predecessors[task][i] = positions.get( predecessor.task() );
+					this.minDaysBetween[task][i] = predecessor.minDaysBetween();
+				}
+			}
+
+			final int placesPerDay = Math.min( Scheduler.this.maxTasksPerDay, this.numberOfTasks );
+
+			for (int score = 1; score <= MAX_SCORE; score++) {
+				for (int day = 0; day < this.numberOfDays; day++) {
+
+					for (int task = 0; task < this.numberOfTasks && !this.anyScoreAtLeast[score][day]; task++) {
+						this.anyScoreAtLeast[score][day] = this.scores[task][day] >= score;
+					}
+
+					if (this.anyScoreAtLeast[score][day]) {
+						this.freePlaces[score] += placesPerDay;
+					}
+				}
+			}
+
+			for (int task = this.numberOfTasks - 1; task >= 0; task--) {
+				this.maxScoresFrom[task] = this.bestScoresFrom[task][0] == NOT_ALLOWED || this.maxScoresFrom[task + 1] == NOT_ALLOWED ?
+						NOT_ALLOWED : this.maxScoresFrom[task + 1] + this.bestScoresFrom[task][0];
+			}
+		}
+
+		private void rate(final int task, final Task<?> definition, final InterpretationTable table, final int interpreter) {
+
+			final int[] scores = new int[this.numberOfDays];
+			final List<Integer> allowed = new ArrayList<>();
+
+			for (int day = 0; day < this.numberOfDays; day++) {
+
+				final Interpreter.Quality quality = table.getQuality(day, interpreter);
+
+				final boolean isAllowed = quality != null
+						&& !quality.isWorseThan( definition.getMinimumQuality() )
+						&& (table.getAnnotationBits(day, interpreter) & definition.getRequiredAnnotations())
+								== definition.getRequiredAnnotations()
+						&& ( definition.getWindow() == null || definition.getWindow().contains( table.getDate(day) ) );
+
+				scores[day] = isAllowed ? quality.ordinal() : NOT_ALLOWED;
+
+				if (isAllowed) {
+					allowed.add(day);
+				}
+			}
+
+			// Best days first, earlier days first if equal
+			allowed.sort( Comparator.comparingInt( (Integer day) -> -scores[day] ).thenComparingInt(day -> day) );
+
+			final int[] bestScoresFrom = new int[this.numberOfDays + 1];
+			final int[] firstAllowedFrom = new int[this.numberOfDays + 1];
+
+			bestScoresFrom[this.numberOfDays] = NOT_ALLOWED;
+			firstAllowedFrom[this.numberOfDays] = this.numberOfDays;
+
+			for (int day = this.numberOfDays - 1; day >= 0; day--) {
+				bestScoresFrom[day] = Math.max( scores[day], bestScoresFrom[day + 1] );
+				firstAllowedFrom[day] = scores[day] == NOT_ALLOWED ? firstAllowedFrom[day + 1] : day;
+			}
+
+			this.scores[task] = scores;
+			this.candidates[task] = allowed.stream().mapToInt(Integer::intValue).toArray();
+			this.bestScoresFrom[task] = bestScoresFrom;
+			this.firstAllowedFrom[task] = firstAllowedFrom;
+		}
+
+		void run() {
+
+			if (this.numberOfTasks > 0 && this.maxScoresFrom[0] == NOT_ALLOWED) {
+				// A task has no allowed day at all
+				return;
+			}
+
+			this.search(0, 0);
+		}
+
+		private void search(final int task, final int score) {
+
+			if (++this.nodes > Scheduler.this.maxSearchNodes) {
+				this.aborted = true;
+				return;
+			}
+
+			if (task == this.numberOfTasks) {
+
+				if (score > this.bestScore) {
+					this.bestScore = score;
+					this.bestDays = this.days.clone();
+				}
+
+				return;
+			}
+
+			final int earliest = this.earliestDayOf(task);
+
+			for (int day : this.candidates[task]) {
+
+				final int taskScore = this.scores[task][day];
+
+				if (score + taskScore + this.maxScoresFrom[task + 1] <= this.bestScore) {
+					// The remaining candidates aren't better
+					break;
+				}
+
+				if (day < earliest || this.load[day] >= Scheduler.this.maxTasksPerDay) {
+					continue;
+				}
+
+				this.assign(task, day, 1);
+
+				final int remaining = this.remainingBound(task + 1);
+
+				if (remaining != NOT_ALLOWED && score + taskScore + remaining > this.bestScore) {
+					this.search(task + 1, score + taskScore);
+				}
+
+				this.assign(task, day, -1);
+
+				if (this.aborted) {
+					return;
+				}
+			}
+		}
+
+		/** Assigns task to day (change 1) or removes it again (change -1) */
+		private void assign(final int task, final int day, final int change) {
+
+			this.days[task] = day;
+			this.load[day] += change;
+
+			for (int score = 1; score <= MAX_SCORE; score++) {
+				if (this.anyScoreAtLeast[score][day]) {
+					this.freePlaces[score] -= change;
+				}
+			}
+		}
+
+		/** @return the earliest day the assigned predecessors allow for task */
+		private int earliestDayOf(final int task) {
+
+			int earliest = 0;
+
+			for (int i = 0; i < this.predecessors[task].length; i++) {
+				earliest = Math.max( earliest, this.days[ this.predecessors[task][i] ] + this.minDaysBetween[task][i] );
+			}
+
+			return earliest;
+		}
+
+		/**
+		 * @return an upper bound of the score the tasks starting with from can reach - considering their allowed days, their
+		 * predecessors and the free places on good days - or {@link #NOT_ALLOWED}, if one of them has no allowed day left
+		 */
+		private int remainingBound(final int from) {
+
+			int bound = 0;
+
+			for (int score = 1; score <= MAX_SCORE; score++) {
+				this.reaching[score] = 0;
+			}
+
+			for (int task = from; task < this.numberOfTasks; task++) {
+
+				int earliest = 0;
+
+				for (int i = 0; i < this.predecessors[task].length; i++) {
+
+					final int predecessor = this.predecessors[task][i];
+
+					// Unassigned predecessors can't be earlier than their own earliest allowed day
+					final int predecessorDay = predecessor < from ? this.days[predecessor] : this.earliestDays[predecessor];
+
+					earliest = Math.max( earliest, predecessorDay + this.minDaysBetween[task][i] );
+				}
+
+				if (earliest >= this.numberOfDays || this.bestScoresFrom[task][earliest] == NOT_ALLOWED) {
+					return NOT_ALLOWED;
+				}
+
+				this.earliestDays[task] = this.firstAllowedFrom[task][earliest];
+				bound += this.bestScoresFrom[task][earliest];
+
+				for (int score = 1; score <= this.bestScoresFrom[task][earliest]; score++) {
+					this.reaching[score]++;
+				}
+			}
+
+			// A score is the number of levels reached, so the places left on good days limit the sum, too
+			int placesBound = 0;
+
+			for (int score = 1; score <= MAX_SCORE; score++) {
+				placesBound += Math.min( this.reaching[score], this.freePlaces[score] );
+			}
+
+			return Math.min(bound, placesBound);
+		}
+	}
+
+	/**
+	 * @param maxTasksPerDay the maximum number of tasks assigned to one day - unlimited by default
+	 */
+	public void setMaxTasksPerDay(final int maxTasksPerDay) {
+
+		if (maxTasksPerDay < 1) {
+			throw new IllegalArgumentException("At least one task per day must be allowed.");
+		}
+
+		this.maxTasksPerDay = maxTasksPerDay;
+	}
+
+	/**
+	 * Limits the time used for large sets of tasks. When the limit is reached, the best schedule found so far is returned - see
+	 * {@link Schedule#isOptimal()}.
+	 * @param maxSearchNodes the maximum number of partial schedules tried - default is {@link #DEFAULT_MAX_SEARCH_NODES}
+	 */
+	public void setMaxSearchNodes(final long maxSearchNodes) {
+		this.maxSearchNodes = maxSearchNodes;
+	}
+}
@@ -0,0 +1,109 @@
+package de.kah2.zodiac.libZodiac.planning;
+
+import de.kah2.zodiac.libZodiac.DateRange;
+import de.kah2.zodiac.libZodiac.interpretation.Interpreter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>Something to do on one day, e.g. "sow tomatoes". The {@link Scheduler} looks for the day with the best {@link Interpreter.Quality}
+ * according to the interpreter of the task, which satisfies all constraints set by the methods of this class.</p>
+ *
+ * @author kahles
+ */
+public class Task<T extends Enum<T>> {
+
+	private final String name;
+
+	private final Interpreter<T> interpreter;
+
+	private long requiredAnnotations = 0;
+
+	private Interpreter.Quality minimumQuality = Interpreter.Quality.WORST;
+
+	private DateRange window = null;
+
+	final List<Predecessor> predecessors = new ArrayList<>();
+
+	/** A task, which has to be done before, and the number of days at least between both */
+	record Predecessor(Task<?> task, int minDaysBetween) {}
+
+	/**
+	 * @param name a name describing the task - only used for output
+	 * @param interpreter the interpreter to rate the days with
+	 */
+	public Task(final String name, final Interpreter<T> interpreter) {
+		this.name = name;
+		this.interpreter = interpreter;
+	}
+
+	/**
+	 * Only allows days, whose interpretation contains annotation - e.g. {@link de.kah2.zodiac.libZodiac.interpretation.Gardening.Plants#SALAD}
+	 * for sowing salad.
+	 * @return this task
+	 */
+	public Task<T> requiring(final T annotation) {
+		this.requiredAnnotations |= 1L << annotation.ordinal();
+		return this;
+	}
+
+	/**
+	 * Only allows days having at least the given quality.
+	 * @return this task
+	 */
+	public Task<T> atLeast(final Interpreter.Quality quality) {
+		this.minimumQuality = quality;
+		return this;
+	}
+
+	/**
+	 * Only allows days within window, e.g. the season to harvest a plant.
+	 * @return this task
+	 */
+	public Task<T> within(final DateRange window) {
+		this.window = window;
+		return this;
+	}
+
+	/**
+	 * Only allows days at least minDaysBetween days after the day of predecessor - 0 allows the same day.
+	 * @return this task
+	 */
+	public Task<T> after(final Task<?> predecessor, final int minDaysBetween) {
+
+		if (minDaysBetween < 0) {
+			throw new IllegalArgumentException("Days between tasks must not be negative.");
+		}
+
+		this.predecessors.add( new Predecessor(predecessor, minDaysBetween) );
+		return this;
+	}
+
+	public String getName() {
+		return this.name;
+	}
+
+	public Interpreter<T> getInterpreter() {
+		return this.interpreter;
+	}
+
+	/** @return the bits of the required annotations - see {@link de.kah2.zodiac.libZodiac.interpretation.Interpretation} */
+	public long getRequiredAnnotations() {
+		return this.requiredAnnotations;
+	}
+
+	public Interpreter.Quality getMinimumQuality() {
+		return this.minimumQuality;
+	}
+
+	/** @return the allowed days or null, if all days are allowed */
+	public DateRange getWindow() {
+		return this.window;
+	}
+
+	@Override
+	public String toString() {
+		return this.name;
+	}
+}
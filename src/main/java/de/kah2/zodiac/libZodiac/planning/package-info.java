@@ -0,0 +1,8 @@
+/**
+ * This package contains a {@link de.kah2.zodiac.libZodiac.planning.Scheduler} assigning
+ * {@link de.kah2.zodiac.libZodiac.planning.Task}s like sowing, fertilizing or harvesting to the days best suited for them according
+ * to their {@link de.kah2.zodiac.libZodiac.interpretation.Interpreter}s.
+ *
+ * @author kahles
+ */
+package de.kah2.zodiac.libZodiac.planning;
@@ -0,0 +1,202 @@
+package de.kah2.zodiac.libZodiac.storage;
+
+import de.kah2.zodiac.libZodiac.DayStorableDataSet;
+import de.kah2.zodiac.libZodiac.planetary.RiseSet;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+
+/**
+ * <p>Up to {@link CalendarArchive#DAYS_PER_BLOCK} consecutively stored days, encoded column by column. Every block can be decoded
+ * without its predecessors.</p>
+ * <p>All values are encoded as signed varints of the difference to the value expected from the day before:</p>
+ * <ul>
+ * <li>dates as epoch days - one day is expected</li>
+ * <li>rise and set times as epoch minutes - one day later is expected. 0 marks {@link RiseSet#NO_EVENT}, so the others are
+ * shifted by one.</li>
+ * <li>lunar longitude and visibility quantized by {@link #LONGITUDE_SCALE} and {@link #VISIBILITY_SCALE} - the change of the day
+ * before is expected to continue</li>
+ * </ul>
+ *
+ * @author kahles
+ */
+class ArchiveBlock {
+
+	/** Longitude is stored in units of 1e-7 degrees */
+	final static double LONGITUDE_SCALE = 1e7;
+
+	/** Visibility is stored in units of 1e-9 */
+	final static double VISIBILITY_SCALE = 1e9;
+
+	private final static long MINUTES_PER_DAY = 1440;
+
+	private int size = 0;
+
+	private final long[] epochDays = new long[CalendarArchive.DAYS_PER_BLOCK];
+	private final long[] solarRises = new long[CalendarArchive.DAYS_PER_BLOCK];
+	private final long[] solarSets = new long[CalendarArchive.DAYS_PER_BLOCK];
+	private final long[] lunarRises = new long[CalendarArchive.DAYS_PER_BLOCK];
+	private final long[] lunarSets = new long[CalendarArchive.DAYS_PER_BLOCK];
+	private final long[] longitudes = new long[CalendarArchive.DAYS_PER_BLOCK];
+	private final long[] visibilities = new long[CalendarArchive.DAYS_PER_BLOCK];
+
+	void add(final DayStorableDataSet dataSet) {
+
+		this.epochDays[this.size] = dataSet.getDate().toEpochDay();
+		this.solarRises[this.size] = dataSet.getSolarRiseEpochSecond();
+		this.solarSets[this.size] = dataSet.getSolarSetEpochSecond();
+		this.lunarRises[this.size] = dataSet.getLunarRiseEpochSecond();
+		this.lunarSets[this.size] = dataSet.getLunarSetEpochSecond();
+		this.longitudes[this.size] = Math.round( dataSet.getLunarLongitude() * LONGITUDE_SCALE );
+		this.visibilities[this.size] = Math.round( dataSet.getLunarVisibility() * VISIBILITY_SCALE );
+
+		this.size++;
+	}
+
+	void encodeTo(final ByteArrayOutputStream out) {
+
+		Varints.writeUnsigned(out, this.size);
+
+		encodeColumn(out, this.epochDays, this.size, 1);
+		encodeTimeColumn(out, this.solarRises, this.size);
+		encodeTimeColumn(out, this.solarSets, this.size);
+		encodeTimeColumn(out, this.lunarRises, this.size);
+		encodeTimeColumn(out, this.lunarSets, this.size);
+		encodeSmoothColumn(out, this.longitudes, this.size);
+		encodeSmoothColumn(out, this.visibilities, this.size);
+	}
+
+	private static void encodeColumn(final ByteArrayOutputStream out, final long[] column, final int size, final long expectedStep) {
+
+		long expected = 0;
+
+		for (int i = 0; i < size; i++) {
+			Varints.writeSigned(out, column[i] - expected);
+			expected = column[i] + expectedStep;
+		}
+	}
+
+	private static void encodeSmoothColumn(final ByteArrayOutputStream out, final long[] column, final int size) {
+
+		for (int i = 0; i < size; i++) {
+			Varints.writeSigned(out, column[i] - predict(column, i));
+		}
+	}
+
+	/** Linear prediction from the two values before */
+	private static long predict(final long[] column, final int index) {
+
+		return switch (index) {
+			case 0 -> 0;
+			case 1 -> column[0];
+			default -> 2 * column[index - 1] - column[index - 2];
+		};
+	}
+
+	private static void encodeTimeColumn(final ByteArrayOutputStream out, final long[] column, final int size) {
+
+		long expected = 0;
+
+		for (int i = 0; i < size; i++) {
+
+			if (column[i] == RiseSet.NO_EVENT) {
+				Varints.writeUnsigned(out, 0);
+				expected += MINUTES_PER_DAY;
+			} else {
+				final long minutes = Math.floorDiv(column[i], 60);
+				final long zigZag = Varints.zigZag(minutes - expected);
+				Varints.writeUnsigned(out, zigZag + 1);
+				expected = minutes + MINUTES_PER_DAY;
+			}
+		}
+	}
+
+	/**
+	 * Decodes a block written by {@link #encodeTo(ByteArrayOutputStream)} starting at the position of in.
+	 */
+	static ArchivedDataSet[] decode(final ByteBuffer in) {
+
+		final int size = (int) Varints.readUnsigned(in);
+
+		final long[] epochDays = decodeColumn(in, size, 1);
+		final long[] solarRises = decodeTimeColumn(in, size);
+		final long[] solarSets = decodeTimeColumn(in, size);
+		final long[] lunarRises = decodeTimeColumn(in, size);
+		final long[] lunarSets = decodeTimeColumn(in, size);
+		final long[] longitudes = decodeSmoothColumn(in, size);
+		final long[] visibilities = decodeSmoothColumn(in, size);
+
+		final ArchivedDataSet[] dataSets = new ArchivedDataSet[size];
+
+		for (int i = 0; i < size; i++) {
+			dataSets[i] = new ArchivedDataSet( LocalDate.ofEpochDay(epochDays[i]),
+					solarRises[i], solarSets[i], lunarRises[i], lunarSets[i],
+					visibilities[i] / VISIBILITY_SCALE, longitudes[i] / LONGITUDE_SCALE );
+		}
+
+		return dataSets;
+	}
+
+	private static long[] decodeColumn(final ByteBuffer in, final int size, final long expectedStep) {
+
+		final long[] column = new long[size];
+		long expected = 0;
+
+		for (int i = 0; i < size; i++) {
+			column[i] = expected + Varints.readSigned(in);
+			expected = column[i] + expectedStep;
+		}
+
+		return column;
+	}
+
+	private static long[] decodeSmoothColumn(final ByteBuffer in, final int size) {
+
+		final long[] column = new long[size];
+
+		for (int i = 0; i < size; i++) {
+			column[i] = predict(column, i) + Varints.readSigned(in);
+		}
+
+		return column;
+	}
+
+	private static long[] decodeTimeColumn(final ByteBuffer in, final int size) {
+
+		final long[] column = new long[size];
+		long expected = 0;
+
+		for (int i = 0; i < size; i++) {
+
+			final long value = Varints.readUnsigned(in);
+
+			if (value == 0) {
+				column[i] = RiseSet.NO_EVENT;
+				expected += MINUTES_PER_DAY;
+			} else {
+				final long minutes = expected + Varints.unZigZag(value - 1);
+				column[i] = minutes * 60;
+				expected = minutes + MINUTES_PER_DAY;
+			}
+		}
+
+		return column;
+	}
+
+	int size() {
+		return this.size;
+	}
+
+	long getFirstEpochDay() {
+		return this.epochDays[0];
+	}
+
+	long getLastEpochDay() {
+		return this.epochDays[this.size - 1];
+	}
+
+	void clear() {
+		this.size = 0;
+	}
+}
@@ -0,0 +1,74 @@
+package de.kah2.zodiac.libZodiac.storage;
+
+import de.kah2.zodiac.libZodiac.DayStorableDataSet;
+import de.kah2.zodiac.libZodiac.planetary.RiseSet;
+
+import java.time.LocalDate;
+
+/**
+ * A {@link DayStorableDataSet} decoded from a {@link CalendarArchive}.
+ *
+ * @author kahles
+ */
+class ArchivedDataSet implements DayStorableDataSet {
+
+	private final LocalDate date;
+	private final long solarRise, solarSet, lunarRise, lunarSet;
+	private final double lunarVisibility, lunarLongitude;
+
+	ArchivedDataSet(final LocalDate date, final long solarRise, final long solarSet, final long lunarRise, final long lunarSet,
+					final double lunarVisibility, final double lunarLongitude) {
+		this.date = date;
+		this.solarRise = solarRise;
+		this.solarSet = solarSet;
+		this.lunarRise = lunarRise;
+		this.lunarSet = lunarSet;
+		this.lunarVisibility = lunarVisibility;
+		this.lunarLongitude = lunarLongitude;
+	}
+
+	@Override
+	public LocalDate getDate() {
+		return this.date;
+	}
+
+	@Override
+	public RiseSet getSolarRiseSet() {
+		return RiseSet.ofEpochSeconds(this.solarRise, this.solarSet);
+	}
+
+	@Override
+	public RiseSet getLunarRiseSet() {
+		return RiseSet.ofEpochSeconds(this.lunarRise, this.lunarSet);
+	}
+
+	@Override
+	public long getSolarRiseEpochSecond() {
+		return this.solarRise;
+	}
+
+	@Override
+	public long getSolarSetEpochSecond() {
+		return this.solarSet;
+	}
+
+	@Override
+	public long getLunarRiseEpochSecond() {
+		return this.lunarRise;
+	}
+
+	@Override
+	public long getLunarSetEpochSecond() {
+		return this.lunarSet;
+	}
+
+	@Override
+	public double getLunarVisibility() {
+		return this.lunarVisibility;
+	}
+
+	@Override
+	public double getLunarLongitude() {
+		return this.lunarLongitude;
+	}
+}
@@ -0,0 +1,237 @@
+package de.kah2.zodiac.libZodiac.storage;
+
+import de.kah2.zodiac.libZodiac.DateRange;
+import de.kah2.zodiac.libZodiac.DayStorableDataSet;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>A compact archive of {@link DayStorableDataSet}s written by {@link CalendarArchiveWriter}. Since rise and set times, lunar
+ * longitude and visibility change smoothly, they are stored column by column as varint encoded differences, which needs only a
+ * fraction of the space of {@link CalendarFile}. Lunar phases and day counters aren't stored - they are calculated again when
+ * importing into a {@link de.kah2.zodiac.libZodiac.Calendar}.</p>
+ * <p>Days are stored in blocks of {@link #DAYS_PER_BLOCK} days. An index at the end of the file allows finding the block of a date,
+ * so a single day can be read by decoding only one block.</p>
+ * <table>
+ * <caption>File layout</caption>
+ * <tr><td>header</td><td>int {@link #MAGIC}, int {@link #VERSION}, int days per block</td></tr>
+ * <tr><td>blocks</td><td>see {@link ArchiveBlock}</td></tr>
+ * <tr><td>index</td><td>per block: long first epoch day, long last epoch day, long offset of the block</td></tr>
+ * <tr><td>footer</td><td>long offset of the index, int number of blocks, int number of days, int {@link #MAGIC}</td></tr>
+ * </table>
+ *
+ * @author kahles
+ */
+public class CalendarArchive implements Iterable<DayStorableDataSet> {
+
+	/** "LZDA" */
+	public final static int MAGIC = 0x4C5A4441;
+
+	public final static int VERSION = 1;
+
+	public final static int DAYS_PER_BLOCK = 256;
+
+	private final static int HEADER_SIZE = 12;
+	private final static int FOOTER_SIZE = 20;
+	private final static int INDEX_ENTRY_SIZE = 24;
+
+	private final ByteBuffer buffer;
+
+	private final long[] firstEpochDays, lastEpochDays;
+	private final int[] blockOffsets;
+	private final int numberOfDays;
+
+	/** The block decoded last - when reading days in order, most requests are answered from here. */
+	private volatile DecodedBlock lastDecoded = null;
+
+	private record DecodedBlock(int index, ArchivedDataSet[] dataSets) {}
+
+	private CalendarArchive(final ByteBuffer buffer, final long[] firstEpochDays, final long[] lastEpochDays, final int[] blockOffsets,
+							final int numberOfDays) {
+		this.buffer = buffer;
+		this.firstEpochDays = firstEpochDays;
+		this.lastEpochDays = lastEpochDays;
+		this.blockOffsets = blockOffsets;
+		this.numberOfDays = numberOfDays;
+	}
+
+	/**
+	 * Maps an archive into memory and reads its index.
+	 * @throws IOException if the file can't be read or isn't a valid archive of a supported version
+	 */
+	public static CalendarArchive open(final Path path) throws IOException {
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+
+			if (channel.size() < HEADER_SIZE + FOOTER_SIZE) {
+				throw new IOException(path + " is too small to be a calendar archive.");
+			}
+
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException(path + " is too large to be mapped.");
+			}
+
+			final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			final int footer = buffer.capacity() - FOOTER_SIZE;
+
+			if (buffer.getInt(0) != MAGIC || buffer.getInt(footer + 16) != MAGIC) {
+				throw new IOException(path + " isn't a complete calendar archive.");
+			}
+
+			if (buffer.getInt(4) != VERSION || buffer.getInt(8) != DAYS_PER_BLOCK) {
+				throw new IOException(path + " has unsupported version " + buffer.getInt(4));
+			}
+
+			final int indexOffset = (int) buffer.getLong(footer);
+			final int numberOfBlocks = buffer.getInt(footer + 8);
+
+			if (indexOffset + (long) numberOfBlocks * INDEX_ENTRY_SIZE != footer) {
+				throw new IOException(path + " has a corrupt index.");
+			}
+
+			final long[] firstEpochDays = new long[numberOfBlocks];
+			final long[] lastEpochDays = new long[numberOfBlocks];
+			final int[] blockOffsets = new int[numberOfBlocks];
+
+			for (int i = 0; i < numberOfBlocks; i++) {
+				final int entry = indexOffset + i * INDEX_ENTRY_SIZE;
+				firstEpochDays[i] = buffer.getLong(entry);
+				lastEpochDays[i] = buffer.getLong(entry + 8);
+				blockOffsets[i] = (int) buffer.getLong(entry + 16);
+			}
+
+			return new CalendarArchive(buffer, firstEpochDays, lastEpochDays, blockOffsets, buffer.getInt(footer + 12));
+		}
+	}
+
+	/**
+	 * @return the data of date or null if it isn't contained
+	 */
+	public DayStorableDataSet getDataSet(final LocalDate date) {
+
+		final long epochDay = date.toEpochDay();
+
+		int blockIndex = Arrays.binarySearch(this.firstEpochDays, epochDay);
+
+		if (blockIndex < 0) {
+			// the block starting before date
+			blockIndex = -blockIndex - 2;
+		}
+
+		if (blockIndex < 0 || epochDay > this.lastEpochDays[blockIndex]) {
+			return null;
+		}
+
+		for (ArchivedDataSet dataSet : this.decodeBlock(blockIndex)) {
+			if (dataSet.getDate().toEpochDay() == epochDay) {
+				return dataSet;
+			}
+		}
+
+		// Gap within block
+		return null;
+	}
+
+	/**
+	 * @return all days of a block in chronological order
+	 */
+	public List<DayStorableDataSet> getBlock(final int blockIndex) {
+		return List.of( this.decodeBlock(blockIndex) );
+	}
+
+	private ArchivedDataSet[] decodeBlock(final int blockIndex) {
+
+		final DecodedBlock cached = this.lastDecoded;
+
+		if (cached != null && cached.index() == blockIndex) {
+			return cached.dataSets();
+		}
+
+		final ArchivedDataSet[] dataSets = ArchiveBlock.decode( this.positionedAt(blockIndex) );
+		this.lastDecoded = new DecodedBlock(blockIndex, dataSets);
+
+		return dataSets;
+	}
+
+	/**
+	 * Iterates all days in chronological order decoding one block at a time, e.g. to import them into a
+	 * {@link de.kah2.zodiac.libZodiac.Calendar}.
+	 */
+	@Override
+	public Iterator<DayStorableDataSet> iterator() {
+
+		return new Iterator<>() {
+
+			private int blockIndex = 0;
+			private ArchivedDataSet[] block = null;
+			private int indexInBlock = 0;
+
+			@Override
+			public boolean hasNext() {
+				return this.block != null && this.indexInBlock < this.block.length
+						|| this.blockIndex < CalendarArchive.this.getNumberOfBlocks();
+			}
+
+			@Override
+			public DayStorableDataSet next() {
+
+				if ( !this.hasNext() ) {
+					throw new NoSuchElementException();
+				}
+
+				if (this.block == null || this.indexInBlock == this.block.length) {
+					this.block = ArchiveBlock.decode( CalendarArchive.this.positionedAt(this.blockIndex++) );
+					this.indexInBlock = 0;
+				}
+
+				return this.block[this.indexInBlock++];
+			}
+		};
+	}
+
+	/** duplicate() keeps the position independent for concurrent readers */
+	private ByteBuffer positionedAt(final int blockIndex) {
+		final ByteBuffer in = this.buffer.duplicate();
+		in.position( this.blockOffsets[blockIndex] );
+		return in;
+	}
+
+	/** @return the range from the first to the last contained day or null if the archive is empty */
+	public DateRange getRange() {
+
+		if (this.numberOfDays == 0) {
+			return null;
+		}
+
+		return new DateRange( LocalDate.ofEpochDay(this.firstEpochDays[0]),
+				LocalDate.ofEpochDay(this.lastEpochDays[this.lastEpochDays.length - 1]) );
+	}
+
+	/** @return the number of contained days */
+	public int size() {
+		return this.numberOfDays;
+	}
+
+	public int getNumberOfBlocks() {
+		return this.blockOffsets.length;
+	}
+
+	/** @return the size of the archive file in bytes */
+	public long getSizeInBytes() {
+		return this.buffer.capacity();
+	}
+
+	/** @return the achieved size per day including header and index */
+	public double getBytesPerDay() {
+		return this.numberOfDays == 0 ? 0 : (double) this.getSizeInBytes() / this.numberOfDays;
+	}
+}
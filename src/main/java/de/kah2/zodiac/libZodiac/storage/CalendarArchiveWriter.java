@@ -0,0 +1,146 @@
+package de.kah2.zodiac.libZodiac.storage;
+
+import de.kah2.zodiac.libZodiac.DayStorableDataSet;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+/**
+ * <p>Writes a {@link CalendarArchive}. Days are added one by one in chronological order, so the source never needs to be held in
+ * memory completely. The archive is complete after {@link #close()}.</p>
+ * <p>Rise and set times are stored in minutes and lunar longitude and visibility are quantized - see {@link ArchiveBlock}.</p>
+ *
+ * @author kahles
+ */
+public class CalendarArchiveWriter implements Closeable {
+
+	private final DataOutputStream out;
+
+	private final ArchiveBlock block = new ArchiveBlock();
+	private final ByteArrayOutputStream encodedBlock = new ByteArrayOutputStream();
+
+	private final ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+	private final DataOutputStream index = new DataOutputStream(this.indexBytes);
+
+	private long lastEpochDay = Long.MIN_VALUE;
+	private int numberOfBlocks = 0;
+	private int numberOfDays = 0;
+
+	private boolean isClosed = false;
+
+	/**
+	 * Creates the archive file - an existing file is replaced.
+	 */
+	public CalendarArchiveWriter(final Path path) throws IOException {
+
+		this.out = new DataOutputStream( new BufferedOutputStream( Files.newOutputStream(path) ) );
+
+		this.out.writeInt(CalendarArchive.MAGIC);
+		this.out.writeInt(CalendarArchive.VERSION);
+		this.out.writeInt(CalendarArchive.DAYS_PER_BLOCK);
+	}
+
+	/**
+	 * Writes all days to a new archive.
+	 * @return the archive size in bytes per day
+	 */
+	public static double write(final Path path, final Iterator<? extends DayStorableDataSet> dataSets) throws IOException {
+
+		final CalendarArchiveWriter writer = new CalendarArchiveWriter(path);
+
+		try (writer) {
+			writer.addAll(dataSets);
+		}
+
+		// Known only after closing, which writes the last block
+		return writer.getBytesPerDay();
+	}
+
+	/**
+	 * @throws IllegalArgumentException if dataSet isn't after the previously added one
+	 */
+	public void add(final DayStorableDataSet dataSet) throws IOException {
+
+		final long epochDay = dataSet.getDate().toEpochDay();
+
+		if (epochDay <= this.lastEpochDay) {
+			throw new IllegalArgumentException("Days must be added in chronological order: " + dataSet.getDate());
+		}
+
+		this.lastEpochDay = epochDay;
+
+		this.block.add(dataSet);
+		this.numberOfDays++;
+
+		if (this.block.size() == CalendarArchive.DAYS_PER_BLOCK) {
+			this.writeBlock();
+		}
+	}
+
+	public void addAll(final Iterator<? extends DayStorableDataSet> dataSets) throws IOException {
+		while (dataSets.hasNext()) {
+			this.add( dataSets.next() );
+		}
+	}
+
+	private void writeBlock() throws IOException {
+
+		this.index.writeLong( this.block.getFirstEpochDay() );
+		this.index.writeLong( this.block.getLastEpochDay() );
+		this.index.writeLong( this.out.size() );
+
+		this.encodedBlock.reset();
+		this.block.encodeTo(this.encodedBlock);
+		this.encodedBlock.writeTo(this.out);
+
+		this.block.clear();
+		this.numberOfBlocks++;
+	}
+
+	/**
+	 * Writes the last block and the index.
+	 */
+	@Override
+	public void close() throws IOException {
+
+		if (this.isClosed) {
+			return;
+		}
+
+		if (this.block.size() > 0) {
+			this.writeBlock();
+		}
+
+		final long indexOffset = this.out.size();
+		this.indexBytes.writeTo(this.out);
+
+		this.out.writeLong(indexOffset);
+		this.out.writeInt(this.numberOfBlocks);
+		this.out.writeInt(this.numberOfDays);
+		this.out.writeInt(CalendarArchive.MAGIC);
+
+		this.out.close();
+
+		this.isClosed = true;
+	}
+
+	/** @return the number of bytes written so far - after {@link #close()} the size of the archive */
+	public long getBytesWritten() {
+		return this.out.size();
+	}
+
+	public int getNumberOfDays() {
+		return this.numberOfDays;
+	}
+
+	/** @return the bytes written per day - after {@link #close()} the achieved compression including header and index */
+	public double getBytesPerDay() {
+		return this.numberOfDays == 0 ? 0 : (double) this.getBytesWritten() / this.numberOfDays;
+	}
+}
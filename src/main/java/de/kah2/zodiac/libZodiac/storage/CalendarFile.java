@@ -0,0 +1,375 @@
+package de.kah2.zodiac.libZodiac.storage;
+
+import de.kah2.zodiac.libZodiac.Calendar;
+import de.kah2.zodiac.libZodiac.DateRange;
+import de.kah2.zodiac.libZodiac.Day;
+import de.kah2.zodiac.libZodiac.DayStorableDataSet;
+import de.kah2.zodiac.libZodiac.LocationProvider;
+import de.kah2.zodiac.libZodiac.planetary.Position;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * <p>A binary file containing the days of a {@link Calendar}: a header of {@link #HEADER_SIZE} bytes followed by one record per date
+ * as described by {@link DayRecordLayout}. The date of a record is given by its position, missing days are marked as absent.</p>
+ * <table>
+ * <caption>Header</caption>
+ * <tr><th>Offset</th><th>Type</th><th>Value</th></tr>
+ * <tr><td>0</td><td>int</td><td>{@link #MAGIC}</td></tr>
+ * <tr><td>4</td><td>int</td><td>{@link #VERSION}</td></tr>
+ * <tr><td>8</td><td>int</td><td>record size</td></tr>
+ * <tr><td>12</td><td>byte</td><td>{@link Calendar.Scope#ordinal()}</td></tr>
+ * <tr><td>16</td><td>double</td><td>latitude</td></tr>
+ * <tr><td>24</td><td>double</td><td>longitude</td></tr>
+ * <tr><td>32</td><td>long</td><td>epoch day of first record</td></tr>
+ * <tr><td>40</td><td>int</td><td>number of records</td></tr>
+ * <tr><td>44</td><td>int</td><td>number of contained days</td></tr>
+ * <tr><td>48</td><td>short</td><td>length of time zone id</td></tr>
+ * <tr><td>50</td><td>bytes</td><td>time zone id (UTF-8)</td></tr>
+ * </table>
+ * <p>{@link #open(Path)} maps the file into memory and only reads the header, so opening takes the same time for all file sizes.
+ * Records are read when requested.</p>
+ *
+ * @author kahles
+ */
+public class CalendarFile {
+
+	/** "LZDC" */
+	public final static int MAGIC = 0x4C5A4443;
+
+	public final static int VERSION = 1;
+
+	public final static int HEADER_SIZE = 128;
+
+	private final static int OFFSET_VERSION = 4;
+	private final static int OFFSET_RECORD_SIZE = 8;
+	private final static int OFFSET_SCOPE = 12;
+	private final static int OFFSET_LATITUDE = 16;
+	private final static int OFFSET_LONGITUDE = 24;
+	private final static int OFFSET_START = 32;
+	private final static int OFFSET_NUMBER_OF_RECORDS = 40;
+	private final static int OFFSET_NUMBER_OF_DAYS = 44;
+	private final static int OFFSET_ZONE_ID = 48;
+
+	private final static int MAX_ZONE_ID_LENGTH = HEADER_SIZE - OFFSET_ZONE_ID - 2;
+
+	/** Number of records written at once */
+	private final static int RECORDS_PER_WRITE = 1024;
+
+	private final ByteBuffer buffer;
+
+	private final Calendar.Scope scope;
+	private final LocationProvider locationProvider;
+	private final LocalDate start;
+	private final int numberOfRecords, numberOfDays;
+
+	private CalendarFile(final ByteBuffer buffer, final Calendar.Scope scope, final LocationProvider locationProvider,
+						 final LocalDate start, final int numberOfRecords, final int numberOfDays) {
+		this.buffer = buffer;
+		this.scope = scope;
+		this.locationProvider = locationProvider;
+		this.start = start;
+		this.numberOfRecords = numberOfRecords;
+		this.numberOfDays = numberOfDays;
+	}
+
+	/**
+	 * Writes all days of calendar to a file. An existing file is replaced.
+	 * @throws java.util.ConcurrentModificationException If calculation isn't finished.
+	 */
+	public static void write(final Path path, final Calendar calendar) throws IOException {
+
+		final LinkedList<Day> days = calendar.getAllDays();
+
+		final LocalDate start = days.isEmpty() ? calendar.getRangeExpected().getStart() : days.getFirst().getDate();
+		final int numberOfRecords = days.isEmpty() ? 0 : new DateRange( days.getFirst(), days.getLast() ).size();
+
+		try (FileChannel channel = FileChannel.open(path,
+				StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+
+			writeFully( channel, createHeader(calendar, start, numberOfRecords, days.size()) );
+
+			final ByteBuffer records = ByteBuffer.allocate( RECORDS_PER_WRITE * DayRecordLayout.RECORD_SIZE );
+			int index = 0;
+
+			for (Day day : days) {
+
+				// Gaps stay zero and are therefore marked as absent
+				final int dayIndex = (int) ChronoUnit.DAYS.between( start, day.getDate() );
+
+				while (index < dayIndex) {
+					records.position( records.position() + DayRecordLayout.RECORD_SIZE );
+					index++;
+					flushIfFull(channel, records);
+				}
+
+				DayRecordLayout.write( records, records.position(), day );
+				records.position( records.position() + DayRecordLayout.RECORD_SIZE );
+				index++;
+				flushIfFull(channel, records);
+			}
+
+			records.flip();
+			writeFully(channel, records);
+		}
+	}
+
+	private static ByteBuffer createHeader(final Calendar calendar, final LocalDate start, final int numberOfRecords,
+										   final int numberOfDays) {
+
+		final byte[] zoneId = calendar.getLocationProvider().getTimeZoneId().getId().getBytes(StandardCharsets.UTF_8);
+
+		if (zoneId.length > MAX_ZONE_ID_LENGTH) {
+			throw new IllegalArgumentException("Time zone id is too long: " + calendar.getLocationProvider().getTimeZoneId());
+		}
+
+		final Position position = calendar.getLocationProvider().getObserverPosition();
+
+		final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		header.putInt(0, MAGIC);
+		header.putInt(OFFSET_VERSION, VERSION);
+		header.putInt(OFFSET_RECORD_SIZE, DayRecordLayout.RECORD_SIZE);
+		header.put(OFFSET_SCOPE, (byte) calendar.getScope().ordinal());
+		header.putDouble(OFFSET_LATITUDE, position.getLatitude());
+		header.putDouble(OFFSET_LONGITUDE, position.getLongitude());
+		header.putLong(OFFSET_START, start.toEpochDay());
+		header.putInt(OFFSET_NUMBER_OF_RECORDS, numberOfRecords);
+		header.putInt(OFFSET_NUMBER_OF_DAYS, numberOfDays);
+		header.putShort(OFFSET_ZONE_ID, (short) zoneId.length);
+		header.put(OFFSET_ZONE_ID + 2, zoneId);
+
+		header.rewind();
+		return header;
+	}
+
+	private static void flushIfFull(final FileChannel channel, final ByteBuffer records) throws IOException {
+
+		if (records.position() == records.capacity()) {
+			records.flip();
+			writeFully(channel, records);
+			// Reused buffer must be zeroed, so gaps are marked as absent
+			Arrays.fill( records.array(), (byte) 0 );
+			records.clear();
+		}
+	}
+
+	private static void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+	/**
+	 * Maps a file into memory and reads its header.
+	 * @throws IOException if the file can't be read or isn't a valid calendar file of a supported version
+	 */
+	public static CalendarFile open(final Path path) throws IOException {
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+
+			if (channel.size() < HEADER_SIZE) {
+				throw new IOException(path + " is too small to be a calendar file.");
+			}
+
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException(path + " is too large to be mapped.");
+			}
+
+			// The mapping stays valid after closing the channel
+			final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+			if (buffer.getInt(0) != MAGIC) {
+				throw new IOException(path + " isn't a calendar file.");
+			}
+
+			if (buffer.getInt(OFFSET_VERSION) != VERSION || buffer.getInt(OFFSET_RECORD_SIZE) != DayRecordLayout.RECORD_SIZE) {
+				throw new IOException(path + " has unsupported version " + buffer.getInt(OFFSET_VERSION));
+			}
+
+			final int numberOfRecords = buffer.getInt(OFFSET_NUMBER_OF_RECORDS);
+
+			if (numberOfRecords < 0) {
+				throw new IOException(path + " contains an invalid number of records.");
+			}
+
+			if (HEADER_SIZE + (long) numberOfRecords * DayRecordLayout.RECORD_SIZE > channel.size()) {
+				throw new IOException(path + " is truncated.");
+			}
+
+			return new CalendarFile( buffer,
+					readScope(path, buffer),
+					readLocation(path, buffer),
+					readStart(path, buffer),
+					numberOfRecords,
+					buffer.getInt(OFFSET_NUMBER_OF_DAYS) );
+		}
+	}
+
+	private static LocationProvider readLocation(final Path path, final ByteBuffer buffer) throws IOException {
+
+		final short length = buffer.getShort(OFFSET_ZONE_ID);
+
+		if (length < 0 || length > MAX_ZONE_ID_LENGTH) {
+			throw new IOException(path + " contains an invalid time zone id.");
+		}
+
+		final byte[] zoneId = new byte[length];
+		buffer.get(OFFSET_ZONE_ID + 2, zoneId);
+
+		try {
+			return new StoredLocationProvider(
+					ZoneId.of( new String(zoneId, StandardCharsets.UTF_8) ),
+					new Position( buffer.getDouble(OFFSET_LATITUDE), buffer.getDouble(OFFSET_LONGITUDE) ));
+		} catch (DateTimeException e) {
+			throw new IOException(path + " contains an invalid time zone id.", e);
+		}
+	}
+
+	private static LocalDate readStart(final Path path, final ByteBuffer buffer) throws IOException {
+
+		try {
+			return LocalDate.ofEpochDay( buffer.getLong(OFFSET_START) );
+		} catch (DateTimeException e) {
+			throw new IOException(path + " contains an invalid start date.", e);
+		}
+	}
+
+	private static Calendar.Scope readScope(final Path path, final ByteBuffer buffer) throws IOException {
+
+		final byte ordinal = buffer.get(OFFSET_SCOPE);
+
+		if (ordinal < 0 || ordinal >= Calendar.Scope.values().length) {
+			throw new IOException(path + " contains unknown scope " + ordinal);
+		}
+
+		return Calendar.Scope.values()[ordinal];
+	}
+
+	/**
+	 * @return a view of the stored day reading directly from the mapped file or null if the day isn't contained.
+	 */
+	public DayStorableDataSet getDataSet(final LocalDate date) {
+
+		final int offset = this.offsetOf(date);
+
+		return offset < 0 ? null : new DayRecordView(this.buffer, offset, date);
+	}
+
+	/**
+	 * @return a new {@link Day} containing the stored data including lunar phase and day counters or null if the day isn't contained.
+	 */
+	public Day getDay(final LocalDate date) {
+
+		final int offset = this.offsetOf(date);
+
+		return offset < 0 ? null : DayRecordLayout.read(this.buffer, offset, date);
+	}
+
+	/** @return the offset of the record of date or -1 if it isn't contained */
+	private int offsetOf(final LocalDate date) {
+
+		final long index = ChronoUnit.DAYS.between(this.start, date);
+
+		if (index < 0 || index >= this.numberOfRecords) {
+			return -1;
+		}
+
+		final int offset = HEADER_SIZE + (int) index * DayRecordLayout.RECORD_SIZE;
+
+		return DayRecordLayout.isPresent(this.buffer, offset) ? offset : -1;
+	}
+
+	/**
+	 * @return all contained days in chronological order, e.g. to pass them to {@link Calendar#importDays(List)}. If the file contains
+	 * no gaps, this is a view creating a {@link DayStorableDataSet} for a record when it's requested.
+	 */
+	public List<DayStorableDataSet> getDataSets() {
+
+		if (this.numberOfDays == this.numberOfRecords) {
+
+			return new AbstractList<>() {
+
+				@Override
+				public DayStorableDataSet get(final int index) {
+					return new DayRecordView( CalendarFile.this.buffer, HEADER_SIZE + index * DayRecordLayout.RECORD_SIZE,
+							CalendarFile.this.start.plusDays(index) );
+				}
+
+				@Override
+				public int size() {
+					return CalendarFile.this.numberOfRecords;
+				}
+			};
+		}
+
+		final List<DayStorableDataSet> dataSets = new LinkedList<>();
+
+		for (int index = 0; index < this.numberOfRecords; index++) {
+
+			final DayStorableDataSet dataSet = this.getDataSet( this.start.plusDays(index) );
+
+			if (dataSet != null) {
+				dataSets.add(dataSet);
+			}
+		}
+
+		return dataSets;
+	}
+
+	/**
+	 * @return a new {@link Calendar} for the stored scope and location containing all stored days - its expected range is the range of
+	 * the stored days.
+	 */
+	public Calendar createCalendar() {
+
+		final Calendar calendar = new Calendar( this.getRange(), this.scope, this.locationProvider );
+		calendar.importDays( this.getDataSets() );
+
+		return calendar;
+	}
+
+	/** @return the range from the first to the last record */
+	public DateRange getRange() {
+		return new DateRange( this.start, this.start.plusDays( Math.max(0, this.numberOfRecords - 1) ) );
+	}
+
+	public Calendar.Scope getScope() {
+		return this.scope;
+	}
+
+	/** @return a {@link LocationProvider} for the stored location and time zone */
+	public LocationProvider getLocationProvider() {
+		return this.locationProvider;
+	}
+
+	/** @return the number of contained days */
+	public int size() {
+		return this.numberOfDays;
+	}
+
+	private record StoredLocationProvider(ZoneId timeZoneId, Position observerPosition) implements LocationProvider {
+
+		@Override
+		public ZoneId getTimeZoneId() {
+			return this.timeZoneId;
+		}
+
+		@Override
+		public Position getObserverPosition() {
+			return this.observerPosition;
+		}
+	}
+}
@@ -0,0 +1,325 @@
+package de.kah2.zodiac.libZodiac.storage;
+
+import de.kah2.zodiac.libZodiac.Calendar;
+import de.kah2.zodiac.libZodiac.CalendarJournal;
+import de.kah2.zodiac.libZodiac.Day;
+import de.kah2.zodiac.libZodiac.DayStorableDataSet;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <p>A {@link CalendarJournal} appending every change to a file, so persisting a calendar costs time proportional to the changes
+ * instead of its size. The file starts with a header of {@link #HEADER_SIZE} bytes followed by entries:</p>
+ * <table>
+ * <caption>Entry</caption>
+ * <tr><th>Type</th><th>Value</th></tr>
+ * <tr><td>byte</td><td>{@link #ADDED} or {@link #REMOVED}</td></tr>
+ * <tr><td>long</td><td>epoch day</td></tr>
+ * <tr><td>record</td><td>only for {@link #ADDED}: the day as described by {@link DayRecordLayout}</td></tr>
+ * </table>
+ * <p>{@link #replayInto(Calendar)} imports the latest state of all days, which weren't removed afterwards.
+ * {@link #compact()} rewrites the file containing only these days.</p>
+ * <p>Entries are buffered - call {@link #flush()} or {@link #close()} to write them. An incomplete entry or one with unknown type or
+ * invalid date left by a crash ends the journal: it and everything after it is dropped when opening the file again. This class isn't
+ * thread safe.</p>
+ *
+ * @author kahles
+ */
+public class CalendarJournalFile implements CalendarJournal, Closeable {
+
+	/** "LZDJ" */
+	public final static int MAGIC = 0x4C5A444A;
+
+	public final static int VERSION = 1;
+
+	public final static int HEADER_SIZE = 16;
+
+	/** Type of an entry containing a day */
+	public final static byte ADDED = 1;
+
+	/** Type of an entry containing only the date of a removed day */
+	public final static byte REMOVED = 2;
+
+	private final static int OFFSET_VERSION = 4;
+	private final static int OFFSET_RECORD_SIZE = 8;
+
+	private final static int REMOVED_ENTRY_SIZE = 1 + 8;
+	private final static int ADDED_ENTRY_SIZE = REMOVED_ENTRY_SIZE + DayRecordLayout.RECORD_SIZE;
+
+	private final static long MIN_EPOCH_DAY = LocalDate.MIN.toEpochDay();
+	private final static long MAX_EPOCH_DAY = LocalDate.MAX.toEpochDay();
+
+	/** Number of entries buffered before writing */
+	private final static int ENTRIES_PER_WRITE = 256;
+
+	private final Path path;
+
+	private FileChannel channel;
+
+	private final ByteBuffer entries = ByteBuffer.allocate( ENTRIES_PER_WRITE * ADDED_ENTRY_SIZE );
+
+	private int numberOfEntries;
+
+	private CalendarJournalFile(final Path path, final FileChannel channel, final int numberOfEntries) {
+		this.path = path;
+		this.channel = channel;
+		this.numberOfEntries = numberOfEntries;
+	}
+
+	/**
+	 * Opens a journal to append entries - the file is created, if it doesn't exist.
+	 * @throws IOException if the file can't be accessed or isn't a journal of a supported version
+	 */
+	public static CalendarJournalFile open(final Path path) throws IOException {
+
+		if ( !Files.exists(path) || Files.size(path) == 0 ) {
+
+			final FileChannel channel = FileChannel.open(path,
+					StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+
+			writeFully( channel, createHeader() );
+
+			return new CalendarJournalFile(path, channel, 0);
+		}
+
+		final Entries entries = Entries.read(path);
+
+		final FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE);
+
+		// Drop an entry cut off by a crash, so new entries are appended directly after the last complete one
+		channel.truncate(entries.validLength);
+		channel.position(entries.validLength);
+
+		return new CalendarJournalFile(path, channel, entries.numberOfEntries);
+	}
+
+	private static ByteBuffer createHeader() {
+
+		final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		header.putInt(0, MAGIC);
+		header.putInt(OFFSET_VERSION, VERSION);
+		header.putInt(OFFSET_RECORD_SIZE, DayRecordLayout.RECORD_SIZE);
+
+		return header;
+	}
+
+	@Override
+	public void dayAdded(final Day day) {
+
+		this.makeRoomForEntry();
+
+		this.entries.put(ADDED);
+		this.entries.putLong( day.getDate().toEpochDay() );
+		DayRecordLayout.write( this.entries, this.entries.position(), day );
+		this.entries.position( this.entries.position() + DayRecordLayout.RECORD_SIZE );
+
+		this.numberOfEntries++;
+	}
+
+	@Override
+	public void dayRemoved(final LocalDate date) {
+
+		this.makeRoomForEntry();
+
+		this.entries.put(REMOVED);
+		this.entries.putLong( date.toEpochDay() );
+
+		this.numberOfEntries++;
+	}
+
+	private void makeRoomForEntry() {
+
+		if (this.entries.remaining() < ADDED_ENTRY_SIZE) {
+			try {
+				this.flush();
+			} catch (IOException e) {
+				// CalendarJournal can't throw checked exceptions
+				throw new IllegalStateException("Can't write to journal " + this.path, e);
+			}
+		}
+	}
+
+	/**
+	 * Writes all buffered entries to the file and forces them to the storage device.
+	 */
+	public void flush() throws IOException {
+
+		this.entries.flip();
+		writeFully(this.channel, this.entries);
+		this.entries.clear();
+
+		this.channel.force(false);
+	}
+
+	private static void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+	/**
+	 * Imports the latest state of all days contained in this journal. They are imported like stored days, so lunar phases and day
+	 * counters get calculated again. The calendar's journal isn't notified about imported days.
+	 */
+	public void replayInto(final Calendar calendar) throws IOException {
+
+		this.flush();
+
+		final Entries entries = Entries.read(this.path);
+
+		calendar.importDays( entries.latestDays() );
+	}
+
+	/**
+	 * Rewrites the file containing only one entry per day, which wasn't removed afterwards. The new file replaces the old one
+	 * atomically, so a crash leaves one of them intact.
+	 */
+	public void compact() throws IOException {
+
+		this.flush();
+
+		final Entries entries = Entries.read(this.path);
+		final Path compacted = this.path.resolveSibling( this.path.getFileName() + ".compacting" );
+
+		try (FileChannel target = FileChannel.open(compacted,
+				StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+
+			writeFully( target, createHeader() );
+
+			for (Map.Entry<LocalDate, Integer> entry : entries.latestRecords.entrySet()) {
+
+				// Copy the complete entry
+				final ByteBuffer source = entries.buffer.duplicate();
+				source.limit( entry.getValue() + DayRecordLayout.RECORD_SIZE );
+				source.position( entry.getValue() - REMOVED_ENTRY_SIZE );
+
+				writeFully(target, source);
+			}
+
+			// Otherwise the renamed file could be empty or partial after a crash
+			target.force(false);
+		}
+
+		this.channel.close();
+
+		Files.move(compacted, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+		this.channel = FileChannel.open(this.path, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+		this.numberOfEntries = entries.latestRecords.size();
+	}
+
+	/** @return the number of entries including buffered ones */
+	public int getNumberOfEntries() {
+		return this.numberOfEntries;
+	}
+
+	@Override
+	public void close() throws IOException {
+
+		try {
+			this.flush();
+		} finally {
+			this.channel.close();
+		}
+	}
+
+	/**
+	 * All complete entries of a journal file read at once.
+	 */
+	private static class Entries {
+
+		private final ByteBuffer buffer;
+
+		/** Offset of the latest record per date - removed dates aren't contained */
+		private final TreeMap<LocalDate, Integer> latestRecords = new TreeMap<>();
+
+		private int numberOfEntries = 0;
+
+		/** Length without an incomplete entry at the end */
+		private int validLength = HEADER_SIZE;
+
+		private Entries(final ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		static Entries read(final Path path) throws IOException {
+
+			final ByteBuffer buffer = ByteBuffer.wrap( Files.readAllBytes(path) );
+
+			if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+				throw new IOException(path + " isn't a calendar journal.");
+			}
+
+			if (buffer.getInt(OFFSET_VERSION) != VERSION || buffer.getInt(OFFSET_RECORD_SIZE) != DayRecordLayout.RECORD_SIZE) {
+				throw new IOException(path + " has unsupported version " + buffer.getInt(OFFSET_VERSION));
+			}
+
+			final Entries entries = new Entries(buffer);
+			int offset = HEADER_SIZE;
+
+			while (offset + REMOVED_ENTRY_SIZE <= buffer.capacity()) {
+
+				final byte type = buffer.get(offset);
+				final long epochDay = buffer.getLong(offset + 1);
+
+				// A tail zero-filled or garbled by a crash - like an incomplete entry, it's dropped
+				if ( (type != ADDED && type != REMOVED) || epochDay < MIN_EPOCH_DAY || epochDay > MAX_EPOCH_DAY ) {
+					break;
+				}
+
+				final LocalDate date = LocalDate.ofEpochDay(epochDay);
+
+				if (type == ADDED) {
+
+					if (offset + ADDED_ENTRY_SIZE > buffer.capacity()) {
+						break;
+					}
+
+					entries.latestRecords.put( date, offset + REMOVED_ENTRY_SIZE );
+					offset += ADDED_ENTRY_SIZE;
+
+				} else {
+
+					entries.latestRecords.remove(date);
+					offset += REMOVED_ENTRY_SIZE;
+				}
+
+				entries.numberOfEntries++;
+				entries.validLength = offset;
+			}
+
+			return entries;
+		}
+
+		/** @return views of the latest records in chronological order */
+		Iterator<DayStorableDataSet> latestDays() {
+
+			final Iterator<Map.Entry<LocalDate, Integer>> records = this.latestRecords.entrySet().iterator();
+
+			return new Iterator<>() {
+
+				@Override
+				public boolean hasNext() {
+					return records.hasNext();
+				}
+
+				@Override
+				public DayStorableDataSet next() {
+					final Map.Entry<LocalDate, Integer> record = records.next();
+					return new DayRecordView( Entries.this.buffer, record.getValue(), record.getKey() );
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,116 @@
+package de.kah2.zodiac.libZodiac.storage;
+
+import de.kah2.zodiac.libZodiac.Day;
+import de.kah2.zodiac.libZodiac.planetary.LunarPhase;
+import de.kah2.zodiac.libZodiac.planetary.PlanetaryDayData;
+import de.kah2.zodiac.libZodiac.planetary.RiseSet;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+
+/**
+ * <p>Describes the fixed-size binary record of one {@link Day} and allows writing and reading it. The date isn't part of the record,
+ * it is given by the position of the record.</p>
+ * <table>
+ * <caption>Layout</caption>
+ * <tr><th>Offset</th><th>Type</th><th>Value</th></tr>
+ * <tr><td>0</td><td>double</td><td>lunar longitude</td></tr>
+ * <tr><td>8</td><td>double</td><td>lunar visibility</td></tr>
+ * <tr><td>16</td><td>long</td><td>solar rise - UTC epoch seconds or {@link RiseSet#NO_EVENT}</td></tr>
+ * <tr><td>24</td><td>long</td><td>solar set</td></tr>
+ * <tr><td>32</td><td>long</td><td>lunar rise</td></tr>
+ * <tr><td>40</td><td>long</td><td>lunar set</td></tr>
+ * <tr><td>48</td><td>int</td><td>days since last max phase</td></tr>
+ * <tr><td>52</td><td>int</td><td>days until next max phase</td></tr>
+ * <tr><td>56</td><td>byte</td><td>{@link LunarPhase#ordinal()} or -1</td></tr>
+ * <tr><td>57</td><td>byte</td><td>flags - 1 if the record contains a day</td></tr>
+ * <tr><td>58</td><td>-</td><td>unused</td></tr>
+ * </table>
+ *
+ * @author kahles
+ */
+public final class DayRecordLayout {
+
+	/** Size of a record in bytes */
+	public final static int RECORD_SIZE = 64;
+
+	final static int LUNAR_LONGITUDE = 0;
+	final static int LUNAR_VISIBILITY = 8;
+	final static int SOLAR_RISE = 16;
+	final static int SOLAR_SET = 24;
+	final static int LUNAR_RISE = 32;
+	final static int LUNAR_SET = 40;
+	final static int DAYS_SINCE_LAST_MAX_PHASE = 48;
+	final static int DAYS_UNTIL_NEXT_MAX_PHASE = 52;
+	final static int LUNAR_PHASE = 56;
+	final static int FLAGS = 57;
+
+	private final static byte FLAG_PRESENT = 1;
+	private final static byte NO_LUNAR_PHASE = -1;
+
+	private final static LunarPhase[] LUNAR_PHASES = LunarPhase.values();
+
+	private DayRecordLayout() {
+	}
+
+	/**
+	 * Writes the data of day to the record starting at offset.
+	 */
+	public static void write(final ByteBuffer buffer, final int offset, final Day day) {
+
+		final PlanetaryDayData data = day.getPlanetaryData();
+
+		buffer.putDouble( offset + LUNAR_LONGITUDE, data.getLunarLongitude() );
+		buffer.putDouble( offset + LUNAR_VISIBILITY, data.getLunarVisibility() );
+
+		writeRiseSet( buffer, offset + SOLAR_RISE, data.getSolarRiseSet() );
+		writeRiseSet( buffer, offset + LUNAR_RISE, data.getLunarRiseSet() );
+
+		buffer.putInt( offset + DAYS_SINCE_LAST_MAX_PHASE, data.getDaysSinceLastMaxPhase() );
+		buffer.putInt( offset + DAYS_UNTIL_NEXT_MAX_PHASE, data.getDaysUntilNextMaxPhase() );
+
+		final LunarPhase phase = data.getLunarPhase();
+		buffer.put( offset + LUNAR_PHASE, phase == null ? NO_LUNAR_PHASE : (byte) phase.ordinal() );
+
+		buffer.put( offset + FLAGS, FLAG_PRESENT );
+	}
+
+	private static void writeRiseSet(final ByteBuffer buffer, final int offset, final RiseSet riseSet) {
+
+		if (riseSet == null) {
+			buffer.putLong( offset, RiseSet.NO_EVENT );
+			buffer.putLong( offset + 8, RiseSet.NO_EVENT );
+		} else {
+			buffer.putLong( offset, riseSet.getRiseEpochSecond() );
+			buffer.putLong( offset + 8, riseSet.getSetEpochSecond() );
+		}
+	}
+
+	/**
+	 * @return true, if the record starting at offset contains a day
+	 */
+	public static boolean isPresent(final ByteBuffer buffer, final int offset) {
+		return buffer.get( offset + FLAGS ) == FLAG_PRESENT;
+	}
+
+	/**
+	 * Creates a {@link Day} from the record starting at offset including lunar phase and day counters.
+	 * @param date the date of the record
+	 */
+	public static Day read(final ByteBuffer buffer, final int offset, final LocalDate date) {
+
+		final Day day = Day.importFrom( new DayRecordView(buffer, offset, date) );
+
+		final PlanetaryDayData data = day.getPlanetaryData();
+
+		final byte phase = buffer.get( offset + LUNAR_PHASE );
+		if (phase != NO_LUNAR_PHASE) {
+			data.setLunarPhase( LUNAR_PHASES[phase] );
+		}
+
+		data.setDaysSinceLastMaxPhase( buffer.getInt( offset + DAYS_SINCE_LAST_MAX_PHASE ) );
+		data.setDaysUntilNextMaxPhase( buffer.getInt( offset + DAYS_UNTIL_NEXT_MAX_PHASE ) );
+
+		return day;
+	}
+}
@@ -0,0 +1,73 @@
+package de.kah2.zodiac.libZodiac.storage;
+
+import de.kah2.zodiac.libZodiac.DayStorableDataSet;
+import de.kah2.zodiac.libZodiac.planetary.RiseSet;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+
+import static de.kah2.zodiac.libZodiac.storage.DayRecordLayout.*;
+
+/**
+ * A {@link DayStorableDataSet} reading directly from a record described by {@link DayRecordLayout}. Nothing is copied, so the view
+ * reflects later changes of the record.
+ *
+ * @author kahles
+ */
+class DayRecordView implements DayStorableDataSet {
+
+	private final ByteBuffer buffer;
+	private final int offset;
+	private final LocalDate date;
+
+	DayRecordView(final ByteBuffer buffer, final int offset, final LocalDate date) {
+		this.buffer = buffer;
+		this.offset = offset;
+		this.date = date;
+	}
+
+	@Override
+	public LocalDate getDate() {
+		return this.date;
+	}
+
+	@Override
+	public RiseSet getSolarRiseSet() {
+		return RiseSet.ofEpochSeconds( this.getSolarRiseEpochSecond(), this.getSolarSetEpochSecond() );
+	}
+
+	@Override
+	public RiseSet getLunarRiseSet() {
+		return RiseSet.ofEpochSeconds( this.getLunarRiseEpochSecond(), this.getLunarSetEpochSecond() );
+	}
+
+	@Override
+	public long getSolarRiseEpochSecond() {
+		return this.buffer.getLong( this.offset + SOLAR_RISE );
+	}
+
+	@Override
+	public long getSolarSetEpochSecond() {
+		return this.buffer.getLong( this.offset + SOLAR_SET );
+	}
+
+	@Override
+	public long getLunarRiseEpochSecond() {
+		return this.buffer.getLong( this.offset + LUNAR_RISE );
+	}
+
+	@Override
+	public long getLunarSetEpochSecond() {
+		return this.buffer.getLong( this.offset + LUNAR_SET );
+	}
+
+	@Override
+	public double getLunarVisibility() {
+		return this.buffer.getDouble( this.offset + LUNAR_VISIBILITY );
+	}
+
+	@Override
+	public double getLunarLongitude() {
+		return this.buffer.getDouble( this.offset + LUNAR_LONGITUDE );
+	}
+}
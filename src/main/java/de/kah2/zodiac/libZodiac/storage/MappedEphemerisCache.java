@@ -0,0 +1,246 @@
+package de.kah2.zodiac.libZodiac.storage;
+
+import de.kah2.zodiac.libZodiac.DateRange;
+import de.kah2.zodiac.libZodiac.planetary.EphemerisCache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>A persistent {@link EphemerisCache} keeping one memory-mapped file per time zone in a directory. Every file contains a slot for
+ * each date of a fixed range, so values are found without any index. Files are shared by all instances - also by other processes - so
+ * restarted or sibling JVMs reuse values calculated before.</p>
+ * <p>A slot contains lunar longitude, lunar visibility and a checksum of both values and the date. Values are written before the
+ * checksum, so a reader seeing a slot while it's written (or a slot damaged by a crash) gets a mismatch and treats it as missing.
+ * Concurrent writers of the same slot write identical values, so no locking is needed except when creating a file.</p>
+ * <table>
+ * <caption>Header</caption>
+ * <tr><th>Offset</th><th>Type</th><th>Value</th></tr>
+ * <tr><td>0</td><td>int</td><td>{@link #MAGIC}</td></tr>
+ * <tr><td>4</td><td>int</td><td>{@link #VERSION}</td></tr>
+ * <tr><td>8</td><td>int</td><td>slot size</td></tr>
+ * <tr><td>16</td><td>long</td><td>epoch day of first slot</td></tr>
+ * <tr><td>24</td><td>int</td><td>number of slots</td></tr>
+ * <tr><td>28</td><td>short</td><td>length of time zone id</td></tr>
+ * <tr><td>30</td><td>bytes</td><td>time zone id (UTF-8)</td></tr>
+ * </table>
+ *
+ * @author kahles
+ */
+public class MappedEphemerisCache implements EphemerisCache {
+
+	/** "LZEC" */
+	public final static int MAGIC = 0x4C5A4543;
+
+	public final static int VERSION = 1;
+
+	public final static int HEADER_SIZE = 128;
+
+	/** Range of dates cached by default */
+	public final static DateRange DEFAULT_RANGE = new DateRange( LocalDate.of(1900, 1, 1), LocalDate.of(2199, 12, 31) );
+
+	private final static int OFFSET_VERSION = 4;
+	private final static int OFFSET_SLOT_SIZE = 8;
+	private final static int OFFSET_START = 16;
+	private final static int OFFSET_NUMBER_OF_SLOTS = 24;
+	private final static int OFFSET_ZONE_ID = 28;
+
+	private final static int MAX_ZONE_ID_LENGTH = HEADER_SIZE - OFFSET_ZONE_ID - 2;
+
+	private final static int SLOT_SIZE = 24;
+	private final static int SLOT_LUNAR_LONGITUDE = 0;
+	private final static int SLOT_LUNAR_VISIBILITY = 8;
+	private final static int SLOT_CHECKSUM = 16;
+
+	/** Mixed into checksums, so no epoch day leads to a zero hash of a zero slot */
+	private final static long CHECKSUM_SEED = 0x4C5A45434B53554DL;
+
+	private final Path directory;
+	private final DateRange range;
+
+	private final Map<ZoneId, ZoneFile> zoneFiles = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a cache for {@link #DEFAULT_RANGE} - see {@link #MappedEphemerisCache(Path, DateRange)}.
+	 */
+	public MappedEphemerisCache(final Path directory) {
+		this(directory, DEFAULT_RANGE);
+	}
+
+	/**
+	 * Creates a cache using the files in directory. Files are created when a time zone is used the first time, existing files keep
+	 * the range they were created for.
+	 * @param directory an existing directory to keep the files in
+	 * @param range the dates new files contain slots for - untouched slots don't use disk space on most file systems
+	 */
+	public MappedEphemerisCache(final Path directory, final DateRange range) {
+		this.directory = directory;
+		this.range = range;
+	}
+
+	@Override
+	public boolean lookup(final LocalDate date, final ZoneId zoneId, final double[] values) {
+
+		final ZoneFile file = this.fileOf(zoneId);
+		final int offset = file.offsetOf(date);
+
+		if (offset < 0) {
+			return false;
+		}
+
+		final long longitudeBits = file.buffer.getLong( offset + SLOT_LUNAR_LONGITUDE );
+		final long visibilityBits = file.buffer.getLong( offset + SLOT_LUNAR_VISIBILITY );
+
+		if ( file.buffer.getLong( offset + SLOT_CHECKSUM ) != checksum( date.toEpochDay(), longitudeBits, visibilityBits ) ) {
+			// Empty, damaged or being written
+			return false;
+		}
+
+		values[LUNAR_LONGITUDE] = Double.longBitsToDouble(longitudeBits);
+		values[LUNAR_VISIBILITY] = Double.longBitsToDouble(visibilityBits);
+
+		return true;
+	}
+
+	@Override
+	public void store(final LocalDate date, final ZoneId zoneId, final double lunarLongitude, final double lunarVisibility) {
+
+		final ZoneFile file = this.fileOf(zoneId);
+		final int offset = file.offsetOf(date);
+
+		if (offset < 0) {
+			return;
+		}
+
+		final long longitudeBits = Double.doubleToRawLongBits(lunarLongitude);
+		final long visibilityBits = Double.doubleToRawLongBits(lunarVisibility);
+
+		file.buffer.putLong( offset + SLOT_LUNAR_LONGITUDE, longitudeBits );
+		file.buffer.putLong( offset + SLOT_LUNAR_VISIBILITY, visibilityBits );
+		file.buffer.putLong( offset + SLOT_CHECKSUM, checksum( date.toEpochDay(), longitudeBits, visibilityBits ) );
+	}
+
+	/** @return a checksum, which is never 0 - so a slot never written (all zeros) can't be valid */
+	private static long checksum(final long epochDay, final long longitudeBits, final long visibilityBits) {
+
+		long hash = (epochDay ^ CHECKSUM_SEED) * 0x9E3779B97F4A7C15L;
+		hash = (hash ^ longitudeBits) * 0xBF58476D1CE4E5B9L;
+		hash = (hash ^ visibilityBits) * 0x94D049BB133111EBL;
+		hash ^= hash >>> 31;
+
+		return hash == 0 ? 1 : hash;
+	}
+
+	private ZoneFile fileOf(final ZoneId zoneId) {
+
+		return this.zoneFiles.computeIfAbsent( zoneId, id -> {
+			try {
+				return ZoneFile.open( this.directory.resolve( fileNameOf(id) ), id, this.range );
+			} catch (IOException e) {
+				throw new UncheckedIOException("Can't open ephemeris cache for " + id, e);
+			}
+		});
+	}
+
+	/** @return a file name derived from the time zone id, e.g. "Europe_Berlin.ephemeris" */
+	static String fileNameOf(final ZoneId zoneId) {
+		return zoneId.getId().replaceAll("[^A-Za-z0-9+\\-]", "_") + ".ephemeris";
+	}
+
+	/**
+	 * The mapped file of one time zone.
+	 */
+	private record ZoneFile(ByteBuffer buffer, long startEpochDay, int numberOfSlots) {
+
+		static ZoneFile open(final Path path, final ZoneId zoneId, final DateRange range) throws IOException {
+
+			final byte[] zoneIdBytes = zoneId.getId().getBytes(StandardCharsets.UTF_8);
+
+			if (zoneIdBytes.length > MAX_ZONE_ID_LENGTH) {
+				throw new IllegalArgumentException("Time zone id is too long: " + zoneId);
+			}
+
+			try (FileChannel channel = FileChannel.open(path,
+					StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+
+				final FileLock lock = channel.lock();
+
+				try {
+					return openLocked(channel, path, zoneId, zoneIdBytes, range);
+				} finally {
+					lock.release();
+				}
+			}
+		}
+
+		private static ZoneFile openLocked(final FileChannel channel, final Path path, final ZoneId zoneId,
+										   final byte[] zoneIdBytes, final DateRange range) throws IOException {
+
+			// Locked, so only one process creates the header
+			if (channel.size() < HEADER_SIZE) {
+				createFile(channel, zoneIdBytes, range);
+			}
+
+			final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			channel.read(header, 0);
+
+			if (header.getInt(0) != MAGIC || header.getInt(OFFSET_VERSION) != VERSION
+					|| header.getInt(OFFSET_SLOT_SIZE) != SLOT_SIZE) {
+				throw new IOException(path + " isn't an ephemeris cache of a supported version.");
+			}
+
+			final byte[] storedZoneId = new byte[ header.getShort(OFFSET_ZONE_ID) ];
+			header.get(OFFSET_ZONE_ID + 2, storedZoneId);
+
+			if ( !zoneId.getId().equals( new String(storedZoneId, StandardCharsets.UTF_8) ) ) {
+				throw new IOException(path + " belongs to another time zone.");
+			}
+
+			final int numberOfSlots = header.getInt(OFFSET_NUMBER_OF_SLOTS);
+
+			// The mapping stays valid after closing the channel
+			final ByteBuffer buffer = channel.map( FileChannel.MapMode.READ_WRITE, 0,
+					HEADER_SIZE + (long) numberOfSlots * SLOT_SIZE );
+
+			return new ZoneFile( buffer, header.getLong(OFFSET_START), numberOfSlots );
+		}
+
+		private static void createFile(final FileChannel channel, final byte[] zoneId, final DateRange range) throws IOException {
+
+			final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			header.putInt(0, MAGIC);
+			header.putInt(OFFSET_VERSION, VERSION);
+			header.putInt(OFFSET_SLOT_SIZE, SLOT_SIZE);
+			header.putLong(OFFSET_START, range.getStart().toEpochDay());
+			header.putInt(OFFSET_NUMBER_OF_SLOTS, range.size());
+			header.putShort(OFFSET_ZONE_ID, (short) zoneId.length);
+			header.put(OFFSET_ZONE_ID + 2, zoneId);
+
+			channel.truncate(0);
+
+			while (header.hasRemaining()) {
+				channel.write(header, header.position());
+			}
+
+			// Mapping extends the file - slots stay zero, which never matches a checksum
+		}
+
+		/** @return the offset of the slot of date or -1 if it's out of range */
+		int offsetOf(final LocalDate date) {
+
+			final long index = date.toEpochDay() - this.startEpochDay;
+
+			return index < 0 || index >= this.numberOfSlots ? -1 : HEADER_SIZE + (int) index * SLOT_SIZE;
+		}
+	}
+}
@@ -0,0 +1,255 @@
+package de.kah2.zodiac.libZodiac.storage;
+
+import de.kah2.zodiac.libZodiac.Calendar;
+import de.kah2.zodiac.libZodiac.CalendarPageSource;
+import de.kah2.zodiac.libZodiac.DateRange;
+import de.kah2.zodiac.libZodiac.Day;
+import de.kah2.zodiac.libZodiac.DayStorableDataSet;
+import de.kah2.zodiac.libZodiac.PagedCalendar;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * <p>Keeps days of a fixed {@link DateRange} in direct {@link ByteBuffer}s outside the java heap - one record per date as described
+ * by {@link DayRecordLayout}. Buffers are allocated in segments of {@link #DAYS_PER_SEGMENT} days when the first day of a segment
+ * is stored, so sparse ranges don't allocate memory for empty segments.</p>
+ * <p>This is a store next to a {@link Calendar}, not a backend of it: days a calendar contains are still {@link Day}-objects on
+ * the heap. Only the stored days are no objects - {@link #get(LocalDate)} creates a new {@link Day} on every call and
+ * {@link #getDataSet(LocalDate)} returns a small view reading from off-heap memory, which can e.g. be passed to
+ * {@link Calendar#importDays(Iterator)}.</p>
+ * <p>To keep a large range without one object per day, use this store as {@link CalendarPageSource} of a {@link PagedCalendar}: only
+ * the resident months are imported as {@link Day}s, while days generated for other months are stored here.</p>
+ * <p>This class isn't thread safe for writing. Concurrent reading is fine.</p>
+ *
+ * @author kahles
+ */
+public class OffHeapDayStore implements CalendarPageSource {
+
+	/** Number of day records in one buffer */
+	public final static int DAYS_PER_SEGMENT = 4096;
+
+	private final DateRange range;
+	private final int capacity;
+
+	private final ByteBuffer[] segments;
+
+	private int size = 0;
+
+	/**
+	 * Creates an empty store for given range - no memory is allocated until days are stored.
+	 * @param range the range of dates that can be stored
+	 */
+	public OffHeapDayStore(final DateRange range) {
+
+		this.range = range;
+		this.capacity = range.size();
+		this.segments = new ByteBuffer[ (this.capacity + DAYS_PER_SEGMENT - 1) / DAYS_PER_SEGMENT ];
+	}
+
+	/**
+	 * Creates a store containing all days of a {@link Calendar}.
+	 * @throws java.util.ConcurrentModificationException If calculation isn't finished.
+	 */
+	public static OffHeapDayStore of(final Calendar calendar) {
+
+		final LinkedList<Day> days = calendar.getAllDays();
+
+		if (days.isEmpty()) {
+			return new OffHeapDayStore( calendar.getRangeExpected() );
+		}
+
+		final OffHeapDayStore store = new OffHeapDayStore( new DateRange( days.getFirst(), days.getLast() ) );
+		store.putAll(days);
+
+		return store;
+	}
+
+	/**
+	 * Stores day, an already stored day with the same date is replaced.
+	 * @throws IllegalArgumentException if the date of day is outside of the range of this store
+	 */
+	public void put(final Day day) {
+
+		final int index = this.indexOf( day.getDate() );
+
+		if (index < 0) {
+			throw new IllegalArgumentException( day.getDate() + " is out of " + this.range );
+		}
+
+		ByteBuffer segment = this.segments[ index / DAYS_PER_SEGMENT ];
+
+		if (segment == null) {
+			segment = ByteBuffer.allocateDirect( DAYS_PER_SEGMENT * DayRecordLayout.RECORD_SIZE );
+			this.segments[ index / DAYS_PER_SEGMENT ] = segment;
+		}
+
+		final int offset = offsetInSegment(index);
+
+		if ( !DayRecordLayout.isPresent(segment, offset) ) {
+			this.size++;
+		}
+
+		DayRecordLayout.write(segment, offset, day);
+	}
+
+	/**
+	 * Stores all days - see {@link #put(Day)}.
+	 */
+	public void putAll(final Collection<Day> days) {
+		for (Day day : days) {
+			this.put(day);
+		}
+	}
+
+	/**
+	 * @return true, if a day for date is stored
+	 */
+	public boolean contains(final LocalDate date) {
+		return this.segmentOf(date) != null;
+	}
+
+	/**
+	 * @return a new {@link Day} containing the stored data including lunar phase and day counters or null if the day isn't stored.
+	 */
+	public Day get(final LocalDate date) {
+
+		final ByteBuffer segment = this.segmentOf(date);
+
+		if (segment == null) {
+			return null;
+		}
+
+		return DayRecordLayout.read( segment, offsetInSegment(this.indexOf(date)), date );
+	}
+
+	/**
+	 * @return a view of the stored day reading directly from off-heap memory or null if the day isn't stored.
+	 */
+	public DayStorableDataSet getDataSet(final LocalDate date) {
+
+		final ByteBuffer segment = this.segmentOf(date);
+
+		if (segment == null) {
+			return null;
+		}
+
+		return new DayRecordView( segment, offsetInSegment(this.indexOf(date)), date );
+	}
+
+	/**
+	 * @return views of all stored days of range in chronological order - see {@link #getDataSet(LocalDate)}
+	 */
+	public List<DayStorableDataSet> getDataSets(final DateRange range) {
+
+		final List<DayStorableDataSet> dataSets = new LinkedList<>();
+
+		for (LocalDate date : range) {
+
+			final DayStorableDataSet dataSet = this.getDataSet(date);
+
+			if (dataSet != null) {
+				dataSets.add(dataSet);
+			}
+		}
+
+		return dataSets;
+	}
+
+	/**
+	 * @return views of the stored days of month - see {@link #getDataSets(DateRange)}
+	 */
+	@Override
+	public List<DayStorableDataSet> loadPage(final YearMonth month) {
+
+		final LocalDate start = max( month.atDay(1), this.range.getStart() );
+		final LocalDate end = min( month.atEndOfMonth(), this.range.getEnd() );
+
+		if ( start.isAfter(end) ) {
+			return new LinkedList<>();
+		}
+
+		return this.getDataSets( new DateRange(start, end) );
+	}
+
+	/**
+	 * Stores the generated days of month - days outside of the range of this store are skipped, so they're generated again next time.
+	 */
+	@Override
+	public void pageGenerated(final YearMonth month, final List<Day> generatedDays) {
+
+		for (Day day : generatedDays) {
+			if ( this.indexOf( day.getDate() ) >= 0 ) {
+				this.put(day);
+			}
+		}
+	}
+
+	private static LocalDate max(final LocalDate a, final LocalDate b) {
+		return a.isAfter(b) ? a : b;
+	}
+
+	private static LocalDate min(final LocalDate a, final LocalDate b) {
+		return a.isBefore(b) ? a : b;
+	}
+
+	/** @return the segment containing a stored day for date or null if it isn't stored */
+	private ByteBuffer segmentOf(final LocalDate date) {
+
+		final int index = this.indexOf(date);
+
+		if (index < 0) {
+			return null;
+		}
+
+		final ByteBuffer segment = this.segments[ index / DAYS_PER_SEGMENT ];
+
+		if (segment == null || !DayRecordLayout.isPresent(segment, offsetInSegment(index))) {
+			return null;
+		}
+
+		return segment;
+	}
+
+	/** @return the index of date or -1 if it's out of range */
+	private int indexOf(final LocalDate date) {
+
+		final long index = ChronoUnit.DAYS.between( this.range.getStart(), date );
+
+		return index < 0 || index >= this.capacity ? -1 : (int) index;
+	}
+
+	private static int offsetInSegment(final int index) {
+		return (index % DAYS_PER_SEGMENT) * DayRecordLayout.RECORD_SIZE;
+	}
+
+	/** @return the range of dates that can be stored */
+	public DateRange getRange() {
+		return this.range;
+	}
+
+	/** @return the number of stored days */
+	public int size() {
+		return this.size;
+	}
+
+	/** @return the number of bytes allocated outside the java heap */
+	public long getAllocatedBytes() {
+
+		long bytes = 0;
+
+		for (ByteBuffer segment : this.segments) {
+			if (segment != null) {
+				bytes += segment.capacity();
+			}
+		}
+
+		return bytes;
+	}
+}
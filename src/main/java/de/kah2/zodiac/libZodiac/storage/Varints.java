@@ -0,0 +1,58 @@
+package de.kah2.zodiac.libZodiac.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Writes and reads variable length integers: 7 bits per byte, the highest bit marks that another byte follows. Signed values are
+ * zigzag encoded first, so small negative values also need only a few bytes.
+ *
+ * @author kahles
+ */
+final class Varints {
+
+	private Varints() {
+	}
+
+	static void writeSigned(final ByteArrayOutputStream out, final long value) {
+		writeUnsigned( out, zigZag(value) );
+	}
+
+	static long readSigned(final ByteBuffer in) {
+		return unZigZag( readUnsigned(in) );
+	}
+
+	/** Maps 0, -1, 1, -2, ... to 0, 1, 2, 3, ... */
+	static long zigZag(final long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	static long unZigZag(final long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	static void writeUnsigned(final ByteArrayOutputStream out, long value) {
+
+		while ( (value & ~0x7FL) != 0 ) {
+			out.write( (int) ((value & 0x7F) | 0x80) );
+			value >>>= 7;
+		}
+
+		out.write( (int) value );
+	}
+
+	static long readUnsigned(final ByteBuffer in) {
+
+		long value = 0;
+		int shift = 0;
+		byte b;
+
+		do {
+			b = in.get();
+			value |= (long) (b & 0x7F) << shift;
+			shift += 7;
+		} while ( (b & 0x80) != 0 );
+
+		return value;
+	}
+}
@@ -0,0 +1,9 @@
+/**
+ * This package contains storage backends keeping calculated days outside the java heap, which allows handling very large ranges of
+ * days without GC pressure. All of them use the fixed-size records described by
+ * {@link de.kah2.zodiac.libZodiac.storage.DayRecordLayout}. {@link de.kah2.zodiac.libZodiac.Day}-objects are only created on demand
+ * when reading.
+ *
+ * @author kahles
+ */
+package de.kah2.zodiac.libZodiac.storage;
@@ -3,24 +3,61 @@ package de.kah2.zodiac.libZodiac.zodiac;
 import de.kah2.zodiac.libZodiac.planetary.PlanetaryDayData;
 
 /**
- * This class calculates zodiac data based on {@link PlanetaryDayData}.
+ * This class calculates zodiac data based on {@link PlanetaryDayData}. Since all data is determined by the {@link ZodiacSign}, there
+ * is only one shared instance per sign.
  *
  * @author kahles
  */
 public class ZodiacDayData {
 
+	private final static ZodiacDayData[] INSTANCES = new ZodiacDayData[ ZodiacSign.values().length ];
+
+	static {
+		for (ZodiacSign sign : ZodiacSign.values()) {
+			INSTANCES[sign.ordinal()] = new ZodiacDayData(sign);
+		}
+	}
+
 	private final ZodiacSign sign;
 	private final ZodiacDirection direction;
 	private final ZodiacElement element;
 
+	private ZodiacDayData(final ZodiacSign sign) {
+		this.sign = sign;
+		this.element = ZodiacElement.of(this.sign);
+		this.direction = ZodiacDirection.of(this.sign);
+	}
+
 	/**
 	 * This constructor calculates all data provided by this class.
 	 * @param srcData the {@link PlanetaryDayData} needed for calculation
+	 * @deprecated creates a new instance on every call - use {@link #of(PlanetaryDayData)} instead
 	 */
+	@Deprecated
 	public ZodiacDayData(final PlanetaryDayData srcData) {
-		this.sign = ZodiacSign.of(srcData.getLunarLongitude());
-		this.element = ZodiacElement.of(this.sign);
-		this.direction = ZodiacDirection.of(this.sign);
+		this( ZodiacSign.of(srcData.getLunarLongitude()) );
+	}
+
+	/**
+	 * @param srcData the {@link PlanetaryDayData} needed for calculation
+	 * @return the shared instance for the sign given by the lunar longitude of srcData
+	 */
+	public static ZodiacDayData of(final PlanetaryDayData srcData) {
+		return of( ZodiacSign.of(srcData.getLunarLongitude()) );
+	}
+
+	/**
+	 * @return the shared instance for given sign
+	 */
+	public static ZodiacDayData of(final ZodiacSign sign) {
+		return INSTANCES[sign.ordinal()];
+	}
+
+	/**
+	 * @return the shared instance for given {@link ZodiacSign#ordinal()}
+	 */
+	public static ZodiacDayData ofOrdinal(final int signOrdinal) {
+		return INSTANCES[signOrdinal];
 	}
 
 	/**
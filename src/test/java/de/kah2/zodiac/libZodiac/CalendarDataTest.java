@@ -1,11 +1,14 @@
 package de.kah2.zodiac.libZodiac;
 
+import de.kah2.zodiac.libZodiac.planetary.PlanetaryDayData;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.TreeSet;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -21,7 +24,7 @@ public class CalendarDataTest {
 
         dayListToImport.add(new DayStorableDataSetPojo( TestConstantsAndHelpers.SOME_DATE));
 
-        days.importDays(dayListToImport);
+        days.importDays(dayListToImport.iterator());
 
 		assertThat(days.size()).as("One day should be imported").isEqualTo(1);
     }
@@ -168,6 +171,201 @@ public class CalendarDataTest {
 		assertThat(days.getLast().getDate().isEqual(earlierEnd)).as("Calendar should end at new end").isTrue();
     }
 
+    @Test
+    public void testInsertUpdatesLunarPhasesOfNeighbours() {
+
+        final CalendarData days = new CalendarData();
+
+        final Day first = CalendarGeneratorStub.stubDay( TestConstantsAndHelpers.SOME_DATE );
+        final Day second = CalendarGeneratorStub.stubDay( TestConstantsAndHelpers.SOME_DATE.plusDays(1) );
+        final Day third = CalendarGeneratorStub.stubDay( TestConstantsAndHelpers.SOME_DATE.plusDays(2) );
+        final Day afterGap = CalendarGeneratorStub.stubDay( TestConstantsAndHelpers.SOME_DATE.plusDays(4) );
+
+        days.insert(first);
+        days.insert(third);
+        days.insert(afterGap);
+
+		assertThat(third.getPlanetaryData().getLunarPhase()).as("Day without neighbours shouldn't have lunar phase").isNull();
+
+        days.insert(second);
+
+		assertThat(second.getPlanetaryData().getLunarPhase()).as("Inserted day should get lunar phase").isNotNull();
+		assertThat(first.getPlanetaryData().getLunarPhase()).as("First day has no previous day").isNull();
+		assertThat(third.getPlanetaryData().getLunarPhase()).as("Third day still misses its next day").isNull();
+
+        days.insert( CalendarGeneratorStub.stubDay( TestConstantsAndHelpers.SOME_DATE.plusDays(3) ) );
+
+		assertThat(third.getPlanetaryData().getLunarPhase()).as("Previous neighbour should get lunar phase when gap is closed").isNotNull();
+		assertThat(afterGap.getPlanetaryData().getLunarPhase()).as("Last day has no next day").isNull();
+
+        days.removeAfter( TestConstantsAndHelpers.SOME_DATE.plusDays(2) );
+
+		assertThat(third.getPlanetaryData().getLunarPhase()).as("Removing neighbours shouldn't change lunar phase").isNotNull();
+    }
+
+    @Test
+    public void testUpdateDayCountersOnlyCountsAffectedHalfCycles() {
+
+        final DateRange range = new DateRange( TestConstantsAndHelpers.SOME_DATE, TestConstantsAndHelpers.SOME_DATE.plusDays(60) );
+        final CalendarData days = new CalendarData();
+        generateDays(days, range);
+        days.updateDayCounters();
+
+        // Manipulate a day far away from the end to see if it gets counted again
+        final Day farAway = days.get( range.getStart().plusDays(10) );
+        farAway.getPlanetaryData().setDaysSinceLastMaxPhase(-1);
+
+        final Day extension = CalendarGeneratorStub.stubDay( range.getEnd().plusDays(1) );
+        days.insert(extension);
+        days.insert( CalendarGeneratorStub.stubDay( range.getEnd().plusDays(2) ) );
+        days.updateDayCounters();
+
+		assertThat(farAway.getPlanetaryData().getDaysSinceLastMaxPhase()).as("Days outside of affected half-cycles shouldn't be counted again").isEqualTo(-1);
+
+        // Compare with counting from scratch
+        final CalendarData reference = new CalendarData();
+        generateDays(reference, new DateRange( range.getStart(), range.getEnd().plusDays(2) ));
+        reference.updateDayCounters();
+
+        for (LocalDate date : new DateRange( range.getEnd().minusDays(10), range.getEnd().plusDays(2) )) {
+			assertThat(days.get(date).getPlanetaryData().getDaysSinceLastMaxPhase()).as("daysSinceLast of " + date)
+					.isEqualTo(reference.get(date).getPlanetaryData().getDaysSinceLastMaxPhase());
+			assertThat(days.get(date).getPlanetaryData().getDaysUntilNextMaxPhase()).as("daysUntilNext of " + date)
+					.isEqualTo(reference.get(date).getPlanetaryData().getDaysUntilNextMaxPhase());
+        }
+
+		assertThat(extension.getPlanetaryData().getDaysSinceLastMaxPhase()).as("New day should be counted").isNotEqualTo(PlanetaryDayData.DAY_COUNT_NOT_CALCULATED);
+    }
+
+    @Test
+    public void testStreamedImportCalculatesPhasesAndCounters() {
+
+        final DateRange range = new DateRange( TestConstantsAndHelpers.SOME_DATE, TestConstantsAndHelpers.SOME_DATE.plusDays(60) );
+
+        final CalendarData streamed = new CalendarData();
+        streamed.importDays( CalendarGeneratorStub.stubDayStorableDataSets(range).iterator() );
+
+        final CalendarData reference = new CalendarData();
+        generateDays(reference, range);
+        reference.updateDayCounters();
+
+        assertSameDays(streamed, reference, range);
+
+        // Counters are already calculated, so updating shouldn't change anything
+        streamed.updateDayCounters();
+        assertSameDays(streamed, reference, range);
+    }
+
+    @Test
+    public void testStreamedImportOfUnsortedDays() {
+
+        final DateRange range = new DateRange( TestConstantsAndHelpers.SOME_DATE, TestConstantsAndHelpers.SOME_DATE.plusDays(60) );
+
+        final LinkedList<DayStorableDataSet> unsorted = CalendarGeneratorStub.stubDayStorableDataSets(range);
+        // Move some days from the middle to the end and add a duplicate
+        for (int i = 0; i < 5; i++) {
+            unsorted.addLast( unsorted.remove(20) );
+        }
+        unsorted.addLast( unsorted.getFirst() );
+
+        final CalendarData streamed = new CalendarData();
+        streamed.importDays( unsorted.iterator() );
+        streamed.updateDayCounters();
+
+        final CalendarData reference = new CalendarData();
+        generateDays(reference, range);
+        reference.updateDayCounters();
+
+		assertThat(streamed.size()).as("All days should be imported once").isEqualTo(range.size());
+        assertSameDays(streamed, reference, range);
+    }
+
+    @Test
+    public void testSortedDaysViewsMatchTreeSet() {
+
+        final DateRange range = new DateRange( TestConstantsAndHelpers.SOME_DATE, TestConstantsAndHelpers.SOME_DATE.plusDays(9) );
+
+        final List<Day> days = new LinkedList<>();
+
+        // Every second date, so bounds between contained days are checked, too
+        for (LocalDate date : range) {
+            if (date.getDayOfMonth() % 2 == 0) {
+                days.add( CalendarGeneratorStub.stubDay(date) );
+            }
+        }
+
+        final CalendarData.SortedDays sortedDays = new CalendarData.SortedDays(days);
+        final TreeSet<Day> reference = new TreeSet<>(days);
+
+        for (LocalDate from : range) {
+
+            final Day fromDay = CalendarGeneratorStub.stubDay(from);
+
+			assertThat(new ArrayList<>( sortedDays.headSet(fromDay) )).isEqualTo(new ArrayList<>( reference.headSet(fromDay) ));
+			assertThat(new ArrayList<>( sortedDays.tailSet(fromDay) )).isEqualTo(new ArrayList<>( reference.tailSet(fromDay) ));
+
+            for (LocalDate to = from; !to.isAfter( range.getEnd() ); to = to.plusDays(1)) {
+
+                final Day toDay = CalendarGeneratorStub.stubDay(to);
+
+				assertThat(new ArrayList<>( sortedDays.subSet(fromDay, toDay) ))
+						.as(from + " - " + to).isEqualTo(new ArrayList<>( reference.subSet(fromDay, toDay) ));
+            }
+        }
+    }
+
+    @Test
+    public void testSortedImportIsMergedWithContainedDays() {
+
+        final DateRange range = new DateRange( TestConstantsAndHelpers.SOME_DATE, TestConstantsAndHelpers.SOME_DATE.plusDays(60) );
+
+        final CalendarData days = new CalendarData();
+        generateDays(days, new DateRange( range.getStart().plusDays(20), range.getStart().plusDays(30) ));
+        days.updateDayCounters();
+
+        final Day contained = days.get( range.getStart().plusDays(25) );
+
+        // Overlaps contained days on both sides
+        days.importDays( CalendarGeneratorStub.stubDayStorableDataSets(range).iterator() );
+        days.updateDayCounters();
+
+        final CalendarData reference = new CalendarData();
+        generateDays(reference, range);
+        reference.updateDayCounters();
+
+		assertThat(days.size()).as("All days should be contained once").isEqualTo(range.size());
+		assertThat(days.get( contained.getDate() )).as("Contained days should be kept").isSameAs(contained);
+        assertSameDays(days, reference, range);
+    }
+
+    @Test
+    public void testChangedDatesArentKeptWithoutDayCounters() {
+
+        final LocalDate start = TestConstantsAndHelpers.SOME_DATE;
+        final Calendar calendar = new CalendarStub( new DateRange(start, start.plusDays(60)), Calendar.Scope.DAY );
+        calendar.startGeneration();
+
+        calendar.setRangeExpected( new DateRange(start.plusDays(20), start.plusDays(40)) );
+        calendar.removeOverhead(true);
+
+		assertThat(calendar.getDays().getNumberOfChangedDates()).as("Nobody updates day counters of DAY-calendars").isEqualTo(0);
+    }
+
+    private static void assertSameDays(final CalendarData actual, final CalendarData expected, final DateRange range) {
+
+        for (LocalDate date : range) {
+
+            final PlanetaryDayData actualData = actual.get(date).getPlanetaryData();
+            final PlanetaryDayData expectedData = expected.get(date).getPlanetaryData();
+
+			assertThat(actualData.getLunarPhase()).as("Lunar phase of " + date).isEqualTo(expectedData.getLunarPhase());
+			assertThat(actualData.getDaysSinceLastMaxPhase()).as("daysSinceLast of " + date)
+					.isEqualTo(expectedData.getDaysSinceLastMaxPhase());
+			assertThat(actualData.getDaysUntilNextMaxPhase()).as("daysUntilNext of " + date)
+					.isEqualTo(expectedData.getDaysUntilNextMaxPhase());
+        }
+    }
+
     private void generateDays(CalendarData days, DateRange rangeToGenerate) {
         for (LocalDate date : rangeToGenerate) {
             final Day day = CalendarGeneratorStub.stubDay(date);
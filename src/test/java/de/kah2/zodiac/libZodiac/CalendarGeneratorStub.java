@@ -29,6 +29,14 @@ public class CalendarGeneratorStub extends CalendarGenerator {
 		return stubDay( new MunichLocationProvider(), date);
 	}
 
+	/**
+	 * Replaces relocation with stubbed calculation for the new location.
+	 */
+	@Override
+	Day createRelocatedDay(final Day source, final LocationProvider sourceLocationProvider) {
+		return stubDay( this.getCalendar().getLocationProvider(), source.getDate() );
+	}
+
 	/**
 	 * This creates a day and stubs calculation of {@link PlanetaryDayData}.
 	 */
@@ -74,7 +74,7 @@ public class CalendarGeneratorTest {
 
 		assertThat(listener.getLastState()).as("Initially state should be null").isNull();
 
-        generator.importDays( CalendarGeneratorStub.stubDayStorableDataSets(rangeExpected) );
+        generator.importDays( CalendarGeneratorStub.stubDayStorableDataSets(rangeExpected).iterator() );
 
 		assertThat(listener.getLastState()).as("After import:").isEqualTo(ProgressListener.State.IMPORT_FINISHED);
 
@@ -93,7 +93,7 @@ public class CalendarGeneratorTest {
 
         generator.importDays( CalendarGeneratorStub.stubDayStorableDataSets(
                 new DateRange( TestConstantsAndHelpers.SOME_DATES_LAST_EXTREME.minusDays(1), TestConstantsAndHelpers.SOME_DATES_NEXT_EXTREME.plusDays(1) )
-        ) );
+        ).iterator() );
 
 		assertThat(listener.getLastState()).as("After import:").isEqualTo(ProgressListener.State.IMPORT_FINISHED);
 
@@ -109,7 +109,7 @@ public class CalendarGeneratorTest {
                 new DateRange( TestConstantsAndHelpers.SOME_DATE, TestConstantsAndHelpers.SOME_DATE.plusDays(2) ), Calendar.Scope.CYCLE).getGenerator();
 
         generator.importDays(
-                CalendarGeneratorStub.stubDayStorableDataSets( generator.getCalendar().getRangeExpected() ) );
+                CalendarGeneratorStub.stubDayStorableDataSets( generator.getCalendar().getRangeExpected() ).iterator() );
 
         this.extendAndWait(generator);
 
@@ -131,7 +131,7 @@ public class CalendarGeneratorTest {
         CalendarGenerator generator = new CalendarStub( expectedRange, Calendar.Scope.CYCLE ).getGenerator();
 
         generator.importDays(
-                CalendarGeneratorStub.stubDayStorableDataSets( rangeToStub ) );
+                CalendarGeneratorStub.stubDayStorableDataSets( rangeToStub ).iterator() );
 
         this.extendAndWait(generator);
 
@@ -148,7 +148,7 @@ public class CalendarGeneratorTest {
         generator.setMaxThreadCount(threadCount);
 
         generator.importDays(
-                CalendarGeneratorStub.stubDayStorableDataSets( generator.getCalendar().getRangeExpected() ) );
+                CalendarGeneratorStub.stubDayStorableDataSets( generator.getCalendar().getRangeExpected() ).iterator() );
 
         this.extendAndWait(generator);
 
@@ -208,7 +208,7 @@ public class CalendarGeneratorTest {
                 new DateRange( TestConstantsAndHelpers.SOME_DATES_LAST_EXTREME.minusDays(1), TestConstantsAndHelpers.SOME_DATES_NEXT_EXTREME.plusDays(1)) );
 
         CalendarGenerator generator = new CalendarStub(range, Calendar.Scope.CYCLE).getGenerator();
-        generator.importDays(daysToImport);
+        generator.importDays(daysToImport.iterator());
 
         TestConstantsAndHelpers.generateAndWaitFor(generator);
 
@@ -237,7 +237,7 @@ public class CalendarGeneratorTest {
         }
 
         generator = new CalendarStub(range, Calendar.Scope.CYCLE).getGenerator();
-        generator.importDays(storedDays);
+        generator.importDays(storedDays.iterator());
 
         days = getValidDays(generator);
 
@@ -333,7 +333,7 @@ public class CalendarGeneratorTest {
 
 		assertThat(expectedRange.isEqual(generator.getRangeNeededToCalculate())).as("Needed range should match expected range at Scope DAY when calendar is empty").isTrue();
 
-        generator.importDays( CalendarGeneratorStub.stubDayStorableDataSets(expectedRange) );
+        generator.importDays( CalendarGeneratorStub.stubDayStorableDataSets(expectedRange).iterator() );
 
 		assertThat(expectedRange.isEqual(generator.getRangeNeededToCalculate())).as("Needed range should match expected range at Scope DAY when calendar is already calculated").isTrue();
     }
@@ -357,7 +357,7 @@ public class CalendarGeneratorTest {
 		assertThat(rangeShouldBe.isEqual(generator.getRangeNeededToCalculate())).as("Needed range should start one day before and end one day after expected range at "
 			+ scope + " when calendar is empty").isTrue();
 
-        generator.importDays( CalendarGeneratorStub.stubDayStorableDataSets(expectedRange) );
+        generator.importDays( CalendarGeneratorStub.stubDayStorableDataSets(expectedRange).iterator() );
 
 		assertThat(rangeShouldBe.isEqual(generator.getRangeNeededToCalculate())).as("Needed range should start one day before and end one day after expected range at Scope "
 			+ scope + " when calendar is already calculated").isTrue();
@@ -0,0 +1,92 @@
+package de.kah2.zodiac.libZodiac;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.LinkedList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link CalendarSnapshot}.
+ */
+public class CalendarSnapshotTest {
+
+    private final static LocalDate DATE = TestConstantsAndHelpers.SOME_DATE;
+
+    @Test
+    public void testWriteAndRestore() throws IOException {
+
+        final Calendar calendar = new CalendarStub( new DateRange(DATE, DATE.plusDays(1500)), Calendar.Scope.CYCLE );
+        calendar.startGeneration();
+
+        final Path path = Files.createTempFile("snapshot", ".bin");
+
+        try {
+            CalendarSnapshot.write(path, calendar);
+
+            final Calendar restored = CalendarSnapshot.restore(path);
+
+			assertThat(restored.getScope()).isEqualTo(Calendar.Scope.CYCLE);
+			assertThat(restored.getRangeExpected().isEqual(calendar.getRangeExpected())).as("Expected range should be restored").isTrue();
+			assertThat(restored.getLocationProvider().getTimeZoneId()).isEqualTo(MunichLocationProvider.TIME_ZONE_ID);
+			assertThat(restored.getLocationProvider().getObserverPosition().getLongitude())
+					.isEqualTo(MunichLocationProvider.POSITION_MUNICH.getLongitude());
+			assertThat(restored.isComplete()).as("Restored calendar should be complete").isTrue();
+
+            final LinkedList<Day> expectedDays = calendar.getValidDays();
+            final LinkedList<Day> restoredDays = restored.getValidDays();
+
+			assertThat(restoredDays.size()).isEqualTo(expectedDays.size());
+
+            for (Day expected : expectedDays) {
+
+                final Day actual = restored.get(expected.getDate());
+
+				assertThat(actual.getPlanetaryData().getLunarPhase()).isEqualTo(expected.getPlanetaryData().getLunarPhase());
+				assertThat(actual.getPlanetaryData().getDaysSinceLastMaxPhase())
+						.isEqualTo(expected.getPlanetaryData().getDaysSinceLastMaxPhase());
+				assertThat(actual.getPlanetaryData().getDaysUntilNextMaxPhase())
+						.isEqualTo(expected.getPlanetaryData().getDaysUntilNextMaxPhase());
+				assertThat(actual.getZodiacData().getSign()).isEqualTo(expected.getZodiacData().getSign());
+            }
+
+            // Nothing is missing, so generation shouldn't calculate anything
+            restored.startGeneration();
+			assertThat(restored.getNewlyGenerated().isEmpty()).as("Nothing should be generated after restoring").isTrue();
+
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testRestoreRejectsCorruptedFiles() throws IOException {
+
+        final Calendar calendar = new CalendarStub( new DateRange(DATE, DATE.plusDays(30)), Calendar.Scope.PHASE );
+        calendar.startGeneration();
+
+        final Path path = Files.createTempFile("snapshot", ".bin");
+
+        try {
+            CalendarSnapshot.write(path, calendar);
+
+            final byte[] bytes = Files.readAllBytes(path);
+            bytes[CalendarSnapshot.HEADER_SIZE + 3] ^= 1;
+            Files.write(path, bytes);
+
+            assertThatThrownBy(() -> CalendarSnapshot.restore(path)).isInstanceOf(IOException.class);
+
+            Files.write(path, new byte[CalendarSnapshot.HEADER_SIZE]);
+
+            assertThatThrownBy(() -> CalendarSnapshot.restore(path)).isInstanceOf(IOException.class);
+
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
@@ -1,13 +1,21 @@
 package de.kah2.zodiac.libZodiac;
 
 import de.kah2.zodiac.libZodiac.Calendar.Scope;
+import de.kah2.zodiac.libZodiac.planetary.Position;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class CalendarTest {
 
@@ -252,6 +260,98 @@ public class CalendarTest {
 		assertThat(calendar.getAllDays().size()).as("Calendar should be empty, when overhead is removed").isEqualTo(0);
 	}
 
+	@Test
+	public void testRelocate() {
+
+		final DateRange expectedRange = new DateRange( TestConstantsAndHelpers.SOME_DATE, TestConstantsAndHelpers.SOME_DATE.plusDays(2) );
+		final DateRange rangeToImport = new DateRange( TestConstantsAndHelpers.SOME_DATES_LAST_EXTREME.minusDays(1), TestConstantsAndHelpers.SOME_DATES_NEXT_EXTREME.plusDays(1) );
+
+		final Calendar calendar = new CalendarStub(expectedRange, Scope.CYCLE);
+		calendar.importDays( CalendarGeneratorStub.stubDayStorableDataSets(rangeToImport) );
+
+		final LocationProvider newLocation = new LocationProvider() {
+			@Override
+			public ZoneId getTimeZoneId() {
+				return ZoneId.of( "America/New_York" );
+			}
+
+			@Override
+			public Position getObserverPosition() {
+				return new Position( 40.7128, -74.006 );
+			}
+		};
+
+		calendar.relocate(newLocation);
+
+		assertThat(calendar.getLocationProvider()).as("LocationProvider should be replaced").isSameAs(newLocation);
+		assertThat(calendar.getNewlyGenerated().size()).as("All days should be relocated").isEqualTo(rangeToImport.size());
+
+		final LinkedList<Day> validDays = calendar.getValidDays();
+
+		assertThat(validDays.size()).as("Relocation shouldn't change the number of valid days").isEqualTo(rangeToImport.size() - 2);
+
+		for (Day day : validDays) {
+
+			assertThat(day.getPlanetaryData().getLunarPhase()).as(day.getDate() + " should have lunar phase").isNotNull();
+			assertThat(day.getPlanetaryData().getSolarRiseSet().getRise())
+					.as(day.getDate() + " should have rise time of new time zone")
+					.isEqualTo( day.getDate().atStartOfDay( newLocation.getTimeZoneId() ).plusHours(7).toInstant() );
+		}
+	}
+
+	@Test
+	public void testFailedRelocationLeavesCalendarUnchanged() {
+
+		final DateRange range = new DateRange( TestConstantsAndHelpers.SOME_DATE, TestConstantsAndHelpers.SOME_DATE.plusDays(4) );
+		final LocalDate failingDate = TestConstantsAndHelpers.SOME_DATE.plusDays(2);
+
+		final Calendar calendar = new CalendarStub(range, Scope.DAY);
+		calendar.setGenerator( new CalendarGeneratorStub(calendar) {
+			@Override
+			Day createRelocatedDay(final Day source, final LocationProvider sourceLocationProvider) {
+				if ( source.getDate().equals(failingDate) ) {
+					throw new IllegalArgumentException("Relocation failed");
+				}
+				return super.createRelocatedDay(source, sourceLocationProvider);
+			}
+		});
+		calendar.importDays( CalendarGeneratorStub.stubDayStorableDataSets(range) );
+
+		calendar.setRangeExpected( new DateRange( range.getStart(), range.getEnd().plusDays(1) ) );
+		calendar.startGeneration();
+
+		final LocationProvider oldLocation = calendar.getLocationProvider();
+		final LinkedList<Day> oldDays = calendar.getAllDays();
+		final List<Day> oldNewlyGenerated = new ArrayList<>( calendar.getNewlyGenerated() );
+
+		final List<ProgressListener.State> states = new ArrayList<>();
+		calendar.addProgressListener( new ProgressListener() {
+			@Override
+			public void onStateChanged(final State state) {
+				states.add(state);
+			}
+
+			@Override
+			public void onCalculationProgress(final float percent) {}
+		});
+
+		assertThatThrownBy( () -> calendar.relocate( new MunichLocationProvider() ) ).isInstanceOf(IllegalStateException.class);
+
+		assertThat(calendar.getLocationProvider()).as("LocationProvider should be kept").isSameAs(oldLocation);
+		assertThat(states.get( states.size() - 1 )).as("Listeners should be notified about the end")
+				.isEqualTo(ProgressListener.State.FINISHED);
+		assertThat(new ArrayList<>( calendar.getNewlyGenerated() )).as("Newly generated days should be kept")
+				.isEqualTo(oldNewlyGenerated);
+
+		final LinkedList<Day> days = calendar.getAllDays();
+
+		assertThat(days.size()).isEqualTo(oldDays.size());
+
+		for (int i = 0; i < days.size(); i++) {
+			assertThat(days.get(i)).as("No day should be replaced").isSameAs( oldDays.get(i) );
+		}
+	}
+
 	@Test
 	public void testFixRangeExpected() {
 		final DateRange oldRange = new DateRange( TestConstantsAndHelpers.SOME_DATE, TestConstantsAndHelpers.SOME_DATE.plusDays(3));
@@ -280,5 +380,42 @@ public class CalendarTest {
 		assertThat(calendar.getRangeExpected().getEnd().isEqual(oldRange.getEnd())).as("expectedRange should end at old range's end").isTrue();
 	}
 
+	@Test
+	public void testChangedDatesContainExactlyModifiedDays() {
+
+		final LocalDate start = TestConstantsAndHelpers.SOME_DATE;
+		final Calendar calendar = new CalendarStub( new DateRange(start, start.plusDays(60)), Scope.CYCLE );
+		calendar.startGeneration();
+
+		assertThat(calendar.getChangedDates()).as("All days are new").hasSize(calendar.getAllDays().size());
+
+		final Map<LocalDate, String> statesBefore = new HashMap<>();
 
+		for (Day day : calendar.getAllDays()) {
+			statesBefore.put( day.getDate(), stateOf(day) );
+		}
+
+		calendar.setRangeExpected( new DateRange(start.plusDays(3), start.plusDays(70)) );
+		calendar.removeOverhead(true);
+		calendar.startGeneration();
+
+		final Set<LocalDate> expected = new TreeSet<>();
+
+		for (Day day : calendar.getAllDays()) {
+			if ( !stateOf(day).equals( statesBefore.remove(day.getDate()) ) ) {
+				expected.add( day.getDate() );
+			}
+		}
+
+		// Removed days
+		expected.addAll( statesBefore.keySet() );
+
+		assertThat(new ArrayList<>( calendar.getChangedDates() )).isEqualTo(new ArrayList<>(expected));
+		assertThat(calendar.getChangedDates().size()).as("Unchanged days shouldn't be contained").isLessThan(calendar.getAllDays().size());
+	}
+
+	private static String stateOf(final Day day) {
+		return day.getPlanetaryData().getLunarPhase() + "/" + day.getPlanetaryData().getDaysSinceLastMaxPhase() + "/"
+				+ day.getPlanetaryData().getDaysUntilNextMaxPhase();
+	}
 }
@@ -0,0 +1,57 @@
+package de.kah2.zodiac.libZodiac;
+
+import de.kah2.zodiac.libZodiac.planetary.PlanetaryDayData;
+import de.kah2.zodiac.libZodiac.planetary.RiseSet;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DaySeriesTest {
+
+    /** More than one chunk and more than one lunar cycle */
+    private final static DateRange RANGE = new DateRange( TestConstantsAndHelpers.SOME_DATE, TestConstantsAndHelpers.SOME_DATE.plusDays(99) );
+
+    @Test
+    public void testSeriesEqualsCalculatedDays() {
+
+        final LocationProvider locationProvider = new MunichLocationProvider();
+
+        final DaySeries series = DaySeries.calculateFor(RANGE, locationProvider);
+
+		assertThat(series.size()).isEqualTo(RANGE.size());
+
+        // Days around range are needed for phases of first and last day
+        final CalendarData days = new CalendarData();
+        for (LocalDate date : new DateRange( RANGE.getStart().minusDays(1), RANGE.getEnd().plusDays(1) )) {
+            days.insert( Day.calculateFor(locationProvider, date) );
+        }
+        days.updateDayCounters();
+
+        for (int i = 0; i < series.size(); i++) {
+
+            final LocalDate date = series.getDate(i);
+            final PlanetaryDayData expected = days.get(date).getPlanetaryData();
+
+			assertThat(series.getLunarLongitudes()[i]).as("Longitude of " + date).isEqualTo(expected.getLunarLongitude());
+			assertThat(series.getLunarVisibilities()[i]).as("Visibility of " + date).isEqualTo(expected.getLunarVisibility());
+			assertThat(series.getSolarRises()[i]).as("Solar rise of " + date).isEqualTo(epochSecondOfRise(expected.getSolarRiseSet()));
+			assertThat(series.getSolarSets()[i]).as("Solar set of " + date).isEqualTo(epochSecondOfSet(expected.getSolarRiseSet()));
+			assertThat(series.getLunarRises()[i]).as("Lunar rise of " + date).isEqualTo(epochSecondOfRise(expected.getLunarRiseSet()));
+			assertThat(series.getLunarSets()[i]).as("Lunar set of " + date).isEqualTo(epochSecondOfSet(expected.getLunarRiseSet()));
+			assertThat(series.getZodiacSigns()[i]).as("Sign of " + date).isEqualTo((byte) days.get(date).getZodiacData().getSign().ordinal());
+			assertThat(series.getLunarPhases()[i]).as("Phase of " + date).isEqualTo((byte) expected.getLunarPhase().ordinal());
+			assertThat(series.getDaysSinceLastMaxPhase()[i]).as("daysSinceLast of " + date).isEqualTo(expected.getDaysSinceLastMaxPhase());
+			assertThat(series.getDaysUntilNextMaxPhase()[i]).as("daysUntilNext of " + date).isEqualTo(expected.getDaysUntilNextMaxPhase());
+        }
+    }
+
+    private static long epochSecondOfRise(final RiseSet riseSet) {
+        return riseSet == null ? DaySeries.NO_RISE_SET : riseSet.getRise().getEpochSecond();
+    }
+
+    private static long epochSecondOfSet(final RiseSet riseSet) {
+        return riseSet == null ? DaySeries.NO_RISE_SET : riseSet.getSet().getEpochSecond();
+    }
+}
@@ -0,0 +1,64 @@
+package de.kah2.zodiac.libZodiac;
+
+import java.time.LocalDate;
+
+/**
+ * This class is used to measure the bookkeeping costs of extending a {@link Calendar} with scope
+ * {@link Calendar.Scope#CYCLE} by one day - e.g. when an app moves its expected range every day. Calculation of days is stubbed,
+ * so only inserting, removing, looking for missing dates and counting days to lunar extremes is measured. Times should be about the
+ * same for all calendar sizes.
+ */
+public class ExtensionBenchmark {
+
+    private final static int[] YEARS = { 1, 10, 50 };
+
+    private final static int NUMBER_OF_EXTENSIONS = 5000;
+
+    private final static LocalDate DATE = LocalDate.of(2017, 10, 4);
+
+    private static void benchmark(final int years) {
+
+        final CalendarData days = new CalendarData();
+
+        DateRange range = new DateRange(DATE, DATE.plusYears(years));
+
+        for (LocalDate date : range) {
+            days.insert( CalendarGeneratorStub.stubDay(date) );
+        }
+
+        days.updateDayCounters();
+
+        final long start = System.nanoTime();
+
+        for (int i = 0; i < NUMBER_OF_EXTENSIONS; i++) {
+
+            range = new DateRange( range.getStart().plusDays(1), range.getEnd().plusDays(1) );
+
+            for (LocalDate date : days.getMissingDates(range)) {
+                days.insert( CalendarGeneratorStub.stubDay(date) );
+            }
+
+            days.removeBefore( range.getStart() );
+            days.updateDayCounters();
+        }
+
+        final long nanosPerExtension = (System.nanoTime() - start) / NUMBER_OF_EXTENSIONS;
+
+        System.out.println( "Calendar of " + years + " years (" + days.size() + " days): "
+                + nanosPerExtension / 1000 + " microseconds per daily extension" );
+    }
+
+    /**
+     * Launcher method.
+     * @param args not needed
+     */
+    public static void main(String[] args) {
+
+        // warm up
+        benchmark( YEARS[0] );
+
+        for (int years : YEARS) {
+            benchmark(years);
+        }
+    }
+}
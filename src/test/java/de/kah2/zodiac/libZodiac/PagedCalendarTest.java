@@ -0,0 +1,174 @@
+package de.kah2.zodiac.libZodiac;
+
+import de.kah2.zodiac.libZodiac.Calendar.Scope;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PagedCalendarTest {
+
+	private final static YearMonth MONTH = YearMonth.from(TestConstantsAndHelpers.SOME_DATE);
+
+	/** Stores generated days and counts loaded pages */
+	private static class PageSourceStub implements CalendarPageSource {
+
+		private final Map<YearMonth, List<DayStorableDataSet>> pages = new HashMap<>();
+
+		private int loadedPages = 0;
+
+		@Override
+		public List<? extends DayStorableDataSet> loadPage(final YearMonth month) {
+			this.loadedPages++;
+			return this.pages.getOrDefault(month, new LinkedList<>());
+		}
+
+		@Override
+		public void pageGenerated(final YearMonth month, final List<Day> generatedDays) {
+
+			final List<DayStorableDataSet> page = this.pages.computeIfAbsent(month, m -> new LinkedList<>());
+
+			for (Day day : generatedDays) {
+				page.add( new DayStorableDataSetPojo(day) );
+			}
+		}
+	}
+
+	private static PagedCalendar createCalendar(final Scope scope, final PageSourceStub pageSource, final int maxResidentPages) {
+
+		final PagedCalendar calendar = new PagedCalendar(scope, new MunichLocationProvider(), pageSource, maxResidentPages);
+		calendar.setGenerator( new CalendarGeneratorStub(calendar) );
+
+		return calendar;
+	}
+
+	@Test
+	public void testPagesAreLoadedOnFirstAccess() {
+
+		final PageSourceStub pageSource = new PageSourceStub();
+		final PagedCalendar calendar = createCalendar(Scope.PHASE, pageSource, 2);
+
+		final Day day = calendar.get(TestConstantsAndHelpers.SOME_DATE);
+
+		assertThat(day).isNotNull();
+		assertThat(day.getPlanetaryData().getLunarPhase()).as("Phase should be calculated").isNotNull();
+		assertThat(calendar.isResident(MONTH)).isTrue();
+		assertThat(pageSource.pages.get(MONTH).size()).as("Generated days should be passed to page source")
+				.isEqualTo(MONTH.lengthOfMonth());
+
+		calendar.get( MONTH.atEndOfMonth() );
+
+		assertThat(pageSource.loadedPages).as("Resident pages shouldn't be loaded again").isEqualTo(1);
+	}
+
+	@Test
+	public void testLeastRecentlyUsedPagesAreRemoved() {
+
+		final PageSourceStub pageSource = new PageSourceStub();
+		final PagedCalendar calendar = createCalendar(Scope.PHASE, pageSource, 2);
+
+		calendar.get( MONTH.atDay(1) );
+		calendar.get( MONTH.plusMonths(5).atDay(1) );
+		// Marks first month as recently used
+		calendar.get( MONTH.atDay(2) );
+		calendar.get( MONTH.plusMonths(10).atDay(1) );
+
+		assertThat(calendar.isResident(MONTH)).isTrue();
+		assertThat(calendar.isResident(MONTH.plusMonths(5))).as("Least recently used page should be removed").isFalse();
+		assertThat(calendar.isResident(MONTH.plusMonths(10))).isTrue();
+		assertThat(calendar.getDays().get( MONTH.plusMonths(5).atDay(15) )).as("Days of removed page should be removed").isNull();
+
+		// Loading a removed page again uses stored days
+		final int generatedDays = pageSource.pages.get( MONTH.plusMonths(5) ).size();
+		calendar.get( MONTH.plusMonths(5).atDay(15) );
+
+		assertThat(pageSource.pages.get( MONTH.plusMonths(5) ).size()).as("Stored days shouldn't be generated again")
+				.isEqualTo(generatedDays);
+	}
+
+	@Test
+	public void testGetRange() {
+
+		final PagedCalendar calendar = createCalendar(Scope.CYCLE, new PageSourceStub(), 3);
+
+		final DateRange range = new DateRange( MONTH.atDay(10), MONTH.plusMonths(2).atDay(10) );
+		final LinkedList<Day> days = calendar.get(range);
+
+		assertThat(days.size()).isEqualTo(range.size());
+
+		for (Day day : days) {
+			assertThat(day.getPlanetaryData().getDaysUntilNextMaxPhase()).as("Counters of " + day.getDate())
+					.isLessThan(20);
+		}
+
+		assertThatThrownBy(() -> calendar.get( new DateRange( MONTH.atDay(1), MONTH.plusMonths(3).atDay(1) ) ))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void testInheritedMethodsWorkWithPages() {
+
+		final PageSourceStub pageSource = new PageSourceStub();
+		final PagedCalendar calendar = createCalendar(Scope.PHASE, pageSource, 3);
+
+		calendar.get( MONTH.atDay(1) );
+		calendar.get( MONTH.plusMonths(5).atDay(1) );
+
+		final LinkedList<Day> validDays = calendar.getValidDays();
+
+		assertThat(validDays).as("Gaps between pages should be allowed").isNotNull();
+		assertThat(validDays.size()).isEqualTo( MONTH.lengthOfMonth() + MONTH.plusMonths(5).lengthOfMonth() );
+
+		final LinkedList<Day> removed = calendar.removeOverhead(true);
+
+		assertThat(removed.isEmpty()).isFalse();
+		assertThat(calendar.isResident(MONTH)).as("Removed page shouldn't be resident").isFalse();
+		assertThat(calendar.isResident(MONTH.plusMonths(5))).isTrue();
+
+		final int loadedPages = pageSource.loadedPages;
+
+		assertThat(calendar.get( MONTH.atDay(15) )).as("Removed page should be loaded again").isNotNull();
+		assertThat(pageSource.loadedPages).isEqualTo(loadedPages + 1);
+
+		calendar.setRangeExpected( new DateRange( MONTH.plusMonths(7).atDay(20), MONTH.plusMonths(8).atDay(10) ) );
+		calendar.startGeneration();
+
+		assertThat(calendar.isResident(MONTH.plusMonths(7))).as("Generation should load pages").isTrue();
+		assertThat(calendar.isResident(MONTH.plusMonths(8))).isTrue();
+		assertThat(calendar.get( MONTH.plusMonths(7).atDay(1) )).isNotNull();
+	}
+
+	@Test
+	public void testNonAdjacentPagesGetOwnCycles() {
+
+		final PagedCalendar calendar = createCalendar(Scope.CYCLE, new PageSourceStub(), 3);
+
+		calendar.get( MONTH.atDay(1) );
+		calendar.get( MONTH.plusMonths(5).atDay(1) );
+
+		for (YearMonth month : List.of( MONTH, MONTH.plusMonths(5) )) {
+
+			final Calendar reference = new CalendarStub( new DateRange( month.atDay(1), month.atEndOfMonth() ), Scope.CYCLE );
+			reference.startGeneration();
+
+			for (Day expected : reference.getDays().of( new Day( month.atDay(1) ), new Day( month.atEndOfMonth() ) )) {
+
+				final Day actual = calendar.get( expected.getDate() );
+
+				assertThat(actual.getPlanetaryData().getLunarPhase()).as("Phase of " + expected.getDate())
+						.isEqualTo(expected.getPlanetaryData().getLunarPhase());
+				assertThat(actual.getPlanetaryData().getDaysSinceLastMaxPhase()).as("Days since extreme of " + expected.getDate())
+						.isEqualTo(expected.getPlanetaryData().getDaysSinceLastMaxPhase());
+				assertThat(actual.getPlanetaryData().getDaysUntilNextMaxPhase()).as("Days until extreme of " + expected.getDate())
+						.isEqualTo(expected.getPlanetaryData().getDaysUntilNextMaxPhase());
+			}
+		}
+	}
+}
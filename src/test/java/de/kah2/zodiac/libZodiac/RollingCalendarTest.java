@@ -0,0 +1,110 @@
+package de.kah2.zodiac.libZodiac;
+
+import de.kah2.zodiac.libZodiac.Calendar.Scope;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.LinkedList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RollingCalendarTest {
+
+	private static RollingCalendar createCalendar(final Scope scope) {
+
+		final RollingCalendar calendar = new RollingCalendar(TestConstantsAndHelpers.SOME_DATE, 2, 5, scope, new MunichLocationProvider());
+		calendar.setGenerator( new CalendarGeneratorStub(calendar) );
+
+		return calendar;
+	}
+
+	@Test
+	public void testAdvanceMovesWindow() {
+
+		final RollingCalendar calendar = createCalendar(Scope.DAY);
+		calendar.startGeneration();
+
+		assertThat(calendar.getDays().size()).as("Should contain whole window").isEqualTo(8);
+
+		final LinkedList<Day> removed = calendar.advance(3);
+
+		assertThat(removed.size()).as("Should remove days before window").isEqualTo(3);
+		assertThat(calendar.getNewlyGenerated().size()).as("Should only generate days after window").isEqualTo(3);
+		assertThat(calendar.getDays().size()).as("Should contain whole window").isEqualTo(8);
+		assertThat(calendar.getDays().getFirst().getDate()).isEqualTo(TestConstantsAndHelpers.SOME_DATE.plusDays(1));
+		assertThat(calendar.getDays().getLast().getDate()).isEqualTo(TestConstantsAndHelpers.SOME_DATE.plusDays(8));
+
+		calendar.advanceTo(TestConstantsAndHelpers.SOME_DATE.plusDays(4));
+
+		assertThat(calendar.getDate()).isEqualTo(TestConstantsAndHelpers.SOME_DATE.plusDays(4));
+		assertThat(calendar.getDays().getLast().getDate()).isEqualTo(TestConstantsAndHelpers.SOME_DATE.plusDays(9));
+	}
+
+	@Test
+	public void testAdvanceKeepsCycleComplete() {
+
+		final RollingCalendar calendar = createCalendar(Scope.CYCLE);
+		calendar.startGeneration();
+
+		calendar.advance(10);
+
+		final LinkedList<Day> validDays = calendar.getValidDays();
+
+		assertThat(validDays.getFirst().getPlanetaryData().getLunarPhase().isLunarExtreme()).as("Should start at extreme").isTrue();
+
+		for (LocalDate date : calendar.getRangeExpected()) {
+
+			final Day day = calendar.getDays().get(date);
+
+			assertThat(day.getPlanetaryData().getDaysSinceLastMaxPhase())
+					.as("Counters of " + date + " should be set").isLessThan(10);
+			assertThat(day.getPlanetaryData().getDaysUntilNextMaxPhase())
+					.as("Counters of " + date + " should be set").isLessThan(10);
+		}
+	}
+
+	@Test
+	public void testPrefetchedDaysAreUsed() {
+
+		final RollingCalendar calendar = createCalendar(Scope.DAY);
+		calendar.setPrefetchDays(3);
+		calendar.startGeneration();
+
+		assertThat(calendar.getGenerator().getNumberOfPrefetchedDays()).as("Should prefetch days after window").isEqualTo(3);
+
+		final LocalDate last = calendar.getDays().getLast().getDate();
+
+		calendar.advance(2);
+
+		assertThat(calendar.getDays().getLast().getDate()).isEqualTo(last.plusDays(2));
+		// 1 remaining + 2 new ones after window
+		assertThat(calendar.getGenerator().getNumberOfPrefetchedDays()).as("Should use prefetched days").isEqualTo(3);
+	}
+
+	@Test
+	public void testSkippedPrefetchedDaysAreDropped() {
+
+		final RollingCalendar calendar = createCalendar(Scope.DAY);
+		calendar.setPrefetchDays(3);
+		calendar.startGeneration();
+
+		calendar.advanceTo( TestConstantsAndHelpers.SOME_DATE.plusDays(20) );
+
+		assertThat(calendar.getGenerator().getNumberOfPrefetchedDays()).as("Only days after the new window should be prefetched")
+				.isEqualTo(3);
+
+		calendar.setPrefetchDays(0);
+		calendar.advance(10);
+
+		assertThat(calendar.getGenerator().getNumberOfPrefetchedDays()).isEqualTo(0);
+	}
+
+	@Test
+	public void testAdvanceBackwardsIsRejected() {
+
+		final RollingCalendar calendar = createCalendar(Scope.DAY);
+
+		assertThatThrownBy(() -> calendar.advance(-1)).isInstanceOf(IllegalArgumentException.class);
+	}
+}
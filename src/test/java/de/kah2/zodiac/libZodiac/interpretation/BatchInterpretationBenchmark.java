@@ -0,0 +1,99 @@
+package de.kah2.zodiac.libZodiac.interpretation;
+
+import de.kah2.zodiac.libZodiac.Calendar;
+import de.kah2.zodiac.libZodiac.CalendarStub;
+import de.kah2.zodiac.libZodiac.DateRange;
+import de.kah2.zodiac.libZodiac.Day;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * This class compares interpreting every day of a calendar one by one using {@link Interpreter#setDayAndInterpret(Day)} with a
+ * {@link BatchInterpreter} - 8 interpreters over 10 years. Calculation of days is stubbed and not measured.
+ */
+public class BatchInterpretationBenchmark {
+
+    private final static int NUMBER_OF_LOOPS = 10;
+
+    private final static LocalDate DATE = LocalDate.of(2017, 10, 4);
+    private final static DateRange RANGE = new DateRange(DATE, DATE.plusYears(10));
+
+    private static List<Interpreter<?>> createInterpreters() {
+
+        return List.of( new Gardening.HarvestInterpreter(), new Gardening.FertilizeInterpreter(),
+                new Gardening.MowLawnInterpreter(), new Gardening.WaterInterpreter(), new Gardening.WeedControlInterpreter(),
+                new Gardening.CuttingTransplantInterpreter(), new Gardening.GraftInterpreter(), new Gardening.SowPlantInterpreter() );
+    }
+
+    /** Interprets day by day like an app listing the results of all interpreters */
+    private static long interpretDayByDay(final Calendar calendar, final List<Interpreter<?>> interpreters) {
+
+        long checksum = 0;
+
+        for (LocalDate date : RANGE) {
+
+            final Day day = calendar.get(date);
+
+            for (Interpreter<?> interpreter : interpreters) {
+                interpreter.setDayAndInterpret(day);
+                checksum += interpreter.getQuality().ordinal() + interpreter.getAnnotationsAsStringArray().length;
+            }
+        }
+
+        return checksum;
+    }
+
+    private static long interpretBatch(final Calendar calendar, final BatchInterpreter batch) {
+
+        final InterpretationTable table = batch.interpret(calendar, RANGE);
+
+        long checksum = 0;
+
+        for (int i = 0; i < table.getQualityOrdinals().length; i++) {
+            checksum += table.getQualityOrdinals()[i] + Long.bitCount( table.getAnnotationBits()[i] );
+        }
+
+        return checksum;
+    }
+
+    private static void measure(final String name, final Runnable run) {
+
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        // warm up
+        run.run();
+
+        final long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+        final long start = System.nanoTime();
+
+        for (int loop = 0; loop < NUMBER_OF_LOOPS; loop++) {
+            run.run();
+        }
+
+        final long micros = (System.nanoTime() - start) / NUMBER_OF_LOOPS / 1000;
+        final long bytes = (threads.getCurrentThreadAllocatedBytes() - bytesBefore) / NUMBER_OF_LOOPS;
+
+        System.out.println( name + ": " + micros + " microseconds, " + bytes / 1024
+                + " KiB allocated by calling thread per run" );
+    }
+
+    /**
+     * Launcher method.
+     * @param args not needed
+     */
+    public static void main(String[] args) {
+
+        final Calendar calendar = new CalendarStub(RANGE, Calendar.Scope.CYCLE);
+        calendar.startGeneration();
+
+        final List<Interpreter<?>> interpreters = createInterpreters();
+        final BatchInterpreter batch = new BatchInterpreter(interpreters);
+
+        System.out.println( interpreters.size() + " interpreters over " + RANGE.size() + " days" );
+
+        measure( "Day by day", () -> interpretDayByDay(calendar, interpreters) );
+        measure( "Batch", () -> interpretBatch(calendar, batch) );
+    }
+}
@@ -0,0 +1,55 @@
+package de.kah2.zodiac.libZodiac.interpretation;
+
+import de.kah2.zodiac.libZodiac.Calendar;
+import de.kah2.zodiac.libZodiac.CalendarStub;
+import de.kah2.zodiac.libZodiac.DateRange;
+import de.kah2.zodiac.libZodiac.TestConstantsAndHelpers;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BatchInterpreterTest {
+
+    @Test
+    public void testResultsEqualSingleInterpretations() {
+
+        final LocalDate start = TestConstantsAndHelpers.SOME_DATE;
+        final Calendar calendar = new CalendarStub( new DateRange(start, start.plusDays(200)), Calendar.Scope.CYCLE );
+        calendar.startGeneration();
+
+        final List<Interpreter<?>> interpreters = List.of( new Gardening.SowPlantInterpreter(),
+                new Gardening.HarvestInterpreter(), new Gardening.TrimInterpreter() );
+
+        // Exceeds the calendar, so the last days are missing
+        final DateRange range = new DateRange( start.plusDays(1), start.plusDays(400) );
+        final InterpretationTable table = new BatchInterpreter(interpreters).interpret(calendar, range);
+
+		assertThat(table.getNumberOfDays()).isEqualTo(range.size());
+		assertThat(table.getNumberOfInterpreters()).isEqualTo(interpreters.size());
+
+		assertThat(calendar.get(range.getEnd())).isNull();
+
+        for (int day = 0; day < table.getNumberOfDays(); day++) {
+
+            final LocalDate date = table.getDate(day);
+
+			assertThat(table.dayOf(date)).isEqualTo(day);
+
+            for (int i = 0; i < interpreters.size(); i++) {
+
+                if (calendar.get(date) == null) {
+					assertThat(table.getQuality(day, i)).as("Missing days have no quality").isNull();
+                    continue;
+                }
+
+                final Interpretation<?> expected = interpreters.get(i).interpret( calendar.get(date) );
+
+				assertThat(table.getQuality(day, i)).as(date + " / " + i).isEqualTo(expected.getQuality());
+				assertThat(table.getAnnotationBits(day, i)).as(date + " / " + i).isEqualTo(expected.getAnnotationBits());
+            }
+        }
+    }
+}
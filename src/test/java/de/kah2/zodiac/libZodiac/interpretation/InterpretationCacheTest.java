@@ -0,0 +1,65 @@
+package de.kah2.zodiac.libZodiac.interpretation;
+
+import de.kah2.zodiac.libZodiac.Calendar;
+import de.kah2.zodiac.libZodiac.CalendarStub;
+import de.kah2.zodiac.libZodiac.DateRange;
+import de.kah2.zodiac.libZodiac.TestConstantsAndHelpers;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InterpretationCacheTest {
+
+    @Test
+    public void testOnlyChangedDaysAreInterpretedAgain() {
+
+        final LocalDate start = TestConstantsAndHelpers.SOME_DATE;
+        final Calendar calendar = new CalendarStub( new DateRange(start, start.plusDays(60)), Calendar.Scope.CYCLE );
+        calendar.startGeneration();
+
+        final InterpretationCache cache = new InterpretationCache(calendar);
+
+        // Not memoized, so every interpretation is a new object
+        final Gardening.TrimInterpreter interpreter = new Gardening.TrimInterpreter() {
+            @Override
+            protected EnumSet<Dependency> getDependencies() {
+                return null;
+            }
+        };
+
+        final DateRange range = new DateRange( start.plusDays(1), start.plusDays(59) );
+        final Map<LocalDate, Interpretation<?>> before = new HashMap<>();
+
+        for (LocalDate date : range) {
+            before.put( date, cache.get(interpreter, date) );
+        }
+
+		assertThat(cache.size()).isEqualTo(range.size());
+		assertThat(cache.get(interpreter, start.plusDays(100))).as("Missing days have no interpretation").isNull();
+
+        calendar.setRangeExpected( new DateRange(start, start.plusDays(70)) );
+        calendar.startGeneration();
+
+		assertThat(calendar.getChangedDates()).isNotEmpty();
+
+        for (LocalDate date : range) {
+
+            final Interpretation<Gardening.TrimInterpreter.PlantCategory> cached = cache.get(interpreter, date);
+            final Interpretation<Gardening.TrimInterpreter.PlantCategory> expected = interpreter.interpret( calendar.get(date) );
+
+			assertThat(cached.getQuality()).as(date.toString()).isEqualTo(expected.getQuality());
+			assertThat(cached.getAnnotationBits()).as(date.toString()).isEqualTo(expected.getAnnotationBits());
+
+            if ( calendar.getChangedDates().contains(date) ) {
+				assertThat(cached).as("Changed days should be interpreted again").isNotSameAs(before.get(date));
+            } else {
+				assertThat(cached).as("Unchanged days should be kept").isSameAs(before.get(date));
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package de.kah2.zodiac.libZodiac.interpretation;
+
+import de.kah2.zodiac.libZodiac.Calendar;
+import de.kah2.zodiac.libZodiac.CalendarStub;
+import de.kah2.zodiac.libZodiac.DateRange;
+import de.kah2.zodiac.libZodiac.Day;
+import de.kah2.zodiac.libZodiac.TestConstantsAndHelpers;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InterpretationIndexTest {
+
+    private final static LocalDate START = TestConstantsAndHelpers.SOME_DATE;
+
+    private final Gardening.SowPlantInterpreter sow = new Gardening.SowPlantInterpreter();
+    private final Gardening.TrimInterpreter trim = new Gardening.TrimInterpreter();
+
+    @Test
+    public void testQueriesEqualLinearScan() {
+
+        final Calendar calendar = new CalendarStub( new DateRange(START, START.plusYears(1)), Calendar.Scope.CYCLE );
+        calendar.startGeneration();
+
+        final InterpretationIndex index = new InterpretationIndex( calendar, List.of(this.sow, this.trim) );
+        final DateRange range = new DateRange( START.plusDays(30), START.plusDays(200) );
+
+		assertThat(index.find(this.sow, Interpreter.Quality.BEST, range, 5, Gardening.Plants.ROOT_VEGETABLES))
+				.isEqualTo(scan(calendar, this.sow, Interpreter.Quality.BEST, range, 5, Gardening.Plants.ROOT_VEGETABLES));
+		assertThat(index.find(this.trim, Interpreter.Quality.GOOD, range, 1000))
+				.isEqualTo(scan(calendar, this.trim, Interpreter.Quality.GOOD, range, 1000));
+
+		assertThat(index.find(this.sow, Interpreter.Quality.BEST, range, 5, Gardening.Plants.ROOT_VEGETABLES)).hasSize(5);
+
+        final LocalDate next = index.findNext(this.sow, Interpreter.Quality.BEST, range.getStart(), Gardening.Plants.LAWN);
+
+		assertThat(next).isEqualTo(scan(calendar, this.sow, Interpreter.Quality.BEST,
+				new DateRange(range.getStart().plusDays(1), START.plusYears(1)), 1, Gardening.Plants.LAWN).get(0));
+    }
+
+    @Test
+    public void testFindBestReturnsBestDaysFirst() {
+
+        final Calendar calendar = new CalendarStub( new DateRange(START, START.plusDays(100)), Calendar.Scope.CYCLE );
+        calendar.startGeneration();
+
+        final InterpretationIndex index = new InterpretationIndex( calendar, List.of(this.trim) );
+        final DateRange range = new DateRange( START.plusDays(10), START.plusDays(90) );
+
+        final List<LocalDate> best = index.findBest(this.trim, range, 20);
+
+		assertThat(best).hasSize(20);
+
+        for (int i = 1; i < best.size(); i++) {
+
+            final Interpreter.Quality before = index.get(this.trim, best.get(i - 1)).getQuality();
+            final Interpreter.Quality after = index.get(this.trim, best.get(i)).getQuality();
+
+			assertThat(after.isBetterThan(before)).isFalse();
+
+            if (after == before) {
+				assertThat(best.get(i).isAfter(best.get(i - 1))).isTrue();
+            }
+        }
+    }
+
+    @Test
+    public void testIndexIsUpdatedAfterGeneration() {
+
+        final Calendar calendar = new CalendarStub( new DateRange(START, START.plusDays(100)), Calendar.Scope.CYCLE );
+        calendar.startGeneration();
+
+        final InterpretationIndex index = new InterpretationIndex( calendar, List.of(this.sow) );
+
+        calendar.setRangeExpected( new DateRange(START.plusDays(50), START.plusDays(200)) );
+        calendar.removeOverhead(true);
+        calendar.startGeneration();
+
+        final InterpretationIndex rebuilt = new InterpretationIndex( calendar, List.of(this.sow) );
+        final DateRange all = new DateRange( START.minusDays(100), START.plusDays(300) );
+
+		assertThat(index.size()).isEqualTo(rebuilt.size());
+		assertThat(index.find(this.sow, Interpreter.Quality.WORST, all, 1000))
+				.isEqualTo(rebuilt.find(this.sow, Interpreter.Quality.WORST, all, 1000));
+		assertThat(index.find(this.sow, Interpreter.Quality.BEST, all, 1000, Gardening.Plants.POTATOES))
+				.isEqualTo(rebuilt.find(this.sow, Interpreter.Quality.BEST, all, 1000, Gardening.Plants.POTATOES));
+    }
+
+    @SafeVarargs
+    private static <T extends Enum<T>> List<LocalDate> scan(final Calendar calendar, final Interpreter<T> interpreter,
+                                                            final Interpreter.Quality minimum, final DateRange range,
+                                                            final int count, final T... annotations) {
+
+        final List<LocalDate> found = new ArrayList<>();
+
+        for (LocalDate date : range) {
+
+            final Day day = calendar.get(date);
+
+            if (day == null || day.getPlanetaryData().getLunarPhase() == null || found.size() == count) {
+                continue;
+            }
+
+            final Interpretation<T> interpretation = interpreter.interpret(day);
+
+            boolean hasAll = true;
+
+            for (T annotation : annotations) {
+                hasAll &= interpretation.hasAnnotation(annotation);
+            }
+
+            if ( !interpretation.getQuality().isWorseThan(minimum) && hasAll ) {
+                found.add(date);
+            }
+        }
+
+        return found;
+    }
+}
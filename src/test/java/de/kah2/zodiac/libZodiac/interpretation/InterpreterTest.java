@@ -1,11 +1,16 @@
 package de.kah2.zodiac.libZodiac.interpretation;
 
+import de.kah2.zodiac.libZodiac.Calendar;
 import de.kah2.zodiac.libZodiac.CalendarGeneratorStub;
+import de.kah2.zodiac.libZodiac.CalendarStub;
+import de.kah2.zodiac.libZodiac.DateRange;
 import de.kah2.zodiac.libZodiac.Day;
 import de.kah2.zodiac.libZodiac.TestConstantsAndHelpers;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDate;
 import java.util.EnumSet;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -98,6 +103,155 @@ public class InterpreterTest {
 		assertThat(annonations[0]).as("Should contain A").isEqualTo(TestEnum.A.toString());
     }
 
+    @Test
+    public void testAnnotationNamesAreCached() {
+
+        final Interpreter<TestEnum> testInterpreter = createInterpreterStub(null);
+
+		assertThat(testInterpreter.getAnnotationNames()).isEmpty();
+
+        testInterpreter.addAnnotation(TestEnum.A);
+        testInterpreter.addAnnotation(TestEnum.C);
+
+        final List<String> names = testInterpreter.getAnnotationNames();
+
+		assertThat(names).containsExactly("A", "C");
+		assertThat(testInterpreter.getAnnotationBits()).isEqualTo(0b101L);
+		assertThat(testInterpreter.getAnnotationNames()).as("Should return the cached list").isSameAs(names);
+		assertThat(testInterpreter.getAnnotationsAsStringArray()).containsExactly("A", "C");
+
+        boolean threwRightException = false;
+
+        try {
+            names.set(0, "B");
+        } catch (UnsupportedOperationException e) {
+            threwRightException = true;
+        }
+
+		assertThat(threwRightException).as("Cached names must not be modifiable").isTrue();
+    }
+
+    @Test
+    public void testInterpretReturnsResultOfOneDay() {
+
+        final Interpreter<TestEnum> testInterpreter = new Interpreter<>() {
+
+            @Override
+            protected Quality doInterpretation() {
+
+                if ( getToday().getDate().isEqual(TestConstantsAndHelpers.SOME_DATE) ) {
+                    addAnnotation(TestEnum.B);
+                    return Quality.BEST;
+                }
+
+                return Quality.NEUTRAL;
+            }
+        };
+
+        final Interpretation<TestEnum> first = testInterpreter.interpret( CalendarGeneratorStub.stubDay(TestConstantsAndHelpers.SOME_DATE) );
+        final Interpretation<TestEnum> second =
+                testInterpreter.interpret( CalendarGeneratorStub.stubDay(TestConstantsAndHelpers.SOME_DATE.plusDays(1)) );
+
+		assertThat(first.getQuality()).isEqualTo(Interpreter.Quality.BEST);
+		assertThat(first.hasAnnotation(TestEnum.B)).isTrue();
+		assertThat(first.getAnnotationBits()).isEqualTo(1L << TestEnum.B.ordinal());
+		assertThat(first.getAnnotationsAsStringArray()).containsExactly("B");
+
+		assertThat(second.getQuality()).isEqualTo(Interpreter.Quality.NEUTRAL);
+		assertThat(second.getAnnotationCount()).as("Annotations of the day before shouldn't be kept").isEqualTo(0);
+		assertThat(first.getAnnotationCount()).as("Results should be immutable").isEqualTo(1);
+    }
+
+    @Test
+    public void testInterpreterCanBeSharedBetweenThreads() throws InterruptedException {
+
+        final Interpreter<Gardening.Plants> interpreter = new Gardening.SowPlantInterpreter();
+        final LocalDate start = TestConstantsAndHelpers.SOME_DATE;
+
+        final long[] expected = new long[100];
+        final long[] actual = new long[expected.length];
+
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = interpreter.interpret( CalendarGeneratorStub.stubDay(start.plusDays(i)) ).getAnnotationBits();
+        }
+
+        final Thread[] threads = new Thread[4];
+
+        for (int t = 0; t < threads.length; t++) {
+
+            final int offset = t;
+
+            threads[t] = new Thread(() -> {
+                for (int i = offset; i < actual.length; i += threads.length) {
+                    actual[i] = interpreter.interpret( CalendarGeneratorStub.stubDay(start.plusDays(i)) ).getAnnotationBits();
+                }
+            });
+            threads[t].start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+		assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    public void testMemoizedResultsEqualInterpretedResults() {
+
+        final LocalDate start = TestConstantsAndHelpers.SOME_DATE;
+        final Calendar calendar = new CalendarStub( new DateRange(start, start.plusYears(2)), Calendar.Scope.CYCLE );
+        calendar.startGeneration();
+
+        final Gardening.SowPlantInterpreter memoized = new Gardening.SowPlantInterpreter();
+        final Gardening.SowPlantInterpreter interpreted = new Gardening.SowPlantInterpreter() {
+            @Override
+            protected EnumSet<Dependency> getDependencies() {
+                return null;
+            }
+        };
+
+        final List<Day> days = calendar.getAllDays();
+
+        for (Day day : days) {
+
+            final Interpretation<Gardening.Plants> expected = interpreted.interpret(day);
+            final Interpretation<Gardening.Plants> actual = memoized.interpret(day);
+
+			assertThat(actual.getQuality()).as(day.getDate().toString()).isEqualTo(expected.getQuality());
+			assertThat(actual.getAnnotationBits()).as(day.getDate().toString()).isEqualTo(expected.getAnnotationBits());
+        }
+
+		assertThat(interpreted.getNumberOfMemoizedResults()).isEqualTo(0);
+		assertThat(memoized.getNumberOfMemoizedResults()).as("Days should share results").isGreaterThan(0).isLessThan(days.size() / 2);
+    }
+
+    @Test
+    public void testStateKeyContainsOnlyDeclaredDependencies() {
+
+        final Day day = CalendarGeneratorStub.stubDay(TestConstantsAndHelpers.SOME_DATE);
+        final Day nextYear = CalendarGeneratorStub.stubDay(TestConstantsAndHelpers.SOME_DATE.plusYears(1));
+
+        final int signOnly = 1 << Interpreter.Dependency.ZODIAC_SIGN.ordinal();
+        final int monthAndDay = 1 << Interpreter.Dependency.MONTH.ordinal() | 1 << Interpreter.Dependency.DAY_OF_MONTH.ordinal();
+
+		assertThat(Interpreter.stateKeyOf(day, 0)).isEqualTo(0);
+		assertThat(Interpreter.stateKeyOf(day, signOnly)).isEqualTo(day.getZodiacSignOrdinal() + 1);
+		assertThat(Interpreter.stateKeyOf(day, monthAndDay)).isEqualTo(Interpreter.stateKeyOf(nextYear, monthAndDay));
+		assertThat(Interpreter.stateKeyOf(day, monthAndDay))
+				.isNotEqualTo(Interpreter.stateKeyOf(CalendarGeneratorStub.stubDay(day.getDate().plusDays(1)), monthAndDay));
+    }
+
+    @Test
+    public void testDayIsntKeptAfterInterpretation() {
+
+        final Interpreter<TestEnum> testInterpreter = createInterpreterStub(Interpreter.Quality.GOOD);
+
+        testInterpreter.interpret( CalendarGeneratorStub.stubDay(TestConstantsAndHelpers.SOME_DATE) );
+
+		assertThat(testInterpreter.getToday()).as("Day shouldn't stay reachable through the interpreter").isNull();
+    }
+
     private static Interpreter<TestEnum> createInterpreterStub(Interpreter.Quality expectedQuality) {
 
         return new Interpreter<>() {
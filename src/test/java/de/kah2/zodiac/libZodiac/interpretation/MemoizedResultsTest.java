@@ -0,0 +1,58 @@
+package de.kah2.zodiac.libZodiac.interpretation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MemoizedResultsTest {
+
+    @Test
+    public void testResultsSurviveGrowing() {
+
+        final MemoizedResults<Interpretation<Gardening.Plants>> results = new MemoizedResults<>();
+        final Interpreter.Quality[] qualities = Interpreter.Quality.values();
+
+        // Keys like those of month and day of month differ in higher bits only
+        for (int i = 0; i < 1000; i++) {
+            results.putIfAbsent( i << 19, new Interpretation<>(qualities[i % qualities.length], i, Gardening.Plants.class) );
+        }
+
+		assertThat(results.size()).isEqualTo(1000);
+
+        for (int i = 0; i < 1000; i++) {
+			assertThat(results.get(i << 19).getAnnotationBits()).isEqualTo(i);
+			assertThat(results.get(i << 19).getQuality()).isEqualTo(qualities[i % qualities.length]);
+        }
+
+		assertThat(results.get(1)).as("Unknown key should have no result").isNull();
+    }
+
+    @Test
+    public void testFirstResultIsKept() {
+
+        final MemoizedResults<Interpretation<Gardening.Plants>> results = new MemoizedResults<>();
+        final Interpretation<Gardening.Plants> first = new Interpretation<>(Interpreter.Quality.GOOD, 0, null);
+
+        results.putIfAbsent(0, first);
+        results.putIfAbsent(0, new Interpretation<>(Interpreter.Quality.BAD, 0, null));
+
+		assertThat(results.size()).isEqualTo(1);
+		assertThat(results.get(0)).isSameAs(first);
+    }
+
+    @Test
+    public void testAllBitsOfKeysAreUsed() {
+
+        final MemoizedResults<String> results = new MemoizedResults<>();
+
+        // Like annotation bitmasks of an enum having 64 constants
+        results.putIfAbsent(-1L, "all");
+        results.putIfAbsent(Long.MIN_VALUE, "last");
+        results.putIfAbsent(Long.MIN_VALUE | 1, "first and last");
+
+		assertThat(results.get(-1L)).isEqualTo("all");
+		assertThat(results.get(Long.MIN_VALUE)).isEqualTo("last");
+		assertThat(results.get(Long.MIN_VALUE | 1)).isEqualTo("first and last");
+		assertThat(results.get(1)).isNull();
+    }
+}
@@ -0,0 +1,294 @@
+package de.kah2.zodiac.libZodiac.interpretation;
+
+import de.kah2.zodiac.libZodiac.Day;
+import de.kah2.zodiac.libZodiac.DayStorableDataSet;
+import de.kah2.zodiac.libZodiac.interpretation.Gardening.Plants;
+import de.kah2.zodiac.libZodiac.planetary.LunarPhase;
+import de.kah2.zodiac.libZodiac.planetary.PlanetaryDayData;
+import de.kah2.zodiac.libZodiac.planetary.RiseSet;
+import de.kah2.zodiac.libZodiac.zodiac.ZodiacSign;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+import static de.kah2.zodiac.libZodiac.interpretation.Condition.*;
+import static de.kah2.zodiac.libZodiac.interpretation.Interpreter.Quality.*;
+import static de.kah2.zodiac.libZodiac.planetary.LunarPhase.*;
+import static de.kah2.zodiac.libZodiac.zodiac.ZodiacDirection.ASCENDING;
+import static de.kah2.zodiac.libZodiac.zodiac.ZodiacDirection.DESCENDING;
+import static de.kah2.zodiac.libZodiac.zodiac.ZodiacElement.PlantPart.*;
+import static de.kah2.zodiac.libZodiac.zodiac.ZodiacSign.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RuleTableTest {
+
+    /** Day counts to check - around all limits used by {@link Gardening} and not calculated */
+    private final static int[] DAY_COUNTS = { 0, 1, 3, 4, 5, 6, 7, 8, 9, 14, PlanetaryDayData.DAY_COUNT_NOT_CALCULATED };
+
+    private final static LocalDate SOME_DATE = LocalDate.of(2016, 9, 3);
+
+    @Test
+    public void testHarvestEquivalence() {
+
+        assertEquivalent( new Gardening.HarvestInterpreter(),
+                new RuleTable<>(Gardening.HarvestInterpreter.Usage.class, NEUTRAL)
+                        .rate( sign(ARIES), BEST )
+                        .rate( sign(PISCES, CANCER), BAD )
+                        .rate( sign(VIRGO), WORST )
+                        .rate( direction(ASCENDING), GOOD )
+                        .rate( phase(INCREASING), BAD )
+                        .annotate( qualityBetterThan(NEUTRAL), Gardening.HarvestInterpreter.Usage.TO_CONSERVE )
+                        .annotate( qualityBetterThan(NEUTRAL).and( phase(DECREASING) ), Gardening.HarvestInterpreter.Usage.TO_DRY )
+                        .annotate( qualityWorseThan(NEUTRAL), Gardening.HarvestInterpreter.Usage.CONSUME_IMMEDIATELY )
+                        .compile() );
+    }
+
+    @Test
+    public void testFertilizeEquivalence() {
+
+        assertEquivalent( new Gardening.FertilizeInterpreter(),
+                new RuleTable<>(Plants.class, GOOD)
+                        .rate( sign(LEO), WORST )
+                        .rate( phase(NEW_MOON, INCREASING), BAD )
+                        .rate( sign(ARIES, SAGITTARIUS), BEST, Plants.FRUIT_PLANTS )
+                        .rate( plantPart(LEAF), BEST, Plants.FLOWERS )
+                        .compile() );
+    }
+
+    @Test
+    public void testMowLawnEquivalence() {
+
+        assertEquivalent( new Gardening.MowLawnInterpreter(),
+                new RuleTable<>(Plants.class, NEUTRAL)
+                        .rate( plantPart(LEAF).and( sign(CANCER) ).and( phase(INCREASING) ), BEST )
+                        .rate( plantPart(LEAF), GOOD )
+                        .compile() );
+    }
+
+    @Test
+    public void testWaterEquivalence() {
+
+        assertEquivalent( new Gardening.WaterInterpreter(),
+                new RuleTable<>(Plants.class, NEUTRAL)
+                        .rate( plantPart(LEAF), BEST )
+                        .rate( plantPart(FLOWER), WORST )
+                        .compile() );
+    }
+
+    @Test
+    public void testWeedControlEquivalence() {
+
+        assertEquivalent( new Gardening.WeedControlInterpreter(),
+                new RuleTable<>(Gardening.WeedControlInterpreter.Actions.class, GOOD)
+                        .rate( date( MonthDay.of(Month.JUNE, 18) ), BEST, Gardening.WeedControlInterpreter.Actions.WEED_BEFORE_NOON )
+                        .rate( phase(INCREASING).and( sign(LEO) ), WORST, Gardening.WeedControlInterpreter.Actions.DIG )
+                        .rate( phase(INCREASING), BAD )
+                        .rate( sign(CAPRICORN), BEST, Gardening.WeedControlInterpreter.Actions.WEED )
+                        .rate( always(), GOOD, Gardening.WeedControlInterpreter.Actions.WEED )
+                        .compile() );
+    }
+
+    @Test
+    public void testCuttingTransplantEquivalence() {
+
+        final Condition suitable = phase(INCREASING).or( direction(DESCENDING) );
+
+        assertEquivalent( new Gardening.CuttingTransplantInterpreter(),
+                new RuleTable<>(Plants.class, NEUTRAL)
+                        .rate( suitable.and( sign(VIRGO) ), BEST )
+                        .rate( suitable, GOOD )
+                        .compile() );
+    }
+
+    @Test
+    public void testGraftEquivalence() {
+
+        final Condition increasing = phase(INCREASING, FULL_MOON);
+
+        assertEquivalent( new Gardening.GraftInterpreter(),
+                new RuleTable<>(Plants.class, NEUTRAL)
+                        .rate( increasing.and( plantPart(FRUIT) ).and( daysUntilNextMaxPhaseBelow(8) ), BEST )
+                        .rate( increasing, GOOD )
+                        .rate( direction(ASCENDING).and( plantPart(FRUIT) ), BEST )
+                        .rate( direction(ASCENDING), GOOD )
+                        .rate( phase(DECREASING, NEW_MOON).and( direction(DESCENDING) ), WORST )
+                        .compile() );
+    }
+
+    @Test
+    public void testTrimEquivalence() {
+
+        final Condition decreasing = phase(DECREASING).or( direction(DESCENDING) );
+
+        assertEquivalent( new Gardening.TrimInterpreter(),
+                new RuleTable<>(Gardening.TrimInterpreter.PlantCategory.class, BAD)
+                        .rate( phase(INCREASING).and( plantPart(LEAF) ), WORST )
+                        .rate( daysUntilNextMaxPhaseBelow(4).and( phase(DECREASING) ), GOOD,
+                                Gardening.TrimInterpreter.PlantCategory.SICK_PLANTS )
+                        .rate( daysUntilNextMaxPhaseBelow(4).and( phase(NEW_MOON) ), BEST,
+                                Gardening.TrimInterpreter.PlantCategory.SICK_PLANTS )
+                        .rate( decreasing.and( plantPart(FRUIT) ), BEST, Gardening.TrimInterpreter.PlantCategory.FRUIT_TREES )
+                        .rate( decreasing, GOOD )
+                        .compile() );
+    }
+
+    @Test
+    public void testCombatPestsEquivalence() {
+
+        assertEquivalent( new Gardening.CombatPestsInterpreter(),
+                new RuleTable<>(Gardening.CombatPestsInterpreter.PestType.class, NEUTRAL)
+                        .rate( phase(DECREASING).and( plantPart(ROOT) ), BEST, Gardening.CombatPestsInterpreter.PestType.SUBTERRESTRIAL )
+                        .rate( phase(DECREASING).and( sign(CANCER) ), BEST, Gardening.CombatPestsInterpreter.PestType.OVERTERRESTRIAL )
+                        .rate( phase(DECREASING).and( sign(GEMINI, SAGITTARIUS) ), GOOD,
+                                Gardening.CombatPestsInterpreter.PestType.OVERTERRESTRIAL )
+                        .rate( phase(INCREASING).and( sign(SCORPIO) ), BEST, Gardening.CombatPestsInterpreter.PestType.SLUGS )
+                        .compile() );
+    }
+
+    @Test
+    public void testSowPlantEquivalence() {
+        assertEquivalent( new Gardening.SowPlantInterpreter(), createSowPlantRules().compile() );
+    }
+
+    static RuleTable<Plants> createSowPlantRules() {
+
+        final Condition increasingOrDescending = phase(INCREASING).or( direction(DESCENDING) );
+        final Condition decreasingOrDescending = phase(DECREASING).or( direction(DESCENDING) );
+
+        return new RuleTable<>(Plants.class, NEUTRAL)
+                .annotate( phase(INCREASING).and( sign(VIRGO, LEO) ), Plants.LAWN )
+                .annotate( increasingOrDescending.and( plantPart(FRUIT) ), Plants.FRUIT_PLANTS )
+                .annotate( increasingOrDescending.and( plantPart(LEAF) ), Plants.LEAFY_VEGETABLES )
+                .annotate( increasingOrDescending.and( plantPart(FLOWER) ), Plants.FLOWERS )
+                .annotate( phase(DECREASING).and( plantPart(LEAF) ), Plants.SALAD )
+                .annotate( phase(DECREASING).and( plantPart(ROOT) ).and( daysSinceLastMaxPhaseBelow(7) ), Plants.POTATOES )
+                .annotate( decreasingOrDescending.and( plantPart(ROOT) ), Plants.ROOT_VEGETABLES )
+                .rate( hasAnnotations(), BEST );
+    }
+
+    @Test
+    public void testTableContainsOnlyUsedDimensions() {
+
+        final RuleInterpreter<Plants> interpreter = createSowPlantRules().compile();
+
+		assertThat(interpreter.getRuleDependencies()).isEqualTo( EnumSet.of(Interpreter.Dependency.ZODIAC_SIGN,
+                Interpreter.Dependency.LUNAR_PHASE, Interpreter.Dependency.DAYS_SINCE_LAST_MAX_PHASE) );
+		assertThat(interpreter.getTableSize()).as("13 signs * 5 phases * 8 day counts").isEqualTo(13 * 5 * 8);
+    }
+
+    @Test
+    public void testLaterRulesDontAffectCompiledInterpreter() {
+
+        final RuleTable<Plants> rules = new RuleTable<>(Plants.class, NEUTRAL);
+        final RuleInterpreter<Plants> interpreter = rules.compile();
+
+        rules.rate( always(), BEST, Plants.LAWN );
+
+        final Interpretation<Plants> result = interpreter.interpret( createDay(SOME_DATE, ARIES, INCREASING, 0, 0) );
+
+		assertThat(result.getQuality()).isEqualTo(NEUTRAL);
+		assertThat(result.getAnnotationBits()).isEqualTo(0L);
+		assertThat(rules.compile().interpret( createDay(SOME_DATE, ARIES, INCREASING, 0, 0) ).getQuality()).isEqualTo(BEST);
+    }
+
+    @Test
+    public void testInvalidDayLimitsAreRejected() {
+
+		assertThatThrownBy( () -> daysSinceLastMaxPhaseBelow(0) ).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy( () -> daysUntilNextMaxPhaseBelow(Interpreter.MAX_DISTINGUISHED_DAY_COUNT + 1) )
+				.isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Compares results of both interpreters for all signs, phases, the day counts of {@link #DAY_COUNTS} and - if the rules depend
+     * on the date - all days of a leap year.
+     */
+    private static <T extends Enum<T>> void assertEquivalent(final Interpreter<T> expected, final RuleInterpreter<T> actual) {
+
+        final List<LocalDate> dates = new ArrayList<>();
+
+        if ( actual.getRuleDependencies().contains(Interpreter.Dependency.MONTH) ) {
+            for (LocalDate date = LocalDate.of(2016, 1, 1); date.getYear() == 2016; date = date.plusDays(1)) {
+                dates.add(date);
+            }
+        } else {
+            dates.add(SOME_DATE);
+        }
+
+        final List<LunarPhase> phases = new ArrayList<>( Arrays.asList(LunarPhase.values()) );
+        phases.add(null);
+
+        int compared = 0;
+
+        for (LocalDate date : dates) {
+            for (ZodiacSign sign : ZodiacSign.values()) {
+                for (LunarPhase phase : phases) {
+                    for (int daysSince : DAY_COUNTS) {
+                        for (int daysUntil : DAY_COUNTS) {
+
+                            final Day day = createDay(date, sign, phase, daysSince, daysUntil);
+
+                            final Interpretation<T> expectedResult = expected.interpret(day);
+                            final Interpretation<T> actualResult = actual.interpret(day);
+
+                            final String description = date + " " + sign + " " + phase + " " + daysSince + "/" + daysUntil;
+
+							assertThat(actualResult.getQuality()).as(description).isEqualTo(expectedResult.getQuality());
+							assertThat(actualResult.getAnnotationBits()).as(description).isEqualTo(expectedResult.getAnnotationBits());
+
+                            compared++;
+                        }
+                    }
+                }
+            }
+        }
+
+		assertThat(compared).isEqualTo( dates.size() * 12 * 5 * DAY_COUNTS.length * DAY_COUNTS.length );
+    }
+
+    private static Day createDay(final LocalDate date, final ZodiacSign sign, final LunarPhase phase,
+                                 final int daysSinceLastMaxPhase, final int daysUntilNextMaxPhase) {
+
+        final Day day = Day.importFrom(new DayStorableDataSet() {
+
+            @Override
+            public LocalDate getDate() {
+                return date;
+            }
+
+            @Override
+            public RiseSet getSolarRiseSet() {
+                return null;
+            }
+
+            @Override
+            public RiseSet getLunarRiseSet() {
+                return null;
+            }
+
+            @Override
+            public double getLunarVisibility() {
+                return 0.5;
+            }
+
+            @Override
+            public double getLunarLongitude() {
+                // Middle of the sign
+                return sign.ordinal() * 30 + 15;
+            }
+        });
+
+        day.getPlanetaryData().setLunarPhase(phase);
+        day.getPlanetaryData().setDaysSinceLastMaxPhase(daysSinceLastMaxPhase);
+        day.getPlanetaryData().setDaysUntilNextMaxPhase(daysUntilNextMaxPhase);
+
+        return day;
+    }
+}
@@ -0,0 +1,94 @@
+package de.kah2.zodiac.libZodiac.planetary;
+
+import de.kah2.zodiac.libZodiac.DateRange;
+import de.kah2.zodiac.libZodiac.MunichLocationProvider;
+import de.kah2.zodiac.nova4jmt.JulianDay;
+import de.kah2.zodiac.nova4jmt.api.LnDate;
+
+import java.lang.management.ManagementFactory;
+import java.time.*;
+import java.util.function.Consumer;
+
+/**
+ * This class is used to measure the bytes allocated per day when converting local times to julian dates and back - once the way it
+ * was done before {@link JulianDate} (via {@link ZonedDateTime} and {@link LnDate}) and once with {@link JulianDate}. Additionally
+ * the allocations of a whole {@link PlanetaryDayData#calculateFor} are shown for comparison. Allocated bytes are read from
+ * {@link com.sun.management.ThreadMXBean}, so this needs a HotSpot based JVM.
+ */
+public class JulianDateBenchmark {
+
+    private final static LocalDate DATE = LocalDate.of(2017, 10, 4);
+    private final static DateRange RANGE = new DateRange(DATE, DATE.plusYears(10));
+
+    private final static ZoneId ZONE_ID = MunichLocationProvider.TIME_ZONE_ID;
+
+    /** Prevents the JIT from eliminating the conversions */
+    private static double sink;
+
+    private static void legacyConversion(final LocalDate date) {
+
+        final double julianDateAtDayStart = legacyJulianDate( ZonedDateTime.of( date.atStartOfDay(), ZONE_ID ) );
+        final double julianDateAtNoon = legacyJulianDate( ZonedDateTime.of( date, LocalTime.NOON, ZONE_ID ) );
+
+        final LnDate lnDate = new LnDate();
+        JulianDay.ln_get_date(julianDateAtNoon, lnDate);
+        final Instant instant = LocalDateTime.of(lnDate.years, lnDate.months, lnDate.days, lnDate.hours, lnDate.minutes)
+                .atZone(ZoneId.of("UTC")).toInstant();
+
+        sink += julianDateAtDayStart + instant.getEpochSecond();
+    }
+
+    private static double legacyJulianDate(final ZonedDateTime date) {
+
+        final Instant utcDate = date.withZoneSameInstant(ZoneId.of("UTC")).toInstant();
+
+        final LnDate lnDate = new LnDate();
+        JulianDay.ln_get_date_from_UTC_milliseconds(lnDate, utcDate.toEpochMilli());
+
+        return JulianDay.ln_get_julian_day(lnDate);
+    }
+
+    private static void arithmeticConversion(final LocalDate date) {
+
+        final double julianDateAtDayStart = PlanetaryDayData.julianDateAtDayStart(date, ZONE_ID);
+        final double julianDateAtNoon = PlanetaryDayData.julianDateAtNoon(date, ZONE_ID);
+
+        sink += julianDateAtDayStart + RiseSet.toEpochSecond(julianDateAtNoon);
+    }
+
+    private static void benchmark(final String name, final Consumer<LocalDate> conversion) {
+
+        final com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long threadId = Thread.currentThread().getId();
+
+        // warm up
+        for (LocalDate date : RANGE) {
+            conversion.accept(date);
+        }
+
+        final long bytesBefore = bean.getThreadAllocatedBytes(threadId);
+        final long start = System.nanoTime();
+
+        for (LocalDate date : RANGE) {
+            conversion.accept(date);
+        }
+
+        final long nanos = System.nanoTime() - start;
+        final long bytes = bean.getThreadAllocatedBytes(threadId) - bytesBefore;
+
+        // Iterating the range allocates a LocalDate per day, which is included
+        System.out.println( name + ": " + bytes / RANGE.size() + " bytes and " + nanos / RANGE.size() + " ns per day" );
+    }
+
+    /**
+     * Launcher method.
+     * @param args not needed
+     */
+    public static void main(String[] args) {
+
+        benchmark( "ZonedDateTime/LnDate conversion", JulianDateBenchmark::legacyConversion );
+        benchmark( "Arithmetic conversion", JulianDateBenchmark::arithmeticConversion );
+        benchmark( "Whole PlanetaryDayData.calculateFor",
+                date -> PlanetaryDayData.calculateFor(date, new MunichLocationProvider()) );
+    }
+}
@@ -0,0 +1,79 @@
+package de.kah2.zodiac.libZodiac.planetary;
+
+import de.kah2.zodiac.libZodiac.DateRange;
+import de.kah2.zodiac.nova4jmt.JulianDay;
+import de.kah2.zodiac.nova4jmt.api.LnDate;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Tests for {@link JulianDate}.
+ */
+public class JulianDateTest {
+
+    private final static ZoneId BERLIN = ZoneId.of("Europe/Berlin");
+
+    @Test
+    public void testEqualsLibNovaAroundTransitions() {
+
+        // contains both transitions of 2016
+        final DateRange range = new DateRange( LocalDate.of(2016, 3, 20), LocalDate.of(2016, 11, 5) );
+
+        for (LocalDate date : range) {
+            for (int hour = 0; hour < 24; hour++) {
+
+                final int secondOfDay = hour * 3600 + 30 * 60;
+                final ZonedDateTime expected = ZonedDateTime.of( date, LocalTime.ofSecondOfDay(secondOfDay), BERLIN );
+
+				assertThat(JulianDate.toEpochSecond(date, secondOfDay, BERLIN))
+						.as("Epoch second of " + expected).isEqualTo(expected.toEpochSecond());
+				assertThat(JulianDate.of(date, secondOfDay, BERLIN))
+						.as("Julian date of " + expected).isCloseTo(libNovaJulianDate(expected), within(1e-8));
+            }
+        }
+    }
+
+    @Test
+    public void testWindowsOnBothSidesOfTransitionAreKept() {
+
+        final ZoneId zoneId = ZoneId.of("Australia/Sydney");
+
+        // Alternates between summer and winter time of 2016 like parallel threads working on both sides of the transition
+        for (int i = 0; i < 10; i++) {
+
+            final LocalDate date = i % 2 == 0 ? LocalDate.of(2016, 3, 1).plusDays(i) : LocalDate.of(2016, 4, 5).plusDays(i);
+            final ZonedDateTime expected = ZonedDateTime.of( date, LocalTime.NOON, zoneId );
+
+			assertThat(JulianDate.toEpochSecond(date, 12 * 3600, zoneId))
+					.as("Epoch second of " + expected).isEqualTo(expected.toEpochSecond());
+        }
+
+		assertThat(JulianDate.getNumberOfOffsetWindows(zoneId)).as("Both windows should be cached").isEqualTo(2);
+    }
+
+    @Test
+    public void testToEpochSecond() {
+
+        final ZonedDateTime dateTime = ZonedDateTime.of( 2016, 9, 3, 17, 42, 13, 0, ZoneId.of("UTC") );
+
+        final double julianDate = libNovaJulianDate(dateTime);
+
+		assertThat(JulianDate.toEpochSecond(julianDate)).isCloseTo(dateTime.toEpochSecond(), within(1L));
+		assertThat(RiseSet.toEpochSecond(julianDate)).as("Should be truncated to minutes").isEqualTo(dateTime.toEpochSecond() - 13);
+    }
+
+    private static double libNovaJulianDate(final ZonedDateTime dateTime) {
+
+        final LnDate lnDate = new LnDate();
+        JulianDay.ln_get_date_from_UTC_milliseconds(lnDate, dateTime.toInstant().toEpochMilli());
+
+        return JulianDay.ln_get_julian_day(lnDate);
+    }
+}
@@ -0,0 +1,126 @@
+package de.kah2.zodiac.libZodiac.planetary;
+
+import de.kah2.zodiac.libZodiac.Day;
+import de.kah2.zodiac.libZodiac.DayStorableDataSet;
+import de.kah2.zodiac.libZodiac.DayStorableDataSetPojo;
+import de.kah2.zodiac.libZodiac.LocationProvider;
+import de.kah2.zodiac.libZodiac.MunichLocationProvider;
+import de.kah2.zodiac.libZodiac.TestConstantsAndHelpers;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PlanetaryDayData}.
+ */
+public class PlanetaryDayDataTest {
+
+    private final static LocalDate DATE = TestConstantsAndHelpers.SOME_DATE;
+
+    @Test
+    public void testRelocateToOtherPosition() {
+
+        final LocationProvider munich = new MunichLocationProvider();
+        final LocationProvider berlin = createLocationProvider( new Position(52.52, 13.405), MunichLocationProvider.TIME_ZONE_ID );
+
+        final PlanetaryDayData source = this.calculateWithCountersFor(munich);
+        final PlanetaryDayData relocated = PlanetaryDayData.relocate(DATE, source, munich, berlin);
+
+		assertThat(relocated.getLunarVisibility()).as("Visibility should be reused").isEqualTo(source.getLunarVisibility());
+		assertThat(relocated.getLunarLongitude()).as("Longitude should be reused").isEqualTo(source.getLunarLongitude());
+		assertThat(relocated.getLunarPhase()).as("Lunar phase should be reused").isEqualTo(source.getLunarPhase());
+		assertThat(relocated.getDaysSinceLastMaxPhase()).as("daysSinceLast should be reused").isEqualTo(source.getDaysSinceLastMaxPhase());
+		assertThat(relocated.getDaysUntilNextMaxPhase()).as("daysUntilNext should be reused").isEqualTo(source.getDaysUntilNextMaxPhase());
+
+		assertThat(relocated.getSolarRiseSet()).as("Solar rise and set should be calculated again").isNotSameAs(source.getSolarRiseSet());
+		assertThat(relocated.getSolarRiseSet().getRise()).as("Solar rise should differ").isNotEqualTo(source.getSolarRiseSet().getRise());
+    }
+
+    @Test
+    public void testRelocateToTimeZoneWithSameOffsets() {
+
+        final LocationProvider munich = new MunichLocationProvider();
+        final LocationProvider paris = createLocationProvider( MunichLocationProvider.POSITION_MUNICH, ZoneId.of("Europe/Paris") );
+
+        final PlanetaryDayData source = this.calculateWithCountersFor(munich);
+        final PlanetaryDayData relocated = PlanetaryDayData.relocate(DATE, source, munich, paris);
+
+		assertThat(relocated.getSolarRiseSet()).as("Solar rise and set should be reused").isSameAs(source.getSolarRiseSet());
+		assertThat(relocated.getLunarRiseSet()).as("Lunar rise and set should be reused").isSameAs(source.getLunarRiseSet());
+		assertThat(relocated.getLunarVisibility()).as("Visibility should be reused").isEqualTo(source.getLunarVisibility());
+		assertThat(relocated.getLunarPhase()).as("Lunar phase should be reused").isEqualTo(source.getLunarPhase());
+    }
+
+    @Test
+    public void testRelocateToOtherTimeZone() {
+
+        final LocationProvider munich = new MunichLocationProvider();
+        final LocationProvider london = createLocationProvider( MunichLocationProvider.POSITION_MUNICH, ZoneId.of("Europe/London") );
+
+        final PlanetaryDayData source = this.calculateWithCountersFor(munich);
+        final PlanetaryDayData relocated = PlanetaryDayData.relocate(DATE, source, munich, london);
+
+		assertThat(PlanetaryDayData.isNoonShifted(DATE, munich.getTimeZoneId(), london.getTimeZoneId())).as("Noon should be shifted").isTrue();
+		assertThat(relocated.getLunarVisibility()).as("Visibility should be calculated again").isNotEqualTo(source.getLunarVisibility());
+		assertThat(relocated.getLunarPhase()).as("Lunar phase depends on neighbours and must be updated").isNull();
+		assertThat(relocated.getDaysUntilNextMaxPhase()).as("Counters must be updated").isEqualTo(PlanetaryDayData.DAY_COUNT_NOT_CALCULATED);
+    }
+
+    @Test
+    public void testImportKeepsRiseAndSetTimes() {
+
+        final Day day = Day.calculateFor(new MunichLocationProvider(), DATE);
+        final DayStorableDataSet stored = new DayStorableDataSetPojo(day);
+
+		assertThat(stored.getSolarRiseEpochSecond()).as("Should store primitives")
+				.isEqualTo(day.getPlanetaryData().getSolarRiseSet().getRise().getEpochSecond());
+
+        final PlanetaryDayData imported = PlanetaryDayData.importFrom(stored);
+
+		assertThat(imported.getSolarRiseSet().getRise()).isEqualTo(day.getPlanetaryData().getSolarRiseSet().getRise());
+		assertThat(imported.getSolarRiseSet().getSet()).isEqualTo(day.getPlanetaryData().getSolarRiseSet().getSet());
+		assertThat(imported.getLunarRiseSet().getRise()).isEqualTo(day.getPlanetaryData().getLunarRiseSet().getRise());
+		assertThat(imported.getLunarRiseSet().getSet()).isEqualTo(day.getPlanetaryData().getLunarRiseSet().getSet());
+    }
+
+    @Test
+    public void testMissingRiseSetTimes() {
+
+        final RiseSet onlySet = new RiseSet(null, Instant.ofEpochSecond(120));
+
+		assertThat(onlySet.getRise()).as("Missing rise should be null").isNull();
+		assertThat(onlySet.getRiseEpochSecond()).isEqualTo(RiseSet.NO_EVENT);
+		assertThat(onlySet.getSetEpochSecond()).isEqualTo(120);
+		assertThat(RiseSet.ofEpochSeconds(RiseSet.NO_EVENT, RiseSet.NO_EVENT)).as("Circumpolar should be null").isNull();
+    }
+
+    private PlanetaryDayData calculateWithCountersFor(final LocationProvider locationProvider) {
+
+        final PlanetaryDayData data = PlanetaryDayData.calculateFor(DATE, locationProvider);
+        data.setLunarPhase(LunarPhase.INCREASING);
+        data.setDaysSinceLastMaxPhase(2);
+        data.setDaysUntilNextMaxPhase(3);
+
+        return data;
+    }
+
+    private static LocationProvider createLocationProvider(final Position position, final ZoneId zoneId) {
+
+        return new LocationProvider() {
+
+            @Override
+            public ZoneId getTimeZoneId() {
+                return zoneId;
+            }
+
+            @Override
+            public Position getObserverPosition() {
+                return position;
+            }
+        };
+    }
+}
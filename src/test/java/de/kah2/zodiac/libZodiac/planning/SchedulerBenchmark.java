@@ -0,0 +1,86 @@
+package de.kah2.zodiac.libZodiac.planning;
+
+import de.kah2.zodiac.libZodiac.Calendar;
+import de.kah2.zodiac.libZodiac.CalendarStub;
+import de.kah2.zodiac.libZodiac.DateRange;
+import de.kah2.zodiac.libZodiac.interpretation.Gardening;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class measures scheduling a gardening season: 50 tasks - sowing, fertilizing, trimming and harvesting of 12 plants plus two
+ * times mowing the lawn - over 365 days with at most one task per day. Calculation of days is stubbed and not measured.
+ */
+public class SchedulerBenchmark {
+
+    private final static int NUMBER_OF_LOOPS = 5;
+
+    private final static int NUMBER_OF_PLANTS = 12;
+
+    private final static LocalDate DATE = LocalDate.of(2018, 1, 1);
+    private final static DateRange RANGE = new DateRange(DATE, DATE.plusDays(364));
+
+    private static List<Task<?>> createSeason() {
+
+        final Gardening.SowPlantInterpreter sow = new Gardening.SowPlantInterpreter();
+        final Gardening.FertilizeInterpreter fertilize = new Gardening.FertilizeInterpreter();
+        final Gardening.TrimInterpreter trim = new Gardening.TrimInterpreter();
+        final Gardening.HarvestInterpreter harvest = new Gardening.HarvestInterpreter();
+        final Gardening.MowLawnInterpreter mow = new Gardening.MowLawnInterpreter();
+
+        final List<Task<?>> tasks = new ArrayList<>();
+
+        for (int plant = 0; plant < NUMBER_OF_PLANTS; plant++) {
+
+            // Sowing is spread over spring
+            final LocalDate sowFrom = DATE.plusDays(60 + plant * 7);
+
+            final Task<?> sowTask = new Task<>("sow " + plant, sow).within( new DateRange(sowFrom, sowFrom.plusDays(30)) );
+            final Task<?> fertilizeTask = new Task<>("fertilize " + plant, fertilize).after(sowTask, 14);
+            final Task<?> trimTask = new Task<>("trim " + plant, trim).after(fertilizeTask, 10);
+            final Task<?> harvestTask = new Task<>("harvest " + plant, harvest).after(trimTask, 30);
+
+            tasks.add(sowTask);
+            tasks.add(fertilizeTask);
+            tasks.add(trimTask);
+            tasks.add(harvestTask);
+        }
+
+        final Task<?> firstMowing = new Task<>("mow", mow).within( new DateRange(DATE.plusDays(120), DATE.plusDays(180)) );
+        tasks.add(firstMowing);
+        tasks.add( new Task<>("mow again", mow).after(firstMowing, 21) );
+
+        return tasks;
+    }
+
+    /**
+     * Launcher method.
+     * @param args not needed
+     */
+    public static void main(String[] args) {
+
+        final Calendar calendar = new CalendarStub(RANGE, Calendar.Scope.CYCLE);
+        calendar.startGeneration();
+
+        final List<Task<?>> tasks = createSeason();
+
+        final Scheduler scheduler = new Scheduler();
+        scheduler.setMaxTasksPerDay(1);
+
+        System.out.println( "Scheduling " + tasks.size() + " tasks over " + RANGE.size() + " days" );
+
+        for (int loop = 0; loop < NUMBER_OF_LOOPS; loop++) {
+
+            final long start = System.nanoTime();
+
+            final Schedule schedule = scheduler.schedule(calendar, RANGE, tasks);
+
+            final long micros = (System.nanoTime() - start) / 1000;
+
+            System.out.println( "Run " + loop + ": " + micros + " microseconds, score " + schedule.getScore()
+                    + (schedule.isOptimal() ? " (optimal)" : " (search stopped)") + ", " + schedule.getSearchedNodes() + " nodes" );
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package de.kah2.zodiac.libZodiac.planning;
+
+import de.kah2.zodiac.libZodiac.Calendar;
+import de.kah2.zodiac.libZodiac.CalendarStub;
+import de.kah2.zodiac.libZodiac.DateRange;
+import de.kah2.zodiac.libZodiac.TestConstantsAndHelpers;
+import de.kah2.zodiac.libZodiac.interpretation.Gardening;
+import de.kah2.zodiac.libZodiac.interpretation.Interpreter;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SchedulerTest {
+
+    private final static LocalDate START = TestConstantsAndHelpers.SOME_DATE;
+
+    private final static DateRange RANGE = new DateRange( START.plusDays(1), START.plusDays(14) );
+
+    private static Calendar createCalendar() {
+
+        final Calendar calendar = new CalendarStub( new DateRange(START, START.plusDays(30)), Calendar.Scope.CYCLE );
+        calendar.startGeneration();
+
+        return calendar;
+    }
+
+    @Test
+    public void testScheduleIsOptimalAndSatisfiesConstraints() {
+
+        final Calendar calendar = createCalendar();
+
+        final Task<?> trim = new Task<>( "trim", new Gardening.TrimInterpreter() );
+        final Task<?> graft = new Task<>( "graft", new Gardening.GraftInterpreter() ).after(trim, 2);
+        final Task<?> fertilize = new Task<>( "fertilize", new Gardening.FertilizeInterpreter() ).after(graft, 3);
+
+        final List<Task<?>> tasks = List.of(fertilize, graft, trim);
+
+        final Scheduler scheduler = new Scheduler();
+        scheduler.setMaxTasksPerDay(1);
+
+        final Schedule schedule = scheduler.schedule(calendar, RANGE, tasks);
+
+		assertThat(schedule).isNotNull();
+		assertThat(schedule.isOptimal()).isTrue();
+		assertThat(schedule.getDates().keySet()).containsExactly(fertilize, graft, trim);
+
+		assertThat(ChronoUnit.DAYS.between( schedule.getDate(trim), schedule.getDate(graft) )).isGreaterThanOrEqualTo(2L);
+		assertThat(ChronoUnit.DAYS.between( schedule.getDate(graft), schedule.getDate(fertilize) )).isGreaterThanOrEqualTo(3L);
+
+        int score = 0;
+        for (Task<?> task : tasks) {
+            score += schedule.getQuality(task).ordinal();
+			assertThat(schedule.getQuality(task)).isEqualTo(qualityOf(calendar, task, schedule.getDate(task)));
+        }
+
+		assertThat(schedule.getScore()).isEqualTo(score);
+		assertThat(schedule.getScore()).as("Should be the best possible score").isEqualTo(bruteForce(calendar, trim, graft, fertilize));
+    }
+
+    @Test
+    public void testImpossibleTasksAreRejected() {
+
+        final Calendar calendar = createCalendar();
+
+        final Task<?> first = new Task<>( "first", new Gardening.TrimInterpreter() );
+        final Task<?> second = new Task<>( "second", new Gardening.TrimInterpreter() ).after(first, RANGE.size());
+
+		assertThat(new Scheduler().schedule(calendar, RANGE, List.of(first, second))).as("Gap exceeds the range").isNull();
+
+        final Task<Gardening.HarvestInterpreter.Usage> harvest = new Task<>( "harvest", new Gardening.HarvestInterpreter() );
+
+		assertThat(new Scheduler().schedule(calendar, RANGE, List.of(harvest.atLeast(Interpreter.Quality.BEST)))).isNull();
+
+        boolean threwRightException = false;
+
+        try {
+            new Scheduler().schedule(calendar, RANGE, List.of(second));
+        } catch (IllegalArgumentException e) {
+            threwRightException = true;
+        }
+
+		assertThat(threwRightException).as("Should reject missing predecessors").isTrue();
+    }
+
+    private static Interpreter.Quality qualityOf(final Calendar calendar, final Task<?> task, final LocalDate date) {
+        return task.getInterpreter().interpret( calendar.get(date) ).getQuality();
+    }
+
+    /** @return the best score of three consecutive tasks with one task per day */
+    private static int bruteForce(final Calendar calendar, final Task<?> first, final Task<?> second, final Task<?> third) {
+
+        int best = -1;
+
+        for (LocalDate date1 : RANGE) {
+            for (LocalDate date2 : RANGE) {
+                for (LocalDate date3 : RANGE) {
+
+                    if ( ChronoUnit.DAYS.between(date1, date2) < 2 || ChronoUnit.DAYS.between(date2, date3) < 3 ) {
+                        continue;
+                    }
+
+                    best = Math.max( best, qualityOf(calendar, first, date1).ordinal()
+                            + qualityOf(calendar, second, date2).ordinal() + qualityOf(calendar, third, date3).ordinal() );
+                }
+            }
+        }
+
+        return best;
+    }
+}
@@ -0,0 +1,145 @@
+package de.kah2.zodiac.libZodiac.storage;
+
+import de.kah2.zodiac.libZodiac.DateRange;
+import de.kah2.zodiac.libZodiac.Day;
+import de.kah2.zodiac.libZodiac.DayStorableDataSet;
+import de.kah2.zodiac.libZodiac.DayStorableDataSetPojo;
+import de.kah2.zodiac.libZodiac.MunichLocationProvider;
+import de.kah2.zodiac.libZodiac.TestConstantsAndHelpers;
+import de.kah2.zodiac.libZodiac.planetary.RiseSet;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Tests for {@link CalendarArchive} and {@link CalendarArchiveWriter}.
+ */
+public class CalendarArchiveTest {
+
+    private final static LocalDate DATE = TestConstantsAndHelpers.SOME_DATE;
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+
+        final List<DayStorableDataSet> expected = new LinkedList<>();
+        for (LocalDate date : new DateRange(DATE, DATE.plusYears(3))) {
+            expected.add( new DayStorableDataSetPojo( Day.calculateFor(new MunichLocationProvider(), date) ) );
+        }
+
+        final Path path = Files.createTempFile("calendar", ".archive");
+
+        try {
+            final double bytesPerDay = CalendarArchiveWriter.write(path, expected.iterator());
+
+            final CalendarArchive archive = CalendarArchive.open(path);
+
+			assertThat(archive.size()).isEqualTo(expected.size());
+			assertThat(archive.getBytesPerDay()).isEqualTo(bytesPerDay);
+			assertThat(bytesPerDay).as("Should need far less than a fixed-size record").isLessThan(DayRecordLayout.RECORD_SIZE / 3.0);
+
+            final Iterator<DayStorableDataSet> actual = archive.iterator();
+
+            for (DayStorableDataSet dataSet : expected) {
+                assertEqual(actual.next(), dataSet);
+            }
+
+			assertThat(actual.hasNext()).isFalse();
+
+            // Random access
+            final DayStorableDataSet last = expected.get(expected.size() - 1);
+            assertEqual(archive.getDataSet(last.getDate()), last);
+            assertEqual(archive.getDataSet(DATE.plusDays(300)), expected.get(300));
+
+			assertThat(archive.getDataSet(DATE.minusDays(1))).isNull();
+			assertThat(archive.getDataSet(last.getDate().plusDays(1))).isNull();
+
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testGapsAndMissingEvents() throws IOException {
+
+        final DayStorableDataSet first = new DayStorableDataSetPojo( Day.calculateFor(new MunichLocationProvider(), DATE) );
+        final DayStorableDataSet circumpolar = new CircumpolarDataSet( DATE.plusDays(5) );
+
+        final Path path = Files.createTempFile("calendar", ".archive");
+
+        try {
+            CalendarArchiveWriter.write(path, List.of(first, circumpolar).iterator());
+
+            final CalendarArchive archive = CalendarArchive.open(path);
+
+			assertThat(archive.getDataSet(DATE.plusDays(1))).as("Gap should be absent").isNull();
+			assertThat(archive.getDataSet(DATE.plusDays(5)).getSolarRiseSet()).as("Missing events should be kept").isNull();
+			assertThat(archive.getDataSet(DATE.plusDays(5)).getLunarSetEpochSecond()).isEqualTo(RiseSet.NO_EVENT);
+            assertEqual(archive.getDataSet(DATE), first);
+
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testDaysMustBeSorted() throws IOException {
+
+        final Path path = Files.createTempFile("calendar", ".archive");
+
+        try (CalendarArchiveWriter writer = new CalendarArchiveWriter(path)) {
+
+            writer.add( new CircumpolarDataSet(DATE) );
+
+            assertThatThrownBy(() -> writer.add( new CircumpolarDataSet(DATE) )).isInstanceOf(IllegalArgumentException.class);
+
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    private static void assertEqual(final DayStorableDataSet actual, final DayStorableDataSet expected) {
+
+        final String date = expected.getDate().toString();
+
+		assertThat(actual.getDate()).isEqualTo(expected.getDate());
+		assertThat(actual.getSolarRiseEpochSecond()).as("Solar rise of " + date).isEqualTo(expected.getSolarRiseEpochSecond());
+		assertThat(actual.getSolarSetEpochSecond()).as("Solar set of " + date).isEqualTo(expected.getSolarSetEpochSecond());
+		assertThat(actual.getLunarRiseEpochSecond()).as("Lunar rise of " + date).isEqualTo(expected.getLunarRiseEpochSecond());
+		assertThat(actual.getLunarSetEpochSecond()).as("Lunar set of " + date).isEqualTo(expected.getLunarSetEpochSecond());
+		assertThat(actual.getLunarLongitude()).as("Longitude of " + date).isCloseTo(expected.getLunarLongitude(), within(1e-7));
+		assertThat(actual.getLunarVisibility()).as("Visibility of " + date).isCloseTo(expected.getLunarVisibility(), within(1e-9));
+    }
+
+    private record CircumpolarDataSet(LocalDate getDate) implements DayStorableDataSet {
+
+        @Override
+        public RiseSet getSolarRiseSet() {
+            return null;
+        }
+
+        @Override
+        public RiseSet getLunarRiseSet() {
+            return null;
+        }
+
+        @Override
+        public double getLunarVisibility() {
+            return 0.5;
+        }
+
+        @Override
+        public double getLunarLongitude() {
+            return 42;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package de.kah2.zodiac.libZodiac.storage;
+
+import de.kah2.zodiac.libZodiac.Calendar;
+import de.kah2.zodiac.libZodiac.CalendarGeneratorStub;
+import de.kah2.zodiac.libZodiac.CalendarStub;
+import de.kah2.zodiac.libZodiac.DateRange;
+import de.kah2.zodiac.libZodiac.Day;
+import de.kah2.zodiac.libZodiac.DayStorableDataSet;
+import de.kah2.zodiac.libZodiac.DayStorableDataSetPojo;
+import de.kah2.zodiac.libZodiac.MunichLocationProvider;
+import de.kah2.zodiac.libZodiac.TestConstantsAndHelpers;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link CalendarFile}.
+ */
+public class CalendarFileTest {
+
+    private final static LocalDate DATE = TestConstantsAndHelpers.SOME_DATE;
+
+    @Test
+    public void testWriteAndOpen() throws IOException {
+
+        // More records than written at once
+        final Calendar calendar = new CalendarStub( new DateRange(DATE, DATE.plusDays(2500)), Calendar.Scope.CYCLE );
+        calendar.startGeneration();
+
+        final Path path = Files.createTempFile("calendar", ".bin");
+
+        try {
+            CalendarFile.write(path, calendar);
+
+            final CalendarFile file = CalendarFile.open(path);
+
+			assertThat(file.size()).isEqualTo(calendar.getAllDays().size());
+			assertThat(file.getScope()).isEqualTo(Calendar.Scope.CYCLE);
+			assertThat(file.getLocationProvider().getTimeZoneId()).isEqualTo(MunichLocationProvider.TIME_ZONE_ID);
+			assertThat(file.getLocationProvider().getObserverPosition().getLatitude())
+					.isEqualTo(MunichLocationProvider.POSITION_MUNICH.getLatitude());
+
+            final List<DayStorableDataSet> dataSets = file.getDataSets();
+			assertThat(dataSets.size()).isEqualTo(file.size());
+
+            for (Day expected : calendar.getAllDays()) {
+
+                final Day actual = file.getDay(expected.getDate());
+
+				assertThat(actual).as("Should contain " + expected.getDate()).isNotNull();
+				assertThat(actual.getPlanetaryData().getLunarVisibility()).isEqualTo(expected.getPlanetaryData().getLunarVisibility());
+				assertThat(actual.getPlanetaryData().getLunarPhase()).isEqualTo(expected.getPlanetaryData().getLunarPhase());
+				assertThat(actual.getPlanetaryData().getDaysUntilNextMaxPhase())
+						.isEqualTo(expected.getPlanetaryData().getDaysUntilNextMaxPhase());
+				assertThat(file.getDataSet(expected.getDate()).getSolarRiseEpochSecond())
+						.isEqualTo(expected.getPlanetaryData().getSolarRiseSet().getRiseEpochSecond());
+            }
+
+            final Calendar restored = file.createCalendar();
+			assertThat(restored.getAllDays().size()).isEqualTo(calendar.getAllDays().size());
+
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testGapsAreMarkedAsAbsent() throws IOException {
+
+        final Calendar calendar = new CalendarStub( new DateRange(DATE, DATE.plusDays(9)), Calendar.Scope.DAY );
+
+        final List<DayStorableDataSet> days = new LinkedList<>();
+        days.add( new DayStorableDataSetPojo( CalendarGeneratorStub.stubDay(DATE) ) );
+        days.add( new DayStorableDataSetPojo( CalendarGeneratorStub.stubDay(DATE.plusDays(9)) ) );
+        calendar.importDays(days);
+
+        final Path path = Files.createTempFile("calendar", ".bin");
+
+        try {
+            CalendarFile.write(path, calendar);
+
+            final CalendarFile file = CalendarFile.open(path);
+
+			assertThat(file.getRange().size()).isEqualTo(10);
+			assertThat(file.size()).isEqualTo(2);
+			assertThat(file.getDataSets().size()).isEqualTo(2);
+			assertThat(file.getDataSet(DATE.plusDays(1))).as("Gap should be absent").isNull();
+			assertThat(file.getDataSet(DATE.plusDays(9))).isNotNull();
+			assertThat(file.getDataSet(DATE.plusDays(10))).as("Out of range should be absent").isNull();
+
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testOpenRejectsOtherFiles() throws IOException {
+
+        final Path path = Files.createTempFile("calendar", ".bin");
+
+        try {
+            Files.write(path, new byte[CalendarFile.HEADER_SIZE]);
+
+            assertThatThrownBy(() -> CalendarFile.open(path)).isInstanceOf(IOException.class);
+
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testOpenRejectsUnknownScope() throws IOException {
+
+        final Calendar calendar = new CalendarStub( new DateRange(DATE, DATE.plusDays(10)), Calendar.Scope.DAY );
+        calendar.startGeneration();
+
+        final Path path = Files.createTempFile("calendar", ".bin");
+
+        try {
+            CalendarFile.write(path, calendar);
+
+            // Corrupt the scope ordinal stored at offset 12 of the header
+            final byte[] bytes = Files.readAllBytes(path);
+            bytes[12] = -1;
+            Files.write(path, bytes);
+
+            assertThatThrownBy(() -> CalendarFile.open(path)).isInstanceOf(IOException.class);
+
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testOpenRejectsCorruptHeaders() throws IOException {
+
+        final Calendar calendar = new CalendarStub( new DateRange(DATE, DATE.plusDays(10)), Calendar.Scope.DAY );
+        calendar.startGeneration();
+
+        final Path path = Files.createTempFile("calendar", ".bin");
+
+        try {
+            CalendarFile.write(path, calendar);
+
+            final byte[] valid = Files.readAllBytes(path);
+
+            // Negative and oversized length of the zone id at offset 48, an unknown zone id and a negative number of records
+            final List<Consumer<ByteBuffer>> corruptions = List.of(
+                    header -> header.putShort(48, (short) -1),
+                    header -> header.putShort(48, Short.MAX_VALUE),
+                    header -> header.put(50, (byte) '!'),
+                    header -> header.putInt(40, -1) );
+
+            for (Consumer<ByteBuffer> corruption : corruptions) {
+
+                final byte[] bytes = valid.clone();
+                corruption.accept( ByteBuffer.wrap(bytes) );
+                Files.write(path, bytes);
+
+                assertThatThrownBy(() -> CalendarFile.open(path)).isInstanceOf(IOException.class);
+            }
+
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
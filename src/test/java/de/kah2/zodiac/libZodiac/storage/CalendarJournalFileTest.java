@@ -0,0 +1,195 @@
+package de.kah2.zodiac.libZodiac.storage;
+
+import de.kah2.zodiac.libZodiac.Calendar;
+import de.kah2.zodiac.libZodiac.CalendarStub;
+import de.kah2.zodiac.libZodiac.DateRange;
+import de.kah2.zodiac.libZodiac.Day;
+import de.kah2.zodiac.libZodiac.TestConstantsAndHelpers;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.LinkedList;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link CalendarJournalFile}.
+ */
+public class CalendarJournalFileTest {
+
+    private final static LocalDate DATE = TestConstantsAndHelpers.SOME_DATE;
+
+    @Test
+    public void testJournalRecordsGeneratedAndRemovedDays() throws IOException {
+
+        final Path path = Files.createTempFile("journal", ".bin");
+
+        try (CalendarJournalFile journal = CalendarJournalFile.open(path)) {
+
+            final Calendar calendar = new CalendarStub( new DateRange(DATE, DATE.plusDays(400)), Calendar.Scope.CYCLE );
+            calendar.setJournal(journal);
+            calendar.startGeneration();
+
+            final int generated = calendar.getNewlyGenerated().size();
+
+			assertThat(journal.getNumberOfEntries()).as("Every generated day should be journaled").isEqualTo(generated);
+
+            calendar.setRangeExpected( new DateRange(DATE.plusDays(100), DATE.plusDays(200)) );
+            final LinkedList<Day> removed = calendar.removeOverhead(true);
+
+			assertThat(removed.isEmpty()).isFalse();
+			assertThat(journal.getNumberOfEntries()).as("Every removed day should be journaled")
+					.isEqualTo(generated + removed.size());
+
+            final Calendar replayed = new CalendarStub( calendar.getRangeExpected(), Calendar.Scope.CYCLE );
+            journal.replayInto(replayed);
+
+            assertSameDays(replayed, calendar);
+
+            journal.compact();
+
+			assertThat(journal.getNumberOfEntries()).as("Only remaining days should be left after compaction")
+					.isEqualTo(calendar.getAllDays().size());
+
+            final Calendar compacted = new CalendarStub( calendar.getRangeExpected(), Calendar.Scope.CYCLE );
+            journal.replayInto(compacted);
+
+            assertSameDays(compacted, calendar);
+
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testIncompleteEntryIsDropped() throws IOException {
+
+        final Path path = Files.createTempFile("journal", ".bin");
+
+        try {
+            final Calendar calendar = new CalendarStub( new DateRange(DATE, DATE.plusDays(9)), Calendar.Scope.DAY );
+
+            try (CalendarJournalFile journal = CalendarJournalFile.open(path)) {
+                calendar.setJournal(journal);
+                calendar.startGeneration();
+            }
+
+            // Simulate a crash while writing the last entry
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate( channel.size() - 10 );
+            }
+
+            try (CalendarJournalFile journal = CalendarJournalFile.open(path)) {
+
+				assertThat(journal.getNumberOfEntries()).isEqualTo(9);
+
+                journal.dayRemoved(DATE);
+
+                final Calendar replayed = new CalendarStub( calendar.getRangeExpected(), Calendar.Scope.DAY );
+                journal.replayInto(replayed);
+
+				assertThat(replayed.getAllDays().size()).isEqualTo(8);
+				assertThat(replayed.get(DATE)).as("Removed day shouldn't be replayed").isNull();
+            }
+
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testZeroFilledTailIsDropped() throws IOException {
+
+        final Path path = Files.createTempFile("journal", ".bin");
+
+        try {
+            final Calendar calendar = new CalendarStub( new DateRange(DATE, DATE.plusDays(9)), Calendar.Scope.DAY );
+
+            try (CalendarJournalFile journal = CalendarJournalFile.open(path)) {
+                calendar.setJournal(journal);
+                calendar.startGeneration();
+            }
+
+            final long validLength = Files.size(path);
+
+            // Simulate a crash after the file was extended, but before the entries were written
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                channel.write( ByteBuffer.allocate(100) );
+            }
+
+            try (CalendarJournalFile journal = CalendarJournalFile.open(path)) {
+
+				assertThat(journal.getNumberOfEntries()).isEqualTo(10);
+				assertThat(Files.size(path)).as("Zero-filled tail should be truncated").isEqualTo(validLength);
+
+                journal.dayRemoved(DATE);
+
+                final Calendar replayed = new CalendarStub( calendar.getRangeExpected(), Calendar.Scope.DAY );
+                journal.replayInto(replayed);
+
+				assertThat(replayed.getAllDays().size()).isEqualTo(9);
+            }
+
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testGarbledTailIsDropped() throws IOException {
+
+        final Path path = Files.createTempFile("journal", ".bin");
+
+        try {
+            final Calendar calendar = new CalendarStub( new DateRange(DATE, DATE.plusDays(9)), Calendar.Scope.DAY );
+
+            try (CalendarJournalFile journal = CalendarJournalFile.open(path)) {
+                calendar.setJournal(journal);
+                calendar.startGeneration();
+            }
+
+            final long validLength = Files.size(path);
+
+            // Simulate a crash after the file was extended, but before the entries were written - starting like a valid entry
+            final byte[] tail = new byte[100];
+            new Random(42).nextBytes(tail);
+            tail[0] = CalendarJournalFile.ADDED;
+
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                channel.write( ByteBuffer.wrap(tail) );
+            }
+
+            try (CalendarJournalFile journal = CalendarJournalFile.open(path)) {
+
+				assertThat(journal.getNumberOfEntries()).isEqualTo(10);
+				assertThat(Files.size(path)).as("Garbled tail should be truncated").isEqualTo(validLength);
+
+                final Calendar replayed = new CalendarStub( calendar.getRangeExpected(), Calendar.Scope.DAY );
+                journal.replayInto(replayed);
+
+				assertThat(replayed.getAllDays().size()).isEqualTo(10);
+            }
+
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    private static void assertSameDays(final Calendar actual, final Calendar expected) {
+
+		assertThat(actual.getAllDays().size()).isEqualTo(expected.getAllDays().size());
+
+        for (Day day : expected.getAllDays()) {
+			assertThat(actual.get(day.getDate())).as("Should contain " + day.getDate()).isNotNull();
+			assertThat(actual.get(day.getDate()).getPlanetaryData().getLunarVisibility())
+					.isEqualTo(day.getPlanetaryData().getLunarVisibility());
+        }
+    }
+}
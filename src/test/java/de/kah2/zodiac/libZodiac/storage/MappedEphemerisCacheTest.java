@@ -0,0 +1,120 @@
+package de.kah2.zodiac.libZodiac.storage;
+
+import de.kah2.zodiac.libZodiac.DateRange;
+import de.kah2.zodiac.libZodiac.MunichLocationProvider;
+import de.kah2.zodiac.libZodiac.TestConstantsAndHelpers;
+import de.kah2.zodiac.libZodiac.planetary.EphemerisCache;
+import de.kah2.zodiac.libZodiac.planetary.PlanetaryDayData;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link MappedEphemerisCache}.
+ */
+public class MappedEphemerisCacheTest {
+
+    private final static LocalDate DATE = TestConstantsAndHelpers.SOME_DATE;
+
+    private final static DateRange RANGE = new DateRange( DATE.minusDays(100), DATE.plusDays(100) );
+
+    @Test
+    public void testValuesAreSharedBetweenInstances() throws IOException {
+
+        final Path directory = Files.createTempDirectory("ephemeris");
+
+        try {
+            final MunichLocationProvider location = new MunichLocationProvider();
+
+            final PlanetaryDayData calculated = PlanetaryDayData.calculateFor( DATE, location,
+                    new MappedEphemerisCache(directory, RANGE) );
+
+            // Simulates a restart or another process
+            final EphemerisCache cache = new MappedEphemerisCache(directory, RANGE);
+            final double[] values = new double[2];
+
+			assertThat(cache.lookup(DATE, location.getTimeZoneId(), values)).as("Stored value should be found").isTrue();
+			assertThat(values[EphemerisCache.LUNAR_LONGITUDE]).isEqualTo(calculated.getLunarLongitude());
+			assertThat(values[EphemerisCache.LUNAR_VISIBILITY]).isEqualTo(calculated.getLunarVisibility());
+
+			assertThat(cache.lookup(DATE.plusDays(1), location.getTimeZoneId(), values)).as("Empty slot shouldn't be found").isFalse();
+			assertThat(cache.lookup(DATE, ZoneId.of("UTC"), values)).as("Other time zones shouldn't be found").isFalse();
+			assertThat(cache.lookup(DATE.plusDays(1000), location.getTimeZoneId(), values)).as("Out of range").isFalse();
+
+            final PlanetaryDayData cached = PlanetaryDayData.calculateFor(DATE, location, cache);
+
+			assertThat(cached.getLunarLongitude()).isEqualTo(calculated.getLunarLongitude());
+			assertThat(cached.getSolarRiseSet().getRiseEpochSecond()).isEqualTo(calculated.getSolarRiseSet().getRiseEpochSecond());
+
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    @Test
+    public void testDamagedSlotIsIgnored() throws IOException {
+
+        final Path directory = Files.createTempDirectory("ephemeris");
+
+        try {
+            final ZoneId zoneId = MunichLocationProvider.TIME_ZONE_ID;
+
+            new MappedEphemerisCache(directory, RANGE).store(DATE, zoneId, 123.0, 0.5);
+
+            // Change the longitude of the slot
+            try (FileChannel channel = FileChannel.open( directory.resolve( MappedEphemerisCache.fileNameOf(zoneId) ),
+                    StandardOpenOption.WRITE )) {
+
+                final long offset = MappedEphemerisCache.HEADER_SIZE + (DATE.toEpochDay() - RANGE.getStart().toEpochDay()) * 24;
+                channel.write( ByteBuffer.wrap(new byte[] {1}), offset );
+            }
+
+			assertThat(new MappedEphemerisCache(directory, RANGE).lookup(DATE, zoneId, new double[2])).isFalse();
+
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    @Test
+    public void testNeverWrittenSlotIsMissing() throws IOException {
+
+        final Path directory = Files.createTempDirectory("ephemeris");
+
+        try {
+            final ZoneId zoneId = MunichLocationProvider.TIME_ZONE_ID;
+            final MappedEphemerisCache cache = new MappedEphemerisCache(directory);
+
+            cache.store(DATE, zoneId, 123.0, 0.5);
+
+            // Epoch day -1 - an empty slot must not match its checksum
+			assertThat(cache.lookup(LocalDate.of(1969, 12, 31), zoneId, new double[2])).isFalse();
+			assertThat(cache.lookup(LocalDate.of(1970, 1, 1), zoneId, new double[2])).isFalse();
+			assertThat(cache.lookup(DATE, zoneId, new double[2])).isTrue();
+
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    private static void deleteRecursively(final Path directory) throws IOException {
+
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+
+        Files.delete(directory);
+    }
+}
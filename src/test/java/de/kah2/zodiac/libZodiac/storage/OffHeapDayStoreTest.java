@@ -0,0 +1,102 @@
+package de.kah2.zodiac.libZodiac.storage;
+
+import de.kah2.zodiac.libZodiac.CalendarGeneratorStub;
+import de.kah2.zodiac.libZodiac.DateRange;
+import de.kah2.zodiac.libZodiac.Day;
+import de.kah2.zodiac.libZodiac.DayStorableDataSet;
+import de.kah2.zodiac.libZodiac.TestConstantsAndHelpers;
+import de.kah2.zodiac.libZodiac.planetary.LunarPhase;
+import de.kah2.zodiac.libZodiac.planetary.PlanetaryDayData;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link OffHeapDayStore}.
+ */
+public class OffHeapDayStoreTest {
+
+    private final static LocalDate DATE = TestConstantsAndHelpers.SOME_DATE;
+
+    @Test
+    public void testStoredDayEqualsOriginal() {
+
+        final OffHeapDayStore store = new OffHeapDayStore( new DateRange(DATE, DATE.plusYears(30)) );
+
+        final Day day = CalendarGeneratorStub.stubDay(DATE.plusYears(20));
+        day.getPlanetaryData().setLunarPhase(LunarPhase.DECREASING);
+        day.getPlanetaryData().setDaysSinceLastMaxPhase(2);
+        day.getPlanetaryData().setDaysUntilNextMaxPhase(5);
+
+        store.put(day);
+
+		assertThat(store.size()).isEqualTo(1);
+		assertThat(store.getAllocatedBytes()).as("Only one segment should be allocated")
+				.isEqualTo(OffHeapDayStore.DAYS_PER_SEGMENT * DayRecordLayout.RECORD_SIZE);
+		assertThat(store.contains(DATE)).isFalse();
+		assertThat(store.get(DATE)).isNull();
+
+        final Day stored = store.get(day.getDate());
+        final PlanetaryDayData expected = day.getPlanetaryData();
+        final PlanetaryDayData actual = stored.getPlanetaryData();
+
+		assertThat(stored.getDate()).isEqualTo(day.getDate());
+		assertThat(actual.getLunarLongitude()).isEqualTo(expected.getLunarLongitude());
+		assertThat(actual.getLunarVisibility()).isEqualTo(expected.getLunarVisibility());
+		assertThat(actual.getSolarRiseSet().getRise()).isEqualTo(expected.getSolarRiseSet().getRise());
+		assertThat(actual.getLunarRiseSet().getSet()).isEqualTo(expected.getLunarRiseSet().getSet());
+		assertThat(actual.getLunarPhase()).isEqualTo(LunarPhase.DECREASING);
+		assertThat(actual.getDaysSinceLastMaxPhase()).isEqualTo(2);
+		assertThat(actual.getDaysUntilNextMaxPhase()).isEqualTo(5);
+		assertThat(stored.getZodiacData()).isSameAs(day.getZodiacData());
+
+        final DayStorableDataSet view = store.getDataSet(day.getDate());
+
+		assertThat(view.getLunarRiseEpochSecond()).isEqualTo(expected.getLunarRiseSet().getRiseEpochSecond());
+    }
+
+    @Test
+    public void testPutReplacesAndRejectsDaysOutOfRange() {
+
+        final DateRange range = new DateRange(DATE, DATE.plusDays(9));
+        final OffHeapDayStore store = new OffHeapDayStore(range);
+
+        for (LocalDate date : range) {
+            store.put( CalendarGeneratorStub.stubDay(date) );
+        }
+        store.put( CalendarGeneratorStub.stubDay(DATE) );
+
+		assertThat(store.size()).as("Replacing shouldn't change size").isEqualTo(10);
+		assertThat(store.getDataSets(range).size()).isEqualTo(10);
+		assertThat(store.get(DATE).getPlanetaryData().getLunarPhase()).as("Missing phase should be kept").isNull();
+
+        assertThatThrownBy(() -> store.put( CalendarGeneratorStub.stubDay(DATE.minusDays(1)) ))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testPagesAreLoadedAndStored() {
+
+        final DateRange range = new DateRange(DATE, DATE.plusDays(9));
+        final OffHeapDayStore store = new OffHeapDayStore(range);
+        final YearMonth month = YearMonth.from(DATE);
+
+        final List<Day> generatedDays = new LinkedList<>();
+
+        for (LocalDate date : new DateRange( DATE.minusDays(1), DATE.plusDays(10) )) {
+            generatedDays.add( CalendarGeneratorStub.stubDay(date) );
+        }
+
+        store.pageGenerated(month, generatedDays);
+
+		assertThat(store.size()).as("Days out of range should be skipped").isEqualTo(10);
+		assertThat(store.loadPage(month).size()).isEqualTo(10);
+		assertThat(store.loadPage( month.plusYears(1) )).isEmpty();
+    }
+}
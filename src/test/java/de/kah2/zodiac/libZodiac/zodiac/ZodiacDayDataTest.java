@@ -0,0 +1,32 @@
+package de.kah2.zodiac.libZodiac.zodiac;
+
+import de.kah2.zodiac.libZodiac.CalendarGeneratorStub;
+import de.kah2.zodiac.libZodiac.Day;
+import de.kah2.zodiac.libZodiac.TestConstantsAndHelpers;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ZodiacDayData}.
+ */
+public class ZodiacDayDataTest {
+
+    @Test
+    public void testInstancesAreSharedPerSign() {
+
+        final Day day = CalendarGeneratorStub.stubDay(TestConstantsAndHelpers.SOME_DATE);
+        final Day otherDay = CalendarGeneratorStub.stubDay(TestConstantsAndHelpers.SOME_DATE.plusDays(1));
+
+		assertThat(day.getZodiacData()).as("Days with same sign should share data").isSameAs(otherDay.getZodiacData());
+		assertThat(day.getZodiacSignOrdinal()).isEqualTo(day.getZodiacData().getSign().ordinal());
+
+        for (ZodiacSign sign : ZodiacSign.values()) {
+            final ZodiacDayData data = ZodiacDayData.of(sign);
+
+			assertThat(data.getSign()).isEqualTo(sign);
+			assertThat(data.getElement()).isEqualTo(ZodiacElement.of(sign));
+			assertThat(data.getDirection()).isEqualTo(ZodiacDirection.of(sign));
+        }
+    }
+}